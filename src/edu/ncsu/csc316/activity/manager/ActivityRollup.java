@@ -0,0 +1,248 @@
+package edu.ncsu.csc316.activity.manager;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Iterator;
+import java.util.TreeMap;
+
+import edu.ncsu.csc316.activity.dsa.DSAFactory;
+import edu.ncsu.csc316.dsa.map.Map;
+
+/**
+ * Class keeps rollup tables of activity counts per hour and per day, so counts
+ * over a time range are found by merging a few tables instead of scanning every
+ * entry. Days and hours are numbered from the epoch, treating timestamps as
+ * UTC. A range is merged from hour tables for its partial days at each end and
+ * day tables for the whole days between them. Counts are exact, matching a
+ * scan of the same entries.
+ * 
+ * Activities are counted by the activity key of the log store, so no strings
+ * are built while counting. Each table is an open addressing table of keys and
+ * counts in primitive arrays, and remembers a row of each activity so the
+ * "action resource" name is only built for activities in a result.
+ * 
+ * @author Michael Warstler (mwwarstl)
+ */
+public class ActivityRollup {
+
+	/** Hours in a day */
+	private static final int HOURS_PER_DAY = 24;
+	/** Seconds in an hour */
+	private static final int SECONDS_PER_HOUR = 3600;
+
+	/** Log store holding the counted rows */
+	private LogStore store;
+	/** Activity counts of each day with entries, ordered by day */
+	private TreeMap<Long, CountTable> days = new TreeMap<Long, CountTable>();
+	/** Activity counts of each hour with entries, ordered by hour */
+	private TreeMap<Long, CountTable> hours = new TreeMap<Long, CountTable>();
+
+	/**
+	 * Constructs an ActivityRollup counting every row of a log store.
+	 * 
+	 * @param store is log store to count.
+	 */
+	public ActivityRollup(LogStore store) {
+		this.store = store;
+		for (int i = 0; i < store.size(); i++) {
+			add(i);
+		}
+	}
+
+	/**
+	 * Adds a row of the log store to the tables of its day and hour.
+	 * 
+	 * @param row is index of the row.
+	 */
+	public void add(int row) {
+		long hour = Math.floorDiv(store.getEpochSecond(row), (long) SECONDS_PER_HOUR);
+		long activity = store.getActivityKey(row);
+		getTable(hours, hour).add(activity, 1, row);
+		getTable(days, Math.floorDiv(hour, HOURS_PER_DAY)).add(activity, 1, row);
+	}
+
+	/**
+	 * Counts each activity with entries from the start hour up to, but not
+	 * including, the end hour.
+	 * 
+	 * @param startHour is first hour since the epoch of the range.
+	 * @param endHour   is hour since the epoch after the range.
+	 * @return Map of activity (action resource) to number of entries in the range.
+	 */
+	public Map<String, Integer> count(long startHour, long endHour) {
+		CountTable merged = new CountTable();
+		if (startHour < endHour) {
+			long firstDay = Math.floorDiv(startHour + HOURS_PER_DAY - 1, HOURS_PER_DAY);
+			long endDay = Math.floorDiv(endHour, HOURS_PER_DAY);
+			if (firstDay < endDay) {
+				// Partial days from hour tables, whole days from day tables.
+				merge(hours, startHour, firstDay * HOURS_PER_DAY, merged);
+				merge(days, firstDay, endDay, merged);
+				merge(hours, endDay * HOURS_PER_DAY, endHour, merged);
+			} else {
+				merge(hours, startHour, endHour, merged);
+			}
+		}
+
+		// Build names only for the activities in the range.
+		Map<String, Integer> counts = DSAFactory.getMap(null);
+		for (int slot = 0; slot < merged.counts.length; slot++) {
+			if (merged.counts[slot] > 0) {
+				int row = merged.rows[slot];
+				counts.put(store.getAction(row) + " " + store.getResource(row), merged.counts[slot]);
+			}
+		}
+		return counts;
+	}
+
+	/**
+	 * Gets the number of day tables.
+	 * 
+	 * @return number of days with entries.
+	 */
+	public int getDayCount() {
+		return days.size();
+	}
+
+	/**
+	 * Gets the number of hour tables.
+	 * 
+	 * @return number of hours with entries.
+	 */
+	public int getHourCount() {
+		return hours.size();
+	}
+
+	/**
+	 * Gets the hour since the epoch of a timestamp.
+	 * 
+	 * @param timestamp is time to get the hour of.
+	 * @return hours since the epoch.
+	 */
+	public static long getHour(LocalDateTime timestamp) {
+		return Math.floorDiv(timestamp.toEpochSecond(ZoneOffset.UTC), (long) SECONDS_PER_HOUR);
+	}
+
+	/**
+	 * Gets the table of a period, adding an empty table if the period has none.
+	 * 
+	 * @param tables is tables of every period.
+	 * @param period is day or hour of the table.
+	 * @return the table of the period.
+	 */
+	private static CountTable getTable(TreeMap<Long, CountTable> tables, long period) {
+		CountTable table = tables.get(period);
+		if (table == null) {
+			table = new CountTable();
+			tables.put(period, table);
+		}
+		return table;
+	}
+
+	/**
+	 * Adds the counts of the tables from the start period up to, but not
+	 * including, the end period.
+	 * 
+	 * @param tables is tables of every period.
+	 * @param start  is first period to merge.
+	 * @param end    is period after the last to merge.
+	 * @param merged is table the counts are added to.
+	 */
+	private static void merge(TreeMap<Long, CountTable> tables, long start, long end, CountTable merged) {
+		if (start >= end) {
+			return;
+		}
+		Iterator<CountTable> tableIt = tables.subMap(start, end).values().iterator();
+		while (tableIt.hasNext()) {
+			CountTable table = tableIt.next();
+			for (int slot = 0; slot < table.counts.length; slot++) {
+				if (table.counts[slot] > 0) {
+					merged.add(table.keys[slot], table.counts[slot], table.rows[slot]);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Open addressing table of activity keys to counts. A count of 0 marks an
+	 * empty slot, and each used slot keeps a row of its activity.
+	 * 
+	 * @author Michael Warstler (mwwarstl)
+	 */
+	private static class CountTable {
+
+		/** Initial number of slots, a power of 2 */
+		private static final int INITIAL_CAPACITY = 8;
+
+		/** Activity key of each slot */
+		private long[] keys = new long[INITIAL_CAPACITY];
+		/** Count of each slot, or 0 if the slot is empty */
+		private int[] counts = new int[INITIAL_CAPACITY];
+		/** A row of each slot's activity */
+		private int[] rows = new int[INITIAL_CAPACITY];
+		/** Number of used slots */
+		private int size;
+
+		/**
+		 * Adds to the count of an activity, adding the activity if it is not in
+		 * the table.
+		 * 
+		 * @param key   is activity key.
+		 * @param count is number to add to the count.
+		 * @param row   is a row of the activity.
+		 */
+		void add(long key, int count, int row) {
+			int slot = findSlot(keys, counts, key);
+			if (counts[slot] == 0) {
+				keys[slot] = key;
+				rows[slot] = row;
+				size++;
+			}
+			counts[slot] += count;
+
+			// Keep the table at most half full.
+			if (size * 2 > counts.length) {
+				grow();
+			}
+		}
+
+		/**
+		 * Doubles the table and places every activity in its new slot.
+		 */
+		private void grow() {
+			long[] oldKeys = keys;
+			int[] oldCounts = counts;
+			int[] oldRows = rows;
+			keys = new long[oldKeys.length * 2];
+			counts = new int[keys.length];
+			rows = new int[keys.length];
+			for (int i = 0; i < oldCounts.length; i++) {
+				if (oldCounts[i] > 0) {
+					int slot = findSlot(keys, counts, oldKeys[i]);
+					keys[slot] = oldKeys[i];
+					counts[slot] = oldCounts[i];
+					rows[slot] = oldRows[i];
+				}
+			}
+		}
+
+		/**
+		 * Finds the slot holding the key, or the empty slot where it would be
+		 * added.
+		 * 
+		 * @param keys   is key of each slot.
+		 * @param counts is count of each slot.
+		 * @param key    is key to find.
+		 * @return index of the slot.
+		 */
+		private static int findSlot(long[] keys, int[] counts, long key) {
+			int mask = counts.length - 1;
+			long h = key * 0x9E3779B97F4A7C15L;
+			int slot = (int) (h ^ (h >>> 32)) & mask;
+			while (counts[slot] != 0 && keys[slot] != key) {
+				slot = (slot + 1) & mask;
+			}
+			return slot;
+		}
+	}
+}
@@ -0,0 +1,163 @@
+package edu.ncsu.csc316.activity.manager;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Iterator;
+import java.util.Locale;
+
+import edu.ncsu.csc316.activity.dsa.DSAFactory;
+import edu.ncsu.csc316.dsa.data.Anomaly;
+import edu.ncsu.csc316.dsa.data.TimeBucketCounter;
+import edu.ncsu.csc316.dsa.list.List;
+import edu.ncsu.csc316.dsa.map.Map;
+import edu.ncsu.csc316.dsa.map.Map.Entry;
+import edu.ncsu.csc316.dsa.sorter.Sorter;
+
+/**
+ * Class finds time buckets where an activity's count is far above its recent
+ * baseline. Each activity's buckets are walked in time order while keeping an
+ * exponentially weighted moving average (EWMA) and variance of the counts.
+ * Buckets without entries count as 0, so a run of empty buckets decays the
+ * baseline. A bucket is an anomaly when its count is at least threshold
+ * standard deviations above the baseline from the buckets before it.
+ * 
+ * @author Michael Warstler (mwwarstl)
+ */
+public class AnomalyDetector {
+
+	/** Default weight of the newest bucket in the moving average */
+	public static final double DEFAULT_ALPHA = 0.3;
+	/** Smallest standard deviation used for scores, since counts are integers */
+	private static final double MIN_DEVIATION = 1.0;
+	/** Baseline and variance below this are treated as fully decayed to 0 */
+	private static final double EPSILON = 1e-9;
+	/** Hours in a date bucket */
+	private static final int HOURS_PER_DATE = 24;
+	/** Seconds in an hour bucket */
+	private static final int SECONDS_PER_HOUR = 3600;
+
+	/** Time formatter for date buckets */
+	private final DateTimeFormatter dateFormat = DateTimeFormatter.ofPattern("MM/dd/yyyy");
+	/** Time formatter for hour buckets */
+	private final DateTimeFormatter hourFormat = DateTimeFormatter.ofPattern("MM/dd/yyyy hh:mma", Locale.US);
+
+	/** Weight of the newest bucket in the moving average */
+	private double alpha;
+	/** Standard deviations above the baseline for a bucket to be an anomaly */
+	private double threshold;
+
+	/**
+	 * Constructs an AnomalyDetector with the default weight.
+	 * 
+	 * @param threshold is standard deviations above the baseline for a bucket to
+	 *                  be an anomaly.
+	 */
+	public AnomalyDetector(double threshold) {
+		this(DEFAULT_ALPHA, threshold);
+	}
+
+	/**
+	 * Constructs an AnomalyDetector.
+	 * 
+	 * @param alpha     is weight of the newest bucket in the moving average,
+	 *                  greater than 0 and less than 1.
+	 * @param threshold is standard deviations above the baseline for a bucket to
+	 *                  be an anomaly.
+	 * @throws IllegalArgumentException if alpha is not between 0 and 1 or
+	 *                                  threshold is negative.
+	 */
+	public AnomalyDetector(double alpha, double threshold) {
+		if (!(alpha > 0 && alpha < 1)) {
+			throw new IllegalArgumentException("Alpha must be between 0 and 1");
+		}
+		if (!(threshold >= 0)) {
+			throw new IllegalArgumentException("Threshold must be >= 0");
+		}
+		this.alpha = alpha;
+		this.threshold = threshold;
+	}
+
+	/**
+	 * Finds the anomalies of every activity from its hourly counts.
+	 * 
+	 * @param hourCounts is map of activity to its counts per hour since the epoch.
+	 * @param size       is size of the buckets to search, HOUR or DATE.
+	 * @return anomalies sorted by descending score.
+	 */
+	public Anomaly[] detect(Map<String, TimeBucketCounter> hourCounts, BucketSize size) {
+		List<Anomaly> found = DSAFactory.getIndexedList();
+		Iterator<Entry<String, TimeBucketCounter>> it = hourCounts.entrySet().iterator();
+		while (it.hasNext()) {
+			Entry<String, TimeBucketCounter> entry = it.next();
+			TimeBucketCounter counts = entry.getValue();
+			if (size == BucketSize.DATE) {
+				counts = counts.rollUp(HOURS_PER_DATE);
+			}
+			detect(entry.getKey(), counts, size, found);
+		}
+
+		Anomaly[] anomalies = new Anomaly[found.size()];
+		for (int i = 0; i < anomalies.length; i++) {
+			anomalies[i] = found.get(i);
+		}
+		Sorter<Anomaly> s = DSAFactory.getComparisonSorter(null);
+		s.sort(anomalies);
+		return anomalies;
+	}
+
+	/**
+	 * Finds the anomalies of one activity. The first bucket has no baseline and
+	 * is never an anomaly.
+	 * 
+	 * @param activity is activity of the counts.
+	 * @param counts   is counts of the activity per bucket.
+	 * @param size     is size of the buckets.
+	 * @param found    is list to add anomalies to.
+	 */
+	private void detect(String activity, TimeBucketCounter counts, BucketSize size, List<Anomaly> found) {
+		long[] buckets = counts.getSortedBuckets();
+		double mean = 0;
+		double variance = 0;
+		for (int i = 0; i < buckets.length; i++) {
+			int count = counts.get(buckets[i]);
+			if (i > 0) {
+				// Decay the baseline through the empty buckets since the last count.
+				long empty = buckets[i] - buckets[i - 1] - 1;
+				for (long e = 0; e < empty; e++) {
+					variance = (1 - alpha) * (variance + alpha * mean * mean);
+					mean = (1 - alpha) * mean;
+					if (mean < EPSILON && variance < EPSILON) {
+						mean = 0;
+						variance = 0;
+						break;
+					}
+				}
+
+				double score = (count - mean) / Math.max(Math.sqrt(variance), MIN_DEVIATION);
+				if (score >= threshold) {
+					found.addLast(new Anomaly(activity, buckets[i], format(buckets[i], size), count, mean, score));
+				}
+				double diff = count - mean;
+				double increment = alpha * diff;
+				mean = mean + increment;
+				variance = (1 - alpha) * (variance + diff * increment);
+			} else {
+				mean = count;
+			}
+		}
+	}
+
+	/**
+	 * Formats the start time of a bucket.
+	 * 
+	 * @param bucket is hours or days since the epoch.
+	 * @param size   is size of the bucket.
+	 * @return readable start time of the bucket.
+	 */
+	private String format(long bucket, BucketSize size) {
+		long hours = size == BucketSize.DATE ? bucket * HOURS_PER_DATE : bucket;
+		LocalDateTime start = LocalDateTime.ofEpochSecond(hours * SECONDS_PER_HOUR, 0, ZoneOffset.UTC);
+		return start.format(size == BucketSize.DATE ? dateFormat : hourFormat);
+	}
+}
@@ -0,0 +1,14 @@
+package edu.ncsu.csc316.activity.manager;
+
+/**
+ * Sizes of the time buckets that activity counts are grouped into for anomaly
+ * detection.
+ * 
+ * @author Michael Warstler (mwwarstl)
+ */
+public enum BucketSize {
+	/** One bucket per hour of each date */
+	HOUR,
+	/** One bucket per date */
+	DATE
+}
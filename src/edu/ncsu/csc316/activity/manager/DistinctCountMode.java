@@ -0,0 +1,16 @@
+package edu.ncsu.csc316.activity.manager;
+
+/**
+ * Modes for counting distinct users per activity, date and hour in
+ * UserActivityLogManager.
+ * 
+ * @author Michael Warstler (mwwarstl)
+ */
+public enum DistinctCountMode {
+	/** Distinct users are not counted */
+	OFF,
+	/** Distinct users are counted exactly, using memory per distinct user */
+	EXACT,
+	/** Distinct users are estimated with fixed-size HyperLogLog sketches */
+	HYPERLOGLOG
+}
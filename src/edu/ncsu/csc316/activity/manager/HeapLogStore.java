@@ -0,0 +1,198 @@
+package edu.ncsu.csc316.activity.manager;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.function.Predicate;
+
+import edu.ncsu.csc316.activity.data.LogEntry;
+import edu.ncsu.csc316.activity.dsa.DSAFactory;
+import edu.ncsu.csc316.dsa.list.List;
+import edu.ncsu.csc316.dsa.map.Map;
+
+/**
+ * Class stores log entries in a List of LogEntry objects on the heap. This is
+ * the default storage of UserActivityLogManager.
+ * 
+ * @author Michael Warstler (mwwarstl)
+ */
+public class HeapLogStore implements LogStore {
+
+	/** List of log entries */
+	private List<LogEntry> logList;
+	/** Id of each username, assigned on the first user key request */
+	private Map<String, Integer> userIds;
+	/** Id of each action, assigned on the first activity or action key request */
+	private Map<String, Integer> actionIds;
+	/** Id of each resource, assigned on the first activity key request */
+	private Map<String, Integer> resourceIds;
+
+	/**
+	 * Constructs a HeapLogStore holding the entries of the list.
+	 * 
+	 * @param logList is list of log entries to store.
+	 */
+	public HeapLogStore(List<LogEntry> logList) {
+		this.logList = logList;
+	}
+
+	/**
+	 * Adds a log entry to the end of the list.
+	 * 
+	 * @param entry is log entry to add.
+	 */
+	@Override
+	public void add(LogEntry entry) {
+		logList.addLast(entry);
+	}
+
+	/**
+	 * Gets the number of entries in the list.
+	 * 
+	 * @return number of entries.
+	 */
+	@Override
+	public int size() {
+		return logList.size();
+	}
+
+	/**
+	 * Gets the log entry at an index of the list.
+	 * 
+	 * @param row is index of the entry.
+	 * @return log entry at the index.
+	 */
+	@Override
+	public LogEntry getEntry(int row) {
+		return logList.get(row);
+	}
+
+	/**
+	 * Gets the username of the entry at an index of the list.
+	 * 
+	 * @param row is index of the entry.
+	 * @return username of the entry.
+	 */
+	@Override
+	public String getUsername(int row) {
+		return logList.get(row).getUsername();
+	}
+
+	/**
+	 * Gets the timestamp of the entry at an index of the list.
+	 * 
+	 * @param row is index of the entry.
+	 * @return timestamp of the entry.
+	 */
+	@Override
+	public LocalDateTime getTimestamp(int row) {
+		return logList.get(row).getTimestamp();
+	}
+
+	/**
+	 * Gets the timestamp of the entry at an index of the list in seconds.
+	 * 
+	 * @param row is index of the entry.
+	 * @return timestamp of the entry in seconds since the epoch.
+	 */
+	@Override
+	public long getEpochSecond(int row) {
+		return logList.get(row).getTimestamp().toEpochSecond(ZoneOffset.UTC);
+	}
+
+	/**
+	 * Gets the action of the entry at an index of the list.
+	 * 
+	 * @param row is index of the entry.
+	 * @return action of the entry.
+	 */
+	@Override
+	public String getAction(int row) {
+		return logList.get(row).getAction();
+	}
+
+	/**
+	 * Gets the resource of the entry at an index of the list.
+	 * 
+	 * @param row is index of the entry.
+	 * @return resource of the entry.
+	 */
+	@Override
+	public String getResource(int row) {
+		return logList.get(row).getResource();
+	}
+
+	/**
+	 * Gets the activity key of the entry at an index of the list, made of the
+	 * interned ids of its action (high 32 bits) and resource (low 32 bits).
+	 * 
+	 * @param row is index of the entry.
+	 * @return activity key of the entry.
+	 */
+	@Override
+	public long getActivityKey(int row) {
+		if (resourceIds == null) {
+			resourceIds = DSAFactory.getMap(null);
+		}
+		return (long) getActionKey(row) << 32 | (intern(resourceIds, logList.get(row).getResource()) & 0xFFFFFFFFL);
+	}
+
+	/**
+	 * Gets the user key of the entry at an index of the list, which is the
+	 * interned id of its username.
+	 * 
+	 * @param row is index of the entry.
+	 * @return user key of the entry.
+	 */
+	@Override
+	public int getUserKey(int row) {
+		if (userIds == null) {
+			userIds = DSAFactory.getMap(null);
+		}
+		return intern(userIds, logList.get(row).getUsername());
+	}
+
+	/**
+	 * Gets the action key of the entry at an index of the list, which is the
+	 * interned id of its action.
+	 * 
+	 * @param row is index of the entry.
+	 * @return action key of the entry.
+	 */
+	@Override
+	public int getActionKey(int row) {
+		if (actionIds == null) {
+			actionIds = DSAFactory.getMap(null);
+		}
+		return intern(actionIds, logList.get(row).getAction());
+	}
+
+	/**
+	 * Gets the id of a value, assigning the next id if the value has none.
+	 * 
+	 * @param ids   is map of values to ids.
+	 * @param value is value to get the id of.
+	 * @return id of the value.
+	 */
+	private static int intern(Map<String, Integer> ids, String value) {
+		Integer id = ids.get(value);
+		if (id == null) {
+			id = ids.size();
+			ids.put(value, id);
+		}
+		return id;
+	}
+
+	/**
+	 * Creates a RowFilter that checks the entries of the list against a LogFilter.
+	 * The rules are only run once per distinct value, but each row still looks up
+	 * its username, action and resource in the predicate's map of results.
+	 * 
+	 * @param filter is filter to check rows against.
+	 * @return RowFilter for this store.
+	 */
+	@Override
+	public RowFilter getRowFilter(LogFilter filter) {
+		final Predicate<LogEntry> predicate = filter.toEntryPredicate();
+		return row -> predicate.test(logList.get(row));
+	}
+}
@@ -0,0 +1,24 @@
+package edu.ncsu.csc316.activity.manager;
+
+/**
+ * Exception thrown by ReportManager for invalid report input, such as a number
+ * < 1 or a malformed date, when it is set to throw instead of returning the
+ * error message as the report. The message is the error message without its
+ * trailing newline.
+ * 
+ * @author Michael Warstler (mwwarstl)
+ */
+public class InvalidReportException extends IllegalArgumentException {
+
+	/** Serial version of the exception */
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * Constructs an InvalidReportException.
+	 * 
+	 * @param message is error message of the invalid input.
+	 */
+	public InvalidReportException(String message) {
+		super(message);
+	}
+}
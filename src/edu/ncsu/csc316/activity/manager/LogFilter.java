@@ -0,0 +1,280 @@
+package edu.ncsu.csc316.activity.manager;
+
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+import edu.ncsu.csc316.activity.data.LogEntry;
+import edu.ncsu.csc316.activity.dsa.DSAFactory;
+import edu.ncsu.csc316.dsa.list.List;
+import edu.ncsu.csc316.dsa.map.Map;
+
+/**
+ * Class specifies which log entries are included in filtered reports. Rules
+ * include or exclude entries by username, action or resource, matching the
+ * whole value exactly, by prefix, or by regular expression. An entry passes the
+ * filter if, for each field that has include rules, the field matches at least
+ * one of them, and the entry matches no exclude rule.
+ * 
+ * Filters are applied while scanning the log, so excluded entries are never
+ * counted or formatted. Each distinct value is only matched once per scan.
+ * 
+ * @author Michael Warstler (mwwarstl)
+ */
+public class LogFilter {
+
+	/**
+	 * Fields of a log entry that rules can match.
+	 */
+	public enum Field {
+		/** Username of the entry */
+		USERNAME,
+		/** Action of the entry */
+		ACTION,
+		/** Resource of the entry */
+		RESOURCE
+	}
+
+	/**
+	 * Ways a rule can match a field.
+	 */
+	public enum MatchType {
+		/** Field equals the pattern */
+		EXACT,
+		/** Field starts with the pattern */
+		PREFIX,
+		/** Whole field matches the pattern as a regular expression */
+		REGEX
+	}
+
+	/** Include and exclude rules of the filter */
+	private List<Rule> rules = DSAFactory.getIndexedList();
+
+	/**
+	 * Adds a rule that includes entries whose field matches the pattern. When a
+	 * field has several include rules, entries must match at least one of them.
+	 * 
+	 * @param field     is field the rule matches.
+	 * @param matchType is how the pattern is matched.
+	 * @param pattern   is value, prefix or regular expression to match.
+	 * @return this filter, so rules can be chained.
+	 * @throws IllegalArgumentException if any parameter is null or a regular
+	 *                                  expression is invalid.
+	 */
+	public LogFilter include(Field field, MatchType matchType, String pattern) {
+		rules.addLast(new Rule(true, field, matchType, pattern));
+		return this;
+	}
+
+	/**
+	 * Adds a rule that excludes entries whose field matches the pattern.
+	 * 
+	 * @param field     is field the rule matches.
+	 * @param matchType is how the pattern is matched.
+	 * @param pattern   is value, prefix or regular expression to match.
+	 * @return this filter, so rules can be chained.
+	 * @throws IllegalArgumentException if any parameter is null or a regular
+	 *                                  expression is invalid.
+	 */
+	public LogFilter exclude(Field field, MatchType matchType, String pattern) {
+		rules.addLast(new Rule(false, field, matchType, pattern));
+		return this;
+	}
+
+	/**
+	 * Checks if the filter has any rules for a field.
+	 * 
+	 * @param field is field to check.
+	 * @return true if at least one rule matches the field.
+	 */
+	public boolean hasRules(Field field) {
+		for (int i = 0; i < rules.size(); i++) {
+			if (rules.get(i).field == field) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Checks if a value of a field passes the include and exclude rules for that
+	 * field.
+	 * 
+	 * @param field is field of the value.
+	 * @param value is value of the field.
+	 * @return true if the value passes the rules of the field.
+	 */
+	public boolean matchesField(Field field, String value) {
+		boolean hasInclude = false;
+		boolean included = false;
+		for (int i = 0; i < rules.size(); i++) {
+			Rule rule = rules.get(i);
+			if (rule.field == field) {
+				boolean matched = rule.matches(value);
+				// Any matching exclude rule rejects the value.
+				if (!rule.include && matched) {
+					return false;
+				}
+				if (rule.include) {
+					hasInclude = true;
+					included = included || matched;
+				}
+			}
+		}
+		return !hasInclude || included;
+	}
+
+	/**
+	 * Checks if an entry with the fields passes the filter.
+	 * 
+	 * @param username is username of the entry.
+	 * @param action   is action of the entry.
+	 * @param resource is resource of the entry.
+	 * @return true if the entry passes the filter.
+	 */
+	public boolean matches(String username, String action, String resource) {
+		return matchesField(Field.USERNAME, username) && matchesField(Field.ACTION, action)
+				&& matchesField(Field.RESOURCE, resource);
+	}
+
+	/**
+	 * Creates a predicate that tests LogEntries against the filter. The predicate
+	 * remembers the result for each distinct value of a field, so each value is
+	 * only matched against the rules once. The predicate is meant for a single
+	 * scan and is not thread-safe.
+	 * 
+	 * @return predicate for LogEntries.
+	 */
+	public Predicate<LogEntry> toEntryPredicate() {
+		final FieldMemo users = new FieldMemo(Field.USERNAME);
+		final FieldMemo actions = new FieldMemo(Field.ACTION);
+		final FieldMemo resources = new FieldMemo(Field.RESOURCE);
+		return entry -> users.matches(entry.getUsername()) && actions.matches(entry.getAction())
+				&& resources.matches(entry.getResource());
+	}
+
+	/**
+	 * Gets a description of the rules, used to tell filters apart in cache keys.
+	 * 
+	 * @return description of the rules.
+	 */
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder();
+		for (int i = 0; i < rules.size(); i++) {
+			Rule rule = rules.get(i);
+			builder.append(rule.include ? "+" : "-");
+			builder.append(rule.field);
+			builder.append(" ");
+			builder.append(rule.matchType);
+			builder.append(" ");
+			builder.append(rule.pattern.length());
+			builder.append(":");
+			builder.append(rule.pattern);
+			builder.append(";");
+		}
+		return builder.toString();
+	}
+
+	/**
+	 * Class holds one include or exclude rule of the filter.
+	 * 
+	 * @author Michael Warstler (mwwarstl)
+	 */
+	private static class Rule {
+
+		/** True for an include rule, false for an exclude rule */
+		private boolean include;
+		/** Field the rule matches */
+		private Field field;
+		/** How the pattern is matched */
+		private MatchType matchType;
+		/** Value, prefix or regular expression to match */
+		private String pattern;
+		/** Compiled regular expression for REGEX rules */
+		private Pattern regex;
+
+		/**
+		 * Constructs a Rule.
+		 * 
+		 * @param include   is true for an include rule, false for exclude.
+		 * @param field     is field the rule matches.
+		 * @param matchType is how the pattern is matched.
+		 * @param pattern   is value, prefix or regular expression to match.
+		 * @throws IllegalArgumentException if any parameter is null or a regular
+		 *                                  expression is invalid.
+		 */
+		Rule(boolean include, Field field, MatchType matchType, String pattern) {
+			if (field == null || matchType == null || pattern == null) {
+				throw new IllegalArgumentException("Filter rules need a field, match type and pattern");
+			}
+			this.include = include;
+			this.field = field;
+			this.matchType = matchType;
+			this.pattern = pattern;
+			if (matchType == MatchType.REGEX) {
+				// PatternSyntaxException is an IllegalArgumentException.
+				regex = Pattern.compile(pattern);
+			}
+		}
+
+		/**
+		 * Checks if a value matches the rule's pattern.
+		 * 
+		 * @param value is value of the field.
+		 * @return true if the value matches.
+		 */
+		boolean matches(String value) {
+			switch (matchType) {
+			case EXACT:
+				return value.equals(pattern);
+			case PREFIX:
+				return value.startsWith(pattern);
+			default:
+				return regex.matcher(value).matches();
+			}
+		}
+	}
+
+	/**
+	 * Class remembers whether each distinct value of a field passes the filter.
+	 * 
+	 * @author Michael Warstler (mwwarstl)
+	 */
+	private class FieldMemo {
+
+		/** Field the values belong to */
+		private Field field;
+		/** True if the filter has rules for the field */
+		private boolean hasRules;
+		/** Result of each value matched so far */
+		private Map<String, Boolean> results = DSAFactory.getMap(null);
+
+		/**
+		 * Constructs a FieldMemo for a field.
+		 * 
+		 * @param field is field the values belong to.
+		 */
+		FieldMemo(Field field) {
+			this.field = field;
+			hasRules = hasRules(field);
+		}
+
+		/**
+		 * Checks if a value passes the filter, matching it only the first time.
+		 * 
+		 * @param value is value of the field.
+		 * @return true if the value passes the rules of the field.
+		 */
+		boolean matches(String value) {
+			if (!hasRules) {
+				return true;
+			}
+			Boolean result = results.get(value);
+			if (result == null) {
+				result = matchesField(field, value);
+				results.put(value, result);
+			}
+			return result;
+		}
+	}
+}
@@ -0,0 +1,116 @@
+package edu.ncsu.csc316.activity.manager;
+
+import java.time.LocalDateTime;
+
+import edu.ncsu.csc316.activity.data.LogEntry;
+
+/**
+ * Interface for the storage of log entries used by UserActivityLogManager.
+ * Entries are stored in rows in the order they were added. Aggregations read the
+ * fields of each row directly, and only build LogEntry objects for rows that are
+ * returned in lists.
+ * 
+ * @author Michael Warstler (mwwarstl)
+ */
+public interface LogStore {
+
+	/**
+	 * Adds a log entry as the last row of the store.
+	 * 
+	 * @param entry is log entry to add.
+	 */
+	void add(LogEntry entry);
+
+	/**
+	 * Gets the number of rows in the store.
+	 * 
+	 * @return number of rows.
+	 */
+	int size();
+
+	/**
+	 * Gets the log entry of a row.
+	 * 
+	 * @param row is index of the row.
+	 * @return log entry of the row.
+	 */
+	LogEntry getEntry(int row);
+
+	/**
+	 * Gets the username of a row.
+	 * 
+	 * @param row is index of the row.
+	 * @return username of the row.
+	 */
+	String getUsername(int row);
+
+	/**
+	 * Gets the timestamp of a row.
+	 * 
+	 * @param row is index of the row.
+	 * @return timestamp of the row.
+	 */
+	LocalDateTime getTimestamp(int row);
+
+	/**
+	 * Gets the timestamp of a row in seconds since the epoch, in UTC.
+	 * 
+	 * @param row is index of the row.
+	 * @return timestamp of the row in seconds.
+	 */
+	long getEpochSecond(int row);
+
+	/**
+	 * Gets the action of a row.
+	 * 
+	 * @param row is index of the row.
+	 * @return action of the row.
+	 */
+	String getAction(int row);
+
+	/**
+	 * Gets the resource of a row.
+	 * 
+	 * @param row is index of the row.
+	 * @return resource of the row.
+	 */
+	String getResource(int row);
+
+	/**
+	 * Gets a key identifying the activity (action and resource) of a row. Rows
+	 * have the same key only when both their actions and resources are equal, so
+	 * activities can be counted without building "action resource" strings.
+	 * 
+	 * @param row is index of the row.
+	 * @return activity key of the row.
+	 */
+	long getActivityKey(int row);
+
+	/**
+	 * Gets a key identifying the username of a row. Keys are ids counted up from 0
+	 * as usernames are first seen, so users can be grouped with arrays indexed by
+	 * key instead of looking up each username.
+	 * 
+	 * @param row is index of the row.
+	 * @return user key of the row.
+	 */
+	int getUserKey(int row);
+
+	/**
+	 * Gets a key identifying the action of a row. Keys are ids counted up from 0
+	 * as actions are first seen, so they can index arrays.
+	 * 
+	 * @param row is index of the row.
+	 * @return action key of the row.
+	 */
+	int getActionKey(int row);
+
+	/**
+	 * Creates a RowFilter that checks rows of this store against a LogFilter. The
+	 * RowFilter is meant for a single scan and is not thread-safe.
+	 * 
+	 * @param filter is filter to check rows against.
+	 * @return RowFilter for this store.
+	 */
+	RowFilter getRowFilter(LogFilter filter);
+}
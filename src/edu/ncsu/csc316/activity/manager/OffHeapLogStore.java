@@ -0,0 +1,257 @@
+package edu.ncsu.csc316.activity.manager;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+
+import edu.ncsu.csc316.activity.data.LogEntry;
+
+/**
+ * Class stores log entries in columns kept in direct (off-heap) buffers. Each row
+ * holds the dictionary ids of its username, action and resource, and its
+ * timestamp in seconds. Strings are kept once each in off-heap dictionaries, so
+ * a large log does not create millions of objects for the garbage collector to
+ * trace. LogEntry objects are only built when a row is returned in a list.
+ * 
+ * @author Michael Warstler (mwwarstl)
+ */
+public class OffHeapLogStore implements LogStore {
+
+	/** Bytes used by each row */
+	private static final int ROW_BYTES = 20;
+	/** Offset of the username id in a row */
+	private static final int USER = 0;
+	/** Offset of the action id in a row */
+	private static final int ACTION = 4;
+	/** Offset of the resource id in a row */
+	private static final int RESOURCE = 8;
+	/** Offset of the timestamp (seconds) in a row */
+	private static final int TIMESTAMP = 12;
+	/** Initial number of rows */
+	private static final int INITIAL_ROWS = 1024;
+
+	/** Row data of all entries */
+	private ByteBuffer rows;
+	/** Number of rows */
+	private int size;
+	/** Dictionary of usernames */
+	private OffHeapStringDictionary users;
+	/** Dictionary of actions */
+	private OffHeapStringDictionary actions;
+	/** Dictionary of resources */
+	private OffHeapStringDictionary resources;
+	/** Formats timestamps to build LogEntries in the log file format */
+	private final DateTimeFormatter dateTimeFormat = DateTimeFormatter.ofPattern("MM/dd/yyyy hh:mm:ssa", Locale.US);
+
+	/**
+	 * Constructs an empty OffHeapLogStore.
+	 */
+	public OffHeapLogStore() {
+		rows = OffHeapStringDictionary.allocate(INITIAL_ROWS * ROW_BYTES);
+		users = new OffHeapStringDictionary();
+		actions = new OffHeapStringDictionary();
+		resources = new OffHeapStringDictionary();
+	}
+
+	/**
+	 * Adds a log entry as the last row, adding its strings to the dictionaries.
+	 * 
+	 * @param entry is log entry to add.
+	 * @throws IllegalStateException if the row buffer is full.
+	 */
+	@Override
+	public void add(LogEntry entry) {
+		// Double the row buffer when full, doing the math in long so a large log
+		// fails with a clear error instead of overflowing the offsets.
+		long required = (long) (size + 1) * ROW_BYTES;
+		if (required > rows.capacity()) {
+			rows = OffHeapStringDictionary.grow(rows, size * ROW_BYTES,
+					OffHeapStringDictionary.growCapacity(rows.capacity(), required));
+		}
+		int base = size * ROW_BYTES;
+		rows.putInt(base + USER, users.add(entry.getUsername()));
+		rows.putInt(base + ACTION, actions.add(entry.getAction()));
+		rows.putInt(base + RESOURCE, resources.add(entry.getResource()));
+		rows.putLong(base + TIMESTAMP, entry.getTimestamp().toEpochSecond(ZoneOffset.UTC));
+		size++;
+	}
+
+	/**
+	 * Gets the number of rows in the store.
+	 * 
+	 * @return number of rows.
+	 */
+	@Override
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Builds the log entry of a row.
+	 * 
+	 * @param row is index of the row.
+	 * @return new log entry with the fields of the row.
+	 */
+	@Override
+	public LogEntry getEntry(int row) {
+		return new LogEntry(getUsername(row), dateTimeFormat.format(getTimestamp(row)), getAction(row),
+				getResource(row));
+	}
+
+	/**
+	 * Gets the username of a row from the username dictionary.
+	 * 
+	 * @param row is index of the row.
+	 * @return username of the row.
+	 */
+	@Override
+	public String getUsername(int row) {
+		return users.get(rows.getInt(checkRow(row) + USER));
+	}
+
+	/**
+	 * Gets the timestamp of a row.
+	 * 
+	 * @param row is index of the row.
+	 * @return timestamp of the row.
+	 */
+	@Override
+	public LocalDateTime getTimestamp(int row) {
+		return LocalDateTime.ofEpochSecond(getEpochSecond(row), 0, ZoneOffset.UTC);
+	}
+
+	/**
+	 * Gets the timestamp of a row in seconds, read directly from the row buffer.
+	 * 
+	 * @param row is index of the row.
+	 * @return timestamp of the row in seconds since the epoch.
+	 */
+	@Override
+	public long getEpochSecond(int row) {
+		return rows.getLong(checkRow(row) + TIMESTAMP);
+	}
+
+	/**
+	 * Gets the action of a row from the action dictionary.
+	 * 
+	 * @param row is index of the row.
+	 * @return action of the row.
+	 */
+	@Override
+	public String getAction(int row) {
+		return actions.get(rows.getInt(checkRow(row) + ACTION));
+	}
+
+	/**
+	 * Gets the resource of a row from the resource dictionary.
+	 * 
+	 * @param row is index of the row.
+	 * @return resource of the row.
+	 */
+	@Override
+	public String getResource(int row) {
+		return resources.get(rows.getInt(checkRow(row) + RESOURCE));
+	}
+
+	/**
+	 * Gets the activity key of a row, made of the dictionary ids of its action
+	 * (high 32 bits) and resource (low 32 bits).
+	 * 
+	 * @param row is index of the row.
+	 * @return activity key of the row.
+	 */
+	@Override
+	public long getActivityKey(int row) {
+		int base = checkRow(row);
+		return (long) rows.getInt(base + ACTION) << 32 | (rows.getInt(base + RESOURCE) & 0xFFFFFFFFL);
+	}
+
+	/**
+	 * Gets the user key of a row, which is the dictionary id of its username.
+	 * 
+	 * @param row is index of the row.
+	 * @return user key of the row.
+	 */
+	@Override
+	public int getUserKey(int row) {
+		return rows.getInt(checkRow(row) + USER);
+	}
+
+	/**
+	 * Gets the action key of a row, which is the dictionary id of its action.
+	 * 
+	 * @param row is index of the row.
+	 * @return action key of the row.
+	 */
+	@Override
+	public int getActionKey(int row) {
+		return rows.getInt(checkRow(row) + ACTION);
+	}
+
+	/**
+	 * Creates a RowFilter that checks rows against a LogFilter using dictionary
+	 * ids. Every dictionary value of a filtered field is matched once up front,
+	 * so the scan only looks up the result of each row's id and never compares
+	 * strings.
+	 * 
+	 * @param filter is filter to check rows against.
+	 * @return RowFilter for this store.
+	 */
+	@Override
+	public RowFilter getRowFilter(LogFilter filter) {
+		final boolean[] userPasses = matchDictionary(filter, LogFilter.Field.USERNAME, users);
+		final boolean[] actionPasses = matchDictionary(filter, LogFilter.Field.ACTION, actions);
+		final boolean[] resourcePasses = matchDictionary(filter, LogFilter.Field.RESOURCE, resources);
+		return row -> {
+			int base = checkRow(row);
+			return (userPasses == null || userPasses[rows.getInt(base + USER)])
+					&& (actionPasses == null || actionPasses[rows.getInt(base + ACTION)])
+					&& (resourcePasses == null || resourcePasses[rows.getInt(base + RESOURCE)]);
+		};
+	}
+
+	/**
+	 * Matches every value of a dictionary against the filter rules of a field.
+	 * 
+	 * @param filter     is filter to match values against.
+	 * @param field      is field the dictionary holds.
+	 * @param dictionary is dictionary of the field.
+	 * @return result of each dictionary id, or null if the field has no rules.
+	 */
+	private boolean[] matchDictionary(LogFilter filter, LogFilter.Field field, OffHeapStringDictionary dictionary) {
+		if (!filter.hasRules(field)) {
+			return null;
+		}
+		boolean[] passes = new boolean[dictionary.size()];
+		for (int id = 0; id < passes.length; id++) {
+			passes[id] = filter.matchesField(field, dictionary.get(id));
+		}
+		return passes;
+	}
+
+	/**
+	 * Gets the number of off-heap bytes allocated by the rows and dictionaries.
+	 * 
+	 * @return allocated bytes.
+	 */
+	public long getAllocatedBytes() {
+		return rows.capacity() + users.getAllocatedBytes() + actions.getAllocatedBytes()
+				+ resources.getAllocatedBytes();
+	}
+
+	/**
+	 * Checks that a row exists and gets its offset in the row buffer.
+	 * 
+	 * @param row is index of the row.
+	 * @return offset of the row.
+	 * @throws IndexOutOfBoundsException if the row does not exist.
+	 */
+	private int checkRow(int row) {
+		if (row < 0 || row >= size) {
+			throw new IndexOutOfBoundsException("Invalid row: " + row);
+		}
+		return row * ROW_BYTES;
+	}
+}
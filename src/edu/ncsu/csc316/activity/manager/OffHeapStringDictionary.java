@@ -0,0 +1,278 @@
+package edu.ncsu.csc316.activity.manager;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Class assigns an integer id to each unique string and stores the strings in
+ * direct (off-heap) buffers. Strings are stored as UTF-8 bytes, and ids are
+ * found through an open addressing hash table that is also kept off-heap, so
+ * the heap only holds the buffer handles.
+ * 
+ * @author Michael Warstler (mwwarstl)
+ */
+public class OffHeapStringDictionary {
+
+	/** Bytes used by each id: offset, length and hash of its string */
+	private static final int ID_BYTES = 12;
+	/** Initial number of ids/hash table slots */
+	private static final int INITIAL_CAPACITY = 64;
+	/** Initial number of bytes of string data */
+	private static final int INITIAL_DATA_BYTES = 4096;
+
+	/** UTF-8 bytes of all strings, one after another */
+	private ByteBuffer data;
+	/** Number of bytes used in data */
+	private int dataSize;
+	/** Offset, length and hash of each id's string */
+	private ByteBuffer ids;
+	/** Number of ids assigned */
+	private int size;
+	/** Hash table slots holding id + 1, or 0 for an empty slot */
+	private ByteBuffer table;
+	/** Number of slots in the hash table, always a power of 2 */
+	private int tableCapacity;
+
+	/**
+	 * Constructs an empty OffHeapStringDictionary.
+	 */
+	public OffHeapStringDictionary() {
+		data = allocate(INITIAL_DATA_BYTES);
+		ids = allocate(INITIAL_CAPACITY * ID_BYTES);
+		tableCapacity = INITIAL_CAPACITY * 2;
+		table = allocate(tableCapacity * Integer.BYTES);
+	}
+
+	/**
+	 * Gets the id of a string, adding the string to the dictionary if it has not
+	 * been added before.
+	 * 
+	 * @param value is string to add.
+	 * @return id of the string.
+	 */
+	public int add(String value) {
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		int hash = hash(bytes);
+		int slot = findSlot(bytes, hash);
+		int existing = table.getInt(slot * Integer.BYTES);
+		if (existing != 0) {
+			return existing - 1;
+		}
+
+		// Append the string bytes and its id information.
+		ensureDataCapacity((long) dataSize + bytes.length);
+		ByteBuffer target = data.duplicate();
+		target.position(dataSize);
+		target.put(bytes);
+		ensureIdCapacity(size + 1);
+		ids.putInt(size * ID_BYTES, dataSize);
+		ids.putInt(size * ID_BYTES + 4, bytes.length);
+		ids.putInt(size * ID_BYTES + 8, hash);
+		dataSize += bytes.length;
+
+		int id = size;
+		size++;
+		table.putInt(slot * Integer.BYTES, id + 1);
+
+		// Keep the hash table at most half full.
+		if (size * 2 > tableCapacity) {
+			rehash();
+		}
+		return id;
+	}
+
+	/**
+	 * Gets the id of a string without adding it.
+	 * 
+	 * @param value is string to look up.
+	 * @return id of the string, or -1 if the string is not in the dictionary.
+	 */
+	public int getId(String value) {
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		return table.getInt(findSlot(bytes, hash(bytes)) * Integer.BYTES) - 1;
+	}
+
+	/**
+	 * Gets the string of an id.
+	 * 
+	 * @param id is id of the string.
+	 * @return the string.
+	 * @throws IndexOutOfBoundsException if id is not in the dictionary.
+	 */
+	public String get(int id) {
+		if (id < 0 || id >= size) {
+			throw new IndexOutOfBoundsException("Invalid dictionary id: " + id);
+		}
+		byte[] bytes = new byte[ids.getInt(id * ID_BYTES + 4)];
+		ByteBuffer source = data.duplicate();
+		source.position(ids.getInt(id * ID_BYTES));
+		source.get(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Gets the number of unique strings in the dictionary.
+	 * 
+	 * @return the size
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Gets the number of off-heap bytes allocated by the dictionary.
+	 * 
+	 * @return allocated bytes.
+	 */
+	public long getAllocatedBytes() {
+		return (long) data.capacity() + ids.capacity() + table.capacity();
+	}
+
+	/**
+	 * Finds the hash table slot holding the string, or the empty slot where it
+	 * would be added.
+	 * 
+	 * @param bytes is UTF-8 bytes of the string.
+	 * @param hash  is hash of the bytes.
+	 * @return index of the slot.
+	 */
+	private int findSlot(byte[] bytes, int hash) {
+		int mask = tableCapacity - 1;
+		int slot = hash & mask;
+		while (true) {
+			int entry = table.getInt(slot * Integer.BYTES);
+			if (entry == 0 || (ids.getInt((entry - 1) * ID_BYTES + 8) == hash && bytesMatch(entry - 1, bytes))) {
+				return slot;
+			}
+			slot = (slot + 1) & mask;
+		}
+	}
+
+	/**
+	 * Checks if the stored string of an id has the same bytes.
+	 * 
+	 * @param id    is id of the stored string.
+	 * @param bytes is UTF-8 bytes to compare with.
+	 * @return true if the bytes match.
+	 */
+	private boolean bytesMatch(int id, byte[] bytes) {
+		if (ids.getInt(id * ID_BYTES + 4) != bytes.length) {
+			return false;
+		}
+		int offset = ids.getInt(id * ID_BYTES);
+		for (int i = 0; i < bytes.length; i++) {
+			if (data.get(offset + i) != bytes[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Doubles the hash table and places every id in its new slot using the stored
+	 * hashes.
+	 */
+	private void rehash() {
+		// The table only doubles, so the next power of 2 must fit in a buffer.
+		if ((long) tableCapacity * 2 * Integer.BYTES > Integer.MAX_VALUE) {
+			throw new IllegalStateException("Off-heap store full: hash table cannot grow past " + tableCapacity
+					+ " slots");
+		}
+		tableCapacity *= 2;
+		table = allocate(tableCapacity * Integer.BYTES);
+		int mask = tableCapacity - 1;
+		for (int id = 0; id < size; id++) {
+			int slot = ids.getInt(id * ID_BYTES + 8) & mask;
+			while (table.getInt(slot * Integer.BYTES) != 0) {
+				slot = (slot + 1) & mask;
+			}
+			table.putInt(slot * Integer.BYTES, id + 1);
+		}
+	}
+
+	/**
+	 * Grows the string data buffer if it cannot hold the required bytes.
+	 * 
+	 * @param required is number of bytes needed.
+	 */
+	private void ensureDataCapacity(long required) {
+		if (required > data.capacity()) {
+			data = grow(data, dataSize, growCapacity(data.capacity(), required));
+		}
+	}
+
+	/**
+	 * Grows the id buffer if it cannot hold the required number of ids.
+	 * 
+	 * @param required is number of ids needed.
+	 */
+	private void ensureIdCapacity(int required) {
+		long requiredBytes = (long) required * ID_BYTES;
+		if (requiredBytes > ids.capacity()) {
+			ids = grow(ids, size * ID_BYTES, growCapacity(ids.capacity(), requiredBytes));
+		}
+	}
+
+	/**
+	 * Allocates a direct buffer in native byte order.
+	 * 
+	 * @param bytes is capacity of the buffer.
+	 * @return the new buffer.
+	 */
+	static ByteBuffer allocate(int bytes) {
+		return ByteBuffer.allocateDirect(bytes).order(ByteOrder.nativeOrder());
+	}
+
+	/**
+	 * Calculates the capacity of a grown buffer. The capacity doubles so that
+	 * appends take constant amortized time, but is computed in long and capped at
+	 * the largest buffer size, Integer.MAX_VALUE bytes.
+	 * 
+	 * @param capacity is current capacity of the buffer.
+	 * @param required is number of bytes needed.
+	 * @return capacity of the new buffer, at least the required bytes.
+	 * @throws IllegalStateException if the required bytes do not fit in a buffer.
+	 */
+	static int growCapacity(int capacity, long required) {
+		if (required > Integer.MAX_VALUE) {
+			throw new IllegalStateException("Off-heap store full: " + required + " bytes needed, but a buffer holds at most "
+					+ Integer.MAX_VALUE);
+		}
+		long grown = Math.max((long) capacity * 2, required);
+		return (int) Math.min(grown, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Copies the used bytes of a buffer into a new, larger direct buffer.
+	 * 
+	 * @param buffer   is buffer to grow.
+	 * @param used     is number of bytes in use at the start of the buffer.
+	 * @param capacity is capacity of the new buffer.
+	 * @return the new buffer.
+	 */
+	static ByteBuffer grow(ByteBuffer buffer, int used, int capacity) {
+		ByteBuffer grown = allocate(capacity);
+		ByteBuffer source = buffer.duplicate();
+		source.position(0);
+		source.limit(used);
+		grown.put(source);
+		grown.clear();
+		return grown;
+	}
+
+	/**
+	 * Hashes the bytes of a string, mixing the high bits into the low bits used
+	 * to pick a hash table slot.
+	 * 
+	 * @param bytes is UTF-8 bytes of the string.
+	 * @return the hash.
+	 */
+	private static int hash(byte[] bytes) {
+		int h = 1;
+		for (int i = 0; i < bytes.length; i++) {
+			h = 31 * h + bytes[i];
+		}
+		return h ^ (h >>> 16);
+	}
+}
@@ -0,0 +1,167 @@
+package edu.ncsu.csc316.activity.manager;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+/**
+ * Class is a bounded cache of rendered report strings used by ReportManager.
+ * Reports are keyed by report type and parameter. When the total size of the
+ * cached reports goes over the byte limit, the least recently used reports are
+ * evicted first. Hit, miss and eviction counts are tracked for tuning the
+ * limit.
+ *
+ * @author Michael Warstler (mwwarstl)
+ */
+public class ReportCache {
+
+	/** Estimated bytes used by a cached entry beyond its key/report characters */
+	private static final long ENTRY_OVERHEAD = 64;
+
+	/** Cached reports in least to most recently used order */
+	private LinkedHashMap<String, String> reports;
+	/** Maximum estimated bytes of all cached reports */
+	private long maxBytes;
+	/** Estimated bytes of all currently cached reports */
+	private long sizeInBytes;
+	/** Number of lookups that found a cached report */
+	private long hits;
+	/** Number of lookups that did not find a cached report */
+	private long misses;
+	/** Number of reports evicted to stay under the byte limit */
+	private long evictions;
+
+	/**
+	 * Constructs an empty ReportCache that holds at most maxBytes of reports.
+	 *
+	 * @param maxBytes is maximum estimated bytes of all cached reports.
+	 * @throws IllegalArgumentException if maxBytes is less than 1.
+	 */
+	public ReportCache(long maxBytes) {
+		if (maxBytes <= 0) {
+			throw new IllegalArgumentException("Cache size must be > 0 bytes");
+		}
+		this.maxBytes = maxBytes;
+		// Access order keeps the least recently used report at the head.
+		reports = new LinkedHashMap<String, String>(16, 0.75f, true);
+	}
+
+	/**
+	 * Gets the cached report for a key and marks it as most recently used.
+	 *
+	 * @param key is report type and parameter of the report.
+	 * @return the cached report, or null if the report is not cached.
+	 */
+	public synchronized String get(String key) {
+		String report = reports.get(key);
+		if (report == null) {
+			misses++;
+		} else {
+			hits++;
+		}
+		return report;
+	}
+
+	/**
+	 * Puts a report in the cache as most recently used, then evicts the least
+	 * recently used reports until the cache is under its byte limit. Reports larger
+	 * than the whole limit are not cached.
+	 *
+	 * @param key    is report type and parameter of the report.
+	 * @param report is rendered report string.
+	 */
+	public synchronized void put(String key, String report) {
+		long bytes = sizeOf(key, report);
+		if (bytes > maxBytes) {
+			return;
+		}
+		String old = reports.put(key, report);
+		if (old != null) {
+			sizeInBytes -= sizeOf(key, old);
+		}
+		sizeInBytes += bytes;
+
+		// Evict from the least recently used end.
+		Iterator<java.util.Map.Entry<String, String>> it = reports.entrySet().iterator();
+		while (sizeInBytes > maxBytes && it.hasNext()) {
+			java.util.Map.Entry<String, String> eldest = it.next();
+			sizeInBytes -= sizeOf(eldest.getKey(), eldest.getValue());
+			it.remove();
+			evictions++;
+		}
+	}
+
+	/**
+	 * Removes all cached reports. Used when the underlying log changes. Hit, miss
+	 * and eviction counts are kept.
+	 */
+	public synchronized void clear() {
+		reports.clear();
+		sizeInBytes = 0;
+	}
+
+	/**
+	 * Gets the number of cached reports.
+	 *
+	 * @return the number of cached reports
+	 */
+	public synchronized int size() {
+		return reports.size();
+	}
+
+	/**
+	 * Gets the estimated bytes of all cached reports.
+	 *
+	 * @return the sizeInBytes
+	 */
+	public synchronized long getSizeInBytes() {
+		return sizeInBytes;
+	}
+
+	/**
+	 * Gets the maximum estimated bytes of all cached reports.
+	 *
+	 * @return the maxBytes
+	 */
+	public long getMaxBytes() {
+		return maxBytes;
+	}
+
+	/**
+	 * Gets the number of lookups that found a cached report.
+	 *
+	 * @return the hits
+	 */
+	public synchronized long getHits() {
+		return hits;
+	}
+
+	/**
+	 * Gets the number of lookups that did not find a cached report.
+	 *
+	 * @return the misses
+	 */
+	public synchronized long getMisses() {
+		return misses;
+	}
+
+	/**
+	 * Gets the number of reports evicted to stay under the byte limit.
+	 *
+	 * @return the evictions
+	 */
+	public synchronized long getEvictions() {
+		return evictions;
+	}
+
+	/**
+	 * Estimates the bytes used by a cached report. Java strings use up to 2 bytes
+	 * per character.
+	 *
+	 * @param key    is report key.
+	 * @param report is rendered report string.
+	 * @return estimated bytes of the cache entry.
+	 */
+	private static long sizeOf(String key, String report) {
+		return 2L * (key.length() + report.length()) + ENTRY_OVERHEAD;
+	}
+}
@@ -1,6 +1,7 @@
 package edu.ncsu.csc316.activity.manager;
 
 import java.io.FileNotFoundException;
+import java.io.IOException;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
@@ -9,7 +10,11 @@ import edu.ncsu.csc316.activity.data.LogEntry;
 import edu.ncsu.csc316.activity.dsa.Algorithm;
 import edu.ncsu.csc316.activity.dsa.DSAFactory;
 import edu.ncsu.csc316.activity.dsa.DataStructure;
+import edu.ncsu.csc316.activity.sorter.TimestampRadixSorter;
+import edu.ncsu.csc316.activity.stream.LoadStatistics;
+import edu.ncsu.csc316.activity.stream.ParallelLogLoader;
 import edu.ncsu.csc316.dsa.list.List;
+import edu.ncsu.csc316.dsa.map.Map;
 import edu.ncsu.csc316.dsa.sorter.Sorter;
 
 /**
@@ -29,6 +34,22 @@ public class ReportManager {
 	private final DateTimeFormatter dateTimeFormat = DateTimeFormatter.ofPattern("MM/dd/yyyy hh:mm:ssa");
 	/** Indention used for reports */
 	private static final String INDENT = "   ";
+	/** Row ids grouped by day since the epoch, built on first date report request */
+	private Map<Long, int[]> dateIndex;
+	/** Sorted row ids of each day that has been requested */
+	private Map<Long, int[]> sortedDateIndex;
+	/** Row ids grouped by hour, built on first hour report request */
+	private Map<Integer, int[]> hourIndex;
+	/** Sorted row ids of each hour that has been requested */
+	private Map<Integer, int[]> sortedHourIndex;
+	/** Modification count of the log when the indexes and cache were built */
+	private int logModificationCount;
+	/** Optional cache of rendered reports, null when caching is disabled */
+	private ReportCache reportCache;
+	/** Algorithm used to sort the entries of date and hour reports */
+	private Algorithm entrySorterType = Algorithm.COUNTING_SORT;
+	/** True if invalid report input throws instead of returning a message */
+	private volatile boolean throwOnInvalidInput;
 
 	/**
 	 * Constructs a ReportManager using the parameter filename location and the
@@ -57,7 +78,25 @@ public class ReportManager {
 	 *                               reading.
 	 */
 	public ReportManager(String pathToFile, DataStructure mapType) throws FileNotFoundException {
-		activityLogManager = new UserActivityLogManager(pathToFile, mapType);
+		this(pathToFile, mapType, StorageType.HEAP);
+	}
+
+	/**
+	 * Constructs a ReportManager using the parameter location for a file of log
+	 * entries, the parameter map type, and the parameter storage type to hold the
+	 * loaded entries. Gzip and BGZF compressed files are decompressed while
+	 * loading.
+	 * 
+	 * @param pathToFile  is string representation of filename containing log
+	 *                    entries.
+	 * @param mapType     is Map ADT type to use.
+	 * @param storageType is type of storage to hold the loaded entries.
+	 * @throws FileNotFoundException if file cannot be located or has error during
+	 *                               reading.
+	 */
+	public ReportManager(String pathToFile, DataStructure mapType, StorageType storageType)
+			throws FileNotFoundException {
+		activityLogManager = new UserActivityLogManager(pathToFile, mapType, storageType);
 
 		// Specify default List, sorters, and map type.
 		DSAFactory.setListType(DataStructure.ARRAYBASEDLIST);
@@ -66,6 +105,104 @@ public class ReportManager {
 		DSAFactory.setMapType(mapType);
 	}
 
+	/**
+	 * Constructs a ReportManager by loading the file with a ParallelLogLoader.
+	 * Lines that cannot be parsed are rejected and collected as errors, up to the
+	 * loader's error budget. The statistics of the load are available from
+	 * getLoadStatistics.
+	 * 
+	 * @param pathToFile  is string representation of filename containing log
+	 *                    entries.
+	 * @param mapType     is Map ADT type to use.
+	 * @param storageType is type of storage to hold the loaded entries.
+	 * @param loader      is loader used to parse the file.
+	 * @throws IOException if file cannot be located, more rows are rejected than
+	 *                     the error budget, or there is an error during reading.
+	 */
+	public ReportManager(String pathToFile, DataStructure mapType, StorageType storageType,
+			ParallelLogLoader loader) throws IOException {
+		activityLogManager = new UserActivityLogManager(pathToFile, mapType, storageType, loader);
+	}
+
+	/**
+	 * Gets the statistics of loading the file with a ParallelLogLoader.
+	 * 
+	 * @return the load statistics, or null if the file was not loaded by a
+	 *         ParallelLogLoader.
+	 */
+	public LoadStatistics getLoadStatistics() {
+		return activityLogManager.getLoadStatistics();
+	}
+
+	/**
+	 * Enables caching of rendered reports. Reports are cached by report type and
+	 * parameter, and the least recently used reports are evicted when the cached
+	 * reports take up more than maxBytes. The cache is cleared whenever the log
+	 * changes.
+	 * 
+	 * @param maxBytes is maximum estimated bytes of all cached reports.
+	 * @throws IllegalArgumentException if maxBytes is less than 1.
+	 */
+	public synchronized void enableReportCache(long maxBytes) {
+		reportCache = new ReportCache(maxBytes);
+	}
+
+	/**
+	 * Disables caching of rendered reports and discards any cached reports.
+	 */
+	public synchronized void disableReportCache() {
+		reportCache = null;
+	}
+
+	/**
+	 * Gets the cache of rendered reports. Used to read hit, miss, and eviction
+	 * counts.
+	 * 
+	 * @return the reportCache, or null if caching is disabled.
+	 */
+	public synchronized ReportCache getReportCache() {
+		return reportCache;
+	}
+
+	/**
+	 * Sets whether invalid report input, such as a number < 1 or a malformed date,
+	 * throws an InvalidReportException instead of returning the error message as
+	 * the report. By default the message is returned so it can be shown as is.
+	 * 
+	 * @param throwOnInvalidInput is true to throw on invalid input.
+	 */
+	public void setThrowOnInvalidInput(boolean throwOnInvalidInput) {
+		this.throwOnInvalidInput = throwOnInvalidInput;
+	}
+
+	/**
+	 * Sets the algorithm used to sort the entries of date and hour reports.
+	 * COUNTING_SORT (the default) sorts entries on their timestamp in seconds
+	 * without comparisons, then orders entries with equal timestamps by
+	 * description. MERGESORT sorts entries with LogEntry's compareTo. Both produce
+	 * the same report.
+	 * 
+	 * @param entrySorterType is COUNTING_SORT or MERGESORT.
+	 * @throws IllegalArgumentException if the algorithm is not COUNTING_SORT or
+	 *                                  MERGESORT.
+	 */
+	public synchronized void setEntrySorterType(Algorithm entrySorterType) {
+		if (entrySorterType != Algorithm.COUNTING_SORT && entrySorterType != Algorithm.MERGESORT) {
+			throw new IllegalArgumentException("Entries can only be sorted with COUNTING_SORT or MERGESORT");
+		}
+		this.entrySorterType = entrySorterType;
+	}
+
+	/**
+	 * Adds a log entry to the log used for reports. Report indexes and cached
+	 * reports are rebuilt on the next report request.
+	 * 
+	 * @param entry is log entry to add.
+	 */
+	public void addLogEntry(LogEntry entry) {
+		activityLogManager.addLogEntry(entry);
+	}
+
 	/**
 	 * Gets a report of the most commonly performed user activities. User specifies
 	 * how many activities should appear in the report. Output report shows
@@ -86,7 +223,15 @@ public class ReportManager {
 	public String getTopUserActivitiesReport(int number) {
 		// Check for invalid number entered.
 		if (number <= 0) {
-			return "Please enter a number > 0\n";
+			return invalid("Please enter a number > 0\n");
+		}
+
+		// Reuse the rendered report if it is cached.
+		String key = "top:" + number;
+		int modificationCount = activityLogManager.getModificationCount();
+		String cached = getCachedReport(key);
+		if (cached != null) {
+			return cached;
 		}
 
 		// Get list of top activities from the log.
@@ -101,10 +246,274 @@ public class ReportManager {
 		}
 		builder.append("]\n"); // tail end of report.
 
-		// Convert to string and return.
+		// Convert to string, cache, and return.
+		return cacheReport(key, builder.toString(), modificationCount);
+	}
+
+	/**
+	 * Gets a report of the most commonly performed user activities on the dates
+	 * from one date through another. Activities are ordered the same way as the
+	 * full report. Counts come from the daily and hourly rollup tables, so the
+	 * report merges one table per day instead of scanning every entry.
+	 * 
+	 * @param fromDate is first date of the range, in the format MM/DD/YYYY.
+	 * @param toDate   is last date of the range, in the format MM/DD/YYYY.
+	 * @param number   is how many activities should appear in the report.
+	 * @return output string listing the most commonly performed user activities in
+	 *         the range or error message if a date or number is invalid.
+	 */
+	public String getTopUserActivitiesReport(String fromDate, String toDate, int number) {
+		LocalDate from;
+		LocalDate to;
+		try {
+			from = LocalDate.parse(fromDate, dateFormat);
+			to = LocalDate.parse(toDate, dateFormat);
+		} catch (DateTimeParseException e) {
+			return invalid("Please enter a valid date in the format MM/DD/YYYY");
+		}
+		if (from.isAfter(to)) {
+			return invalid("Please enter a start date on or before the end date\n");
+		}
+		// Check for invalid number entered.
+		if (number <= 0) {
+			return invalid("Please enter a number > 0\n");
+		}
+
+		// Reuse the rendered report if it is cached.
+		String key = "range:" + fromDate + ":" + toDate + ":" + number;
+		int modificationCount = activityLogManager.getModificationCount();
+		String cached = getCachedReport(key);
+		if (cached != null) {
+			return cached;
+		}
+
+		// Get list of top activities in the range from the rollup tables.
+		List<String> topActivities = activityLogManager.getTopActivities(from, to, number);
+
+		// Build report string from the list of top activities.
+		StringBuilder builder = new StringBuilder("Top User Activities from ");
+		builder.append(fromDate);
+		builder.append(" to ");
+		builder.append(toDate);
+		builder.append(" Report [\n");
+		for (int i = 0; i < topActivities.size(); i++) {
+			builder.append(INDENT);
+			builder.append(topActivities.get(i));
+			builder.append("\n");
+		}
+		builder.append("]\n"); // tail end of report.
+		return cacheReport(key, builder.toString(), modificationCount);
+	}
+
+	/**
+	 * Gets a report of the most commonly performed user activities among the log
+	 * entries that pass the filter. Entries excluded by the filter are skipped
+	 * while scanning the log and are never counted.
+	 * 
+	 * @param number is how many activities should appear in the report.
+	 * @param filter is filter log entries must pass to be counted, or null to
+	 *               count every entry.
+	 * @return output string listing the most commonly performed user activities or
+	 *         error message if input is less than 0.
+	 */
+	public String getTopUserActivitiesReport(int number, LogFilter filter) {
+		if (filter == null) {
+			return getTopUserActivitiesReport(number);
+		}
+		// Check for invalid number entered.
+		if (number <= 0) {
+			return invalid("Please enter a number > 0\n");
+		}
+
+		// Reuse the rendered report if it is cached.
+		String key = "top:" + number + ":" + filter;
+		int modificationCount = activityLogManager.getModificationCount();
+		String cached = getCachedReport(key);
+		if (cached != null) {
+			return cached;
+		}
+
+		// Get list of top activities that pass the filter.
+		List<String> topActivities = activityLogManager.getTopActivities(number, filter);
+
+		// Build report string from the list of top activities.
+		StringBuilder builder = new StringBuilder("Top User Activities Report [\n");
+		for (int i = 0; i < topActivities.size(); i++) {
+			builder.append(INDENT);
+			builder.append(topActivities.get(i));
+			builder.append("\n");
+		}
+		builder.append("]\n"); // tail end of report.
+
+		return cacheReport(key, builder.toString(), modificationCount);
+	}
+
+	/**
+	 * Sets the mode for counting distinct users per activity, date and hour.
+	 * 
+	 * @param mode is OFF, EXACT, or HYPERLOGLOG.
+	 * @throws IllegalArgumentException if mode is null.
+	 */
+	public void setDistinctUserMode(DistinctCountMode mode) {
+		activityLogManager.setDistinctUserMode(mode);
+	}
+
+	/**
+	 * Gets a report of the most commonly performed user activities, each with the
+	 * number of distinct users that performed it. Counts are exact or HyperLogLog
+	 * estimates depending on the distinct user mode.
+	 * 
+	 * @param number is how many activities should appear in the report.
+	 * @return output string listing the most commonly performed user activities
+	 *         with distinct users, or error message if input is less than 0 or
+	 *         distinct user counting is off.
+	 */
+	public String getDistinctUsersReport(int number) {
+		// Check for invalid number entered.
+		if (number <= 0) {
+			return invalid("Please enter a number > 0\n");
+		}
+		if (activityLogManager.getDistinctUserMode() == DistinctCountMode.OFF) {
+			return invalid("Distinct user counting is off\n");
+		}
+
+		// Get list of top activities with distinct users from the log.
+		List<String> topActivities = activityLogManager.getTopActivitiesWithDistinctUsers(number);
+
+		// Build report string from the list of top activities.
+		StringBuilder builder = new StringBuilder("Distinct Users Report [\n");
+		for (int i = 0; i < topActivities.size(); i++) {
+			builder.append(INDENT);
+			builder.append(topActivities.get(i));
+			builder.append("\n");
+		}
+		builder.append("]\n"); // tail end of report.
+		return builder.toString();
+	}
+
+	/**
+	 * Gets a report of user sessions. Each user's entries are split into a new
+	 * session whenever more than the given number of minutes pass between entries.
+	 * The report lists the number of sessions, the number of sessions of each
+	 * length, and the most common sequences of actions within sessions.
+	 * 
+	 * @param gapMinutes     is largest number of minutes between entries of the
+	 *                       same session.
+	 * @param sequenceLength is number of consecutive actions in each sequence
+	 *                       (1-3).
+	 * @param number         is how many action sequences should appear in the
+	 *                       report.
+	 * @return output string of session statistics or error message if a parameter
+	 *         is out of range.
+	 */
+	public String getSessionReport(int gapMinutes, int sequenceLength, int number) {
+		if (gapMinutes < 0) {
+			return invalid("Please enter a gap >= 0 minutes\n");
+		}
+		if (sequenceLength < 1 || sequenceLength > SessionAnalyzer.MAX_SEQUENCE_LENGTH) {
+			return invalid("Please enter a sequence length between 1 and " + SessionAnalyzer.MAX_SEQUENCE_LENGTH + "\n");
+		}
+		if (number <= 0) {
+			return invalid("Please enter a number > 0\n");
+		}
+		SessionStatistics stats = activityLogManager.getSessionStatistics(gapMinutes * 60L, sequenceLength);
+
+		StringBuilder builder = new StringBuilder("Session Report [\n");
+		builder.append(INDENT + "Users: " + stats.getUserCount() + "\n");
+		builder.append(INDENT + "Sessions: " + stats.getSessionCount() + "\n");
+		builder.append(INDENT + "Session Lengths [\n");
+		for (int length = 1; length <= SessionStatistics.MAX_LENGTH_BUCKET; length++) {
+			long count = stats.getSessionLengthCount(length);
+			if (count > 0) {
+				builder.append(INDENT + INDENT + length);
+				builder.append(length == SessionStatistics.MAX_LENGTH_BUCKET ? "+" : "");
+				builder.append(" entries: " + count + "\n");
+			}
+		}
+		builder.append(INDENT + "]\n");
+		builder.append(INDENT + "Top Action Sequences [\n");
+		List<String> sequences = stats.getTopSequences(number);
+		for (int i = 0; i < sequences.size(); i++) {
+			builder.append(INDENT + INDENT + sequences.get(i) + "\n");
+		}
+		builder.append(INDENT + "]\n");
+		builder.append("]\n"); // tail end of report.
+		return builder.toString();
+	}
+
+	/**
+	 * Gets a report of spikes in activity counts, ranked by score. Each
+	 * activity's count per hour or date is compared to a moving average of its
+	 * earlier counts, and the score is how many standard deviations the count is
+	 * above that baseline.
+	 * 
+	 * @param size      is size of the time buckets, HOUR or DATE.
+	 * @param threshold is smallest score of a reported spike.
+	 * @param number    is how many spikes should appear in the report.
+	 * @return output string listing the highest scoring spikes or error message
+	 *         if a parameter is out of range.
+	 */
+	public String getAnomalyReport(BucketSize size, double threshold, int number) {
+		if (size == null) {
+			return invalid("Please enter a bucket size of HOUR or DATE\n");
+		}
+		if (!(threshold >= 0)) {
+			return invalid("Please enter a threshold >= 0\n");
+		}
+		if (number <= 0) {
+			return invalid("Please enter a number > 0\n");
+		}
+		List<String> anomalies = activityLogManager.getActivityAnomalies(size, threshold, number);
+
+		StringBuilder builder = new StringBuilder("Anomaly Report [\n");
+		for (int i = 0; i < anomalies.size(); i++) {
+			builder.append(INDENT);
+			builder.append(anomalies.get(i));
+			builder.append("\n");
+		}
+		builder.append("]\n"); // tail end of report.
 		return builder.toString();
 	}
 
+	/**
+	 * Gets a page of the most commonly performed user activities. Activities are
+	 * ordered the same way as getTopUserActivitiesReport, but only the activities
+	 * from position offset up to offset + limit are formatted into the report.
+	 * 
+	 * @param offset is index of the first activity to appear in the report.
+	 * @param limit  is maximum number of activities to appear in the report.
+	 * @return output string listing the requested page of activities or error
+	 *         message if offset is less than 0 or limit is less than 1.
+	 */
+	public String getTopUserActivitiesReport(int offset, int limit) {
+		// Check for invalid page entered.
+		if (offset < 0 || limit <= 0) {
+			return invalid("Please enter an offset >= 0 and a limit > 0\n");
+		}
+
+		// Reuse the rendered report if it is cached.
+		String key = "top:" + offset + ":" + limit;
+		int modificationCount = activityLogManager.getModificationCount();
+		String cached = getCachedReport(key);
+		if (cached != null) {
+			return cached;
+		}
+
+		// Get page of top activities from the log.
+		List<String> topActivities = activityLogManager.getTopActivities(offset, limit);
+
+		// Build report string from the page of top activities.
+		StringBuilder builder = new StringBuilder("Top User Activities Report [\n");
+		for (int i = 0; i < topActivities.size(); i++) {
+			builder.append(INDENT);
+			builder.append(topActivities.get(i));
+			builder.append("\n");
+		}
+		builder.append("]\n"); // tail end of report.
+
+		return cacheReport(key, builder.toString(), modificationCount);
+	}
+
 	/**
 	 * Gets a report of log entries for a specific date. Entries ordered in
 	 * chronological order (ascending order based on date/time). Entries on same
@@ -116,53 +525,103 @@ public class ReportManager {
 	 *         recorded if date not found.
 	 */
 	public String getDateReport(String date) {
+		return getDateReport(date, 0, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Gets a page of the report of log entries for a specific date. Entries are
+	 * ordered the same way as the full DateReport, but only entries from position
+	 * offset up to offset + limit are formatted. The entries for a date are sorted
+	 * once, the first time that date is requested, and reused for later pages.
+	 * 
+	 * @param date   to sort entries by.
+	 * @param offset is index of the first entry to appear in the report.
+	 * @param limit  is maximum number of entries to appear in the report.
+	 * @return is string of the DateReport page, message stating that no activities
+	 *         were recorded if date not found, or error message if date, offset or
+	 *         limit is invalid.
+	 */
+	public String getDateReport(String date, int offset, int limit) {
+		return getDateReport(date, offset, limit, null);
+	}
+
+	/**
+	 * Gets a report of the log entries that pass the filter on a specific date.
+	 * 
+	 * @param date   to sort entries by.
+	 * @param filter is filter log entries must pass, or null to include every
+	 *               entry.
+	 * @return is string of DateReport, message stating that no activities were
+	 *         recorded if date not found, or error message if date is invalid.
+	 */
+	public String getDateReport(String date, LogFilter filter) {
+		return getDateReport(date, 0, Integer.MAX_VALUE, filter);
+	}
+
+	/**
+	 * Gets a page of the report of the log entries that pass the filter on a
+	 * specific date. Rows of the date's sorted index are checked with the log
+	 * store's RowFilter while they are scanned, so excluded entries are never
+	 * formatted. With off-heap storage the check uses dictionary ids. The offset
+	 * and limit count only entries that pass the filter. If no entries
+	 * pass, the report has no entries.
+	 * 
+	 * @param date   to sort entries by.
+	 * @param offset is index of the first passing entry to appear in the report.
+	 * @param limit  is maximum number of entries to appear in the report.
+	 * @param filter is filter log entries must pass, or null to include every
+	 *               entry.
+	 * @return is string of the DateReport page, message stating that no activities
+	 *         were recorded if date not found, or error message if date, offset or
+	 *         limit is invalid.
+	 */
+	public String getDateReport(String date, int offset, int limit, LogFilter filter) {
 		try {
 			LocalDate.parse(date, dateFormat);
 		} catch (DateTimeParseException e) {
-			return "Please enter a valid date in the format MM/DD/YYYY";
+			return invalid("Please enter a valid date in the format MM/DD/YYYY");
+		}
+		// Check for invalid page entered.
+		if (offset < 0 || limit <= 0) {
+			return invalid("Please enter an offset >= 0 and a limit > 0\n");
 		}
-		// Get the LogEntry list of matching dates from the UserActivityLogManager NOTE
-		// THAT THIS LIST IS PROBABLY NOT IN CHRONOLOGICAL ORDER NOR ALPHABETICAL.
-		List<LogEntry> matchingDateList = activityLogManager.getEntriesByDate().get(date);
 
-		// Null list indicates no matching date found.
-		if (matchingDateList == null) {
-			return "No activities were recorded on " + date;
+		// Reuse the rendered report if it is cached.
+		String key = "date:" + date + ":" + offset + ":" + limit + (filter == null ? "" : ":" + filter);
+		int modificationCount = activityLogManager.getModificationCount();
+		String cached = getCachedReport(key);
+		if (cached != null) {
+			return cached;
 		}
-		// Otherwise, append entries to builder.
-		else {
-			// Sort the list HERE. This allows sorting just one list with a matching date,
-			// instead of every list.
-			Sorter<LogEntry> s = DSAFactory.getComparisonSorter(null);
-			// Convert list into an array of same size.
-			LogEntry[] matchingDateArray = new LogEntry[matchingDateList.size()];
-			// Move LogEntries from list into Array.
-			for (int i = 0; i < matchingDateList.size(); i++) {
-				matchingDateArray[i] = matchingDateList.get(i);
-			}
-			// Sort the array.
-			s.sort(matchingDateArray);
-
-			// Start to build string for output report.
-			StringBuilder builder = new StringBuilder("Activities recorded on ");
-			builder.append(date);
-			builder.append(" [\n");
-
-			// Add all entries with matching date
-			for (int i = 0; i < matchingDateArray.length; i++) {
-				builder.append(INDENT);
-				builder.append(matchingDateArray[i].getUsername());
-				builder.append(", ");
-				builder.append(dateTimeFormat.format(matchingDateArray[i].getTimestamp()));
-				builder.append(", ");
-				builder.append(matchingDateArray[i].getAction());
-				builder.append(", ");
-				builder.append(matchingDateArray[i].getResource());
-				builder.append("\n");
-			}
-			builder.append("]\n");
-			return builder.toString();
+
+		// Get the sorted rows on the matching date.
+		int[] matchingDateRows = getSortedDateRows(date);
+
+		// Null array indicates no matching date found.
+		if (matchingDateRows == null) {
+			return "No activities were recorded on " + date;
 		}
+
+		// Start to build string for output report.
+		StringBuilder builder = new StringBuilder("Activities recorded on ");
+		builder.append(date);
+		builder.append(" [\n");
+		// Add page of entries with matching date.
+		appendRows(builder, matchingDateRows, offset, limit, filter);
+		builder.append("]\n");
+		return cacheReport(key, builder.toString(), modificationCount);
+	}
+
+	/**
+	 * Gets the number of log entries recorded on a specific date. Used with the
+	 * paged DateReport to determine how many pages exist.
+	 * 
+	 * @param date to count entries for, in the format MM/DD/YYYY.
+	 * @return number of entries recorded on the date, or 0 if none were recorded.
+	 */
+	public int getDateReportSize(String date) {
+		int[] matchingDateRows = getSortedDateRows(date);
+		return matchingDateRows == null ? 0 : matchingDateRows.length;
 	}
 
 	/**
@@ -176,51 +635,371 @@ public class ReportManager {
 	 *         or greater than 23.
 	 */
 	public String getHourReport(int hour) {
+		return getHourReport(hour, 0, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Gets a page of the report of log entries for a specific hour of the day.
+	 * Entries are ordered the same way as the full HourReport, but only entries
+	 * from position offset up to offset + limit are formatted. The entries for an
+	 * hour are sorted once, the first time that hour is requested, and reused for
+	 * later pages.
+	 * 
+	 * @param hour   to create report with.
+	 * @param offset is index of the first entry to appear in the report.
+	 * @param limit  is maximum number of entries to appear in the report.
+	 * @return is hour report page, message stating that no activities were
+	 *         recorded if no activities found on hour, or error message if hour,
+	 *         offset or limit is invalid.
+	 */
+	public String getHourReport(int hour, int offset, int limit) {
+		return getHourReport(hour, offset, limit, null);
+	}
+
+	/**
+	 * Gets a report of the log entries that pass the filter during a specific hour
+	 * of the day.
+	 * 
+	 * @param hour   to create report with.
+	 * @param filter is filter log entries must pass, or null to include every
+	 *               entry.
+	 * @return is hour report, message stating that no activities were recorded if
+	 *         no activities found on hour, or error message if hour is invalid.
+	 */
+	public String getHourReport(int hour, LogFilter filter) {
+		return getHourReport(hour, 0, Integer.MAX_VALUE, filter);
+	}
+
+	/**
+	 * Gets a page of the report of the log entries that pass the filter during a
+	 * specific hour of the day. Rows of the hour's sorted index are checked with
+	 * the log store's RowFilter while they are scanned, so excluded entries are
+	 * never formatted. With off-heap storage the check uses dictionary ids. The
+	 * offset and limit count only entries that pass the filter. If
+	 * no entries pass, the report has no entries.
+	 * 
+	 * @param hour   to create report with.
+	 * @param offset is index of the first passing entry to appear in the report.
+	 * @param limit  is maximum number of entries to appear in the report.
+	 * @param filter is filter log entries must pass, or null to include every
+	 *               entry.
+	 * @return is hour report page, message stating that no activities were
+	 *         recorded if no activities found on hour, or error message if hour,
+	 *         offset or limit is invalid.
+	 */
+	public String getHourReport(int hour, int offset, int limit, LogFilter filter) {
 		// Check for invalid hour
 		if (hour < 0 || hour > 23) {
-			return "Please enter a valid hour between 0 (12AM) and 23 (11PM)\n";
+			return invalid("Please enter a valid hour between 0 (12AM) and 23 (11PM)\n");
+		}
+		// Check for invalid page entered.
+		if (offset < 0 || limit <= 0) {
+			return invalid("Please enter an offset >= 0 and a limit > 0\n");
 		}
 
-		// Get list of entries with a matching hour. Not in alphabetical order.
-		List<LogEntry> matchingHourList = activityLogManager.getEntriesByHour().get(hour);
+		// Reuse the rendered report if it is cached.
+		String key = "hour:" + hour + ":" + offset + ":" + limit + (filter == null ? "" : ":" + filter);
+		int modificationCount = activityLogManager.getModificationCount();
+		String cached = getCachedReport(key);
+		if (cached != null) {
+			return cached;
+		}
+
+		// Get the sorted rows during the matching hour.
+		int[] matchingHourRows = getSortedHourRows(hour);
 
-		// Null list indicates no matching date found.
-		if (matchingHourList == null) {
+		// Null array indicates no matching hour found.
+		if (matchingHourRows == null) {
 			return "No activities were recorded during hour " + hour;
 		}
-		// Otherwise, append entries to builder.
-		else {
-			// Sort the list HERE. This allows sorting just one list with a matching hour,
-			// instead of every list.
-			Sorter<LogEntry> s = DSAFactory.getComparisonSorter(null);
-			// Convert list into an array of same size.
-			LogEntry[] matchingHourArray = new LogEntry[matchingHourList.size()];
-			// Move LogEntries from list into Array.
-			for (int i = 0; i < matchingHourList.size(); i++) {
-				matchingHourArray[i] = matchingHourList.get(i);
+
+		// Start to build string for output report.
+		StringBuilder builder = new StringBuilder("Activities recorded during hour ");
+		builder.append(hour);
+		builder.append(" [\n");
+		// Add page of entries with matching hour.
+		appendRows(builder, matchingHourRows, offset, limit, filter);
+		builder.append("]\n");
+		return cacheReport(key, builder.toString(), modificationCount);
+	}
+
+	/**
+	 * Gets the number of log entries recorded during a specific hour of the day.
+	 * Used with the paged HourReport to determine how many pages exist.
+	 * 
+	 * @param hour to count entries for.
+	 * @return number of entries recorded during the hour, or 0 if none were
+	 *         recorded or hour is invalid.
+	 */
+	public int getHourReportSize(int hour) {
+		if (hour < 0 || hour > 23) {
+			return 0;
+		}
+		int[] matchingHourRows = getSortedHourRows(hour);
+		return matchingHourRows == null ? 0 : matchingHourRows.length;
+	}
+
+	/**
+	 * Gets the sorted row ids of the entries recorded on a date. The map of rows
+	 * by day is built from the UserActivityLogManager on the first call, and each
+	 * day's rows are sorted on the first request for that day.
+	 * 
+	 * @param date is date in format MM/DD/YYYY.
+	 * @return sorted row ids of the entries on the date, or null if no entries
+	 *         found or the date is invalid.
+	 */
+	private synchronized int[] getSortedDateRows(String date) {
+		LocalDate day;
+		try {
+			day = LocalDate.parse(date, dateFormat);
+		} catch (DateTimeParseException e) {
+			return null;
+		}
+		// A day of month past the end of the month parses to the last day, but no
+		// entries were recorded on the date as written.
+		if (!day.format(dateFormat).equals(date)) {
+			return null;
+		}
+
+		checkForLogChanges();
+		// Build the map of (Day - row ids of matching day) only once.
+		if (dateIndex == null) {
+			dateIndex = activityLogManager.getRowsByDay();
+			sortedDateIndex = DSAFactory.getMap(null);
+		}
+
+		// Sorted rows of the day are reused if they were requested before.
+		long key = day.toEpochDay();
+		int[] sorted = sortedDateIndex.get(key);
+		if (sorted == null) {
+			int[] matchingDateRows = dateIndex.get(key);
+			if (matchingDateRows == null) {
+				return null;
 			}
-			// Sort the array.
-			s.sort(matchingHourArray);
-
-			// Start to build string for output report.
-			StringBuilder builder = new StringBuilder("Activities recorded during hour ");
-			builder.append(hour);
-			builder.append(" [\n");
-
-			// Add all entries with matching hour.
-			for (int i = 0; i < matchingHourList.size(); i++) {
-				builder.append(INDENT);
-				builder.append(matchingHourArray[i].getUsername());
-				builder.append(", ");
-				builder.append(dateTimeFormat.format(matchingHourArray[i].getTimestamp()));
-				builder.append(", ");
-				builder.append(matchingHourArray[i].getAction());
-				builder.append(", ");
-				builder.append(matchingHourArray[i].getResource());
-				builder.append("\n");
+			sorted = sortRows(matchingDateRows);
+			sortedDateIndex.put(key, sorted);
+		}
+		return sorted;
+	}
+
+	/**
+	 * Gets the sorted row ids of the entries recorded during an hour. The map of
+	 * rows by hour is built from the UserActivityLogManager on the first call, and
+	 * each hour's rows are sorted on the first request for that hour.
+	 * 
+	 * @param hour is hour of the day from 0-23.
+	 * @return sorted row ids of the entries during the hour, or null if no entries
+	 *         found.
+	 */
+	private synchronized int[] getSortedHourRows(int hour) {
+		checkForLogChanges();
+		// Build the map of (Hour - row ids of matching hour) only once.
+		if (hourIndex == null) {
+			hourIndex = activityLogManager.getRowsByHour();
+			sortedHourIndex = DSAFactory.getMap(null);
+		}
+
+		// Sorted rows of the hour are reused if they were requested before.
+		int[] sorted = sortedHourIndex.get(hour);
+		if (sorted == null) {
+			int[] matchingHourRows = hourIndex.get(hour);
+			if (matchingHourRows == null) {
+				return null;
+			}
+			sorted = sortRows(matchingHourRows);
+			sortedHourIndex.put(hour, sorted);
+		}
+		return sorted;
+	}
+
+	/**
+	 * Discards the date/hour indexes and cached reports if the log has changed
+	 * since they were built.
+	 */
+	private synchronized void checkForLogChanges() {
+		int current = activityLogManager.getModificationCount();
+		if (current != logModificationCount) {
+			dateIndex = null;
+			sortedDateIndex = null;
+			hourIndex = null;
+			sortedHourIndex = null;
+			if (reportCache != null) {
+				reportCache.clear();
 			}
-			builder.append("]\n");
-			return builder.toString();
+			logModificationCount = current;
+		}
+	}
+
+	/**
+	 * Gets a rendered report from the cache.
+	 * 
+	 * @param key is report type and parameter of the report.
+	 * @return the cached report, or null if the report is not cached or caching is
+	 *         disabled.
+	 */
+	private synchronized String getCachedReport(String key) {
+		checkForLogChanges();
+		return reportCache == null ? null : reportCache.get(key);
+	}
+
+	/**
+	 * Puts a rendered report in the cache if caching is enabled. The report is not
+	 * cached if the log changed while it was being built, since it may be missing
+	 * the new entries.
+	 * 
+	 * @param key               is report type and parameter of the report.
+	 * @param report            is rendered report string.
+	 * @param modificationCount is modification count of the log read before the
+	 *                          report was built.
+	 * @return the report.
+	 */
+	private synchronized String cacheReport(String key, String report, int modificationCount) {
+		if (reportCache != null && activityLogManager.getModificationCount() == modificationCount) {
+			reportCache.put(key, report);
+		}
+		return report;
+	}
+
+	/**
+	 * Sorts a copy of row ids in chronological then alphabetical order, using the
+	 * entry sorter type. COUNTING_SORT sorts the rows on the timestamp seconds read
+	 * from the log store, then orders each run of rows with the same timestamp with
+	 * LogEntry's compareTo. MERGESORT orders all rows with LogEntry's compareTo.
+	 * LogEntries are only built while their rows are compared, and are not kept.
+	 * 
+	 * @param rows is row ids to sort.
+	 * @return sorted copy of the row ids.
+	 */
+	private int[] sortRows(int[] rows) {
+		LogStore store = activityLogManager.getLogStore();
+		int[] sorted = rows.clone();
+		if (entrySorterType != Algorithm.COUNTING_SORT) {
+			sortRowsByEntry(store, sorted, 0, sorted.length);
+			return sorted;
+		}
+
+		// Sort rows by timestamp in seconds without comparisons.
+		long[] keys = new long[sorted.length];
+		for (int i = 0; i < sorted.length; i++) {
+			keys[i] = store.getEpochSecond(sorted[i]);
+		}
+		TimestampRadixSorter.sortKeys(keys, sorted);
+
+		// Order rows with equal timestamps (by description).
+		TimestampRadixSorter.sortRuns(keys, (start, end) -> sortRowsByEntry(store, sorted, start, end));
+		return sorted;
+	}
+
+	/**
+	 * Sorts a range of row ids with the comparison sorter, comparing the LogEntry
+	 * of each row.
+	 * 
+	 * @param store is log store holding the rows.
+	 * @param rows  is row ids to sort.
+	 * @param start is index of the first row id to sort.
+	 * @param end   is index after the last row id to sort.
+	 */
+	private void sortRowsByEntry(LogStore store, int[] rows, int start, int end) {
+		RowEntry[] run = new RowEntry[end - start];
+		for (int i = 0; i < run.length; i++) {
+			run[i] = new RowEntry(rows[start + i], store.getEntry(rows[start + i]));
+		}
+		Sorter<RowEntry> s = DSAFactory.getComparisonSorter(null);
+		s.sort(run);
+		for (int i = 0; i < run.length; i++) {
+			rows[start + i] = run[i].row;
+		}
+	}
+
+	/**
+	 * Appends the rows that pass the filter from position offset up to offset +
+	 * limit to the report builder. Rows are checked with the log store's RowFilter
+	 * during the scan, lines are formatted from the fields of the log store, and
+	 * only rows on the page are formatted.
+	 * 
+	 * @param builder is report being built.
+	 * @param rows    is sorted row ids.
+	 * @param offset  is index of the first passing row to append.
+	 * @param limit   is maximum number of rows to append.
+	 * @param filter  is filter rows must pass, or null to append every row.
+	 */
+	private void appendRows(StringBuilder builder, int[] rows, int offset, int limit, LogFilter filter) {
+		LogStore store = activityLogManager.getLogStore();
+		RowFilter rowFilter = filter == null ? null : store.getRowFilter(filter);
+		// Without a filter, the page starts directly at offset.
+		int skipped = rowFilter == null ? offset : 0;
+		int appended = 0;
+		for (int i = skipped; i < rows.length && appended < limit; i++) {
+			int row = rows[i];
+			// Excluded rows are not counted toward the page.
+			if (rowFilter != null && !rowFilter.accept(row)) {
+				continue;
+			}
+			// Passing rows before the page are skipped without formatting.
+			if (skipped < offset) {
+				skipped++;
+				continue;
+			}
+			builder.append(INDENT);
+			builder.append(store.getUsername(row));
+			builder.append(", ");
+			builder.append(dateTimeFormat.format(store.getTimestamp(row)));
+			builder.append(", ");
+			builder.append(store.getAction(row));
+			builder.append(", ");
+			builder.append(store.getResource(row));
+			builder.append("\n");
+			appended++;
+		}
+	}
+
+	/**
+	 * Handles invalid report input, throwing if throwOnInvalidInput is set.
+	 * 
+	 * @param message is error message of the invalid input.
+	 * @return the message, if throwOnInvalidInput is not set.
+	 * @throws InvalidReportException if throwOnInvalidInput is set.
+	 */
+	private String invalid(String message) {
+		if (throwOnInvalidInput) {
+			throw new InvalidReportException(message.trim());
+		}
+		return message;
+	}
+
+	/**
+	 * Pairs a row id with the LogEntry of the row, so rows can be ordered with
+	 * LogEntry's compareTo.
+	 * 
+	 * @author Michael Warstler (mwwarstl)
+	 */
+	private static class RowEntry implements Comparable<RowEntry> {
+
+		/** Id of the row */
+		private final int row;
+		/** Log entry of the row */
+		private final LogEntry entry;
+
+		/**
+		 * Constructs a RowEntry.
+		 * 
+		 * @param row   is id of the row.
+		 * @param entry is log entry of the row.
+		 */
+		RowEntry(int row, LogEntry entry) {
+			this.row = row;
+			this.entry = entry;
+		}
+
+		/**
+		 * Compares the log entries of the rows.
+		 * 
+		 * @param other is RowEntry to compare to.
+		 * @return result of comparing the log entries.
+		 */
+		@Override
+		public int compareTo(RowEntry other) {
+			return entry.compareTo(other.entry);
 		}
 	}
-}
\ No newline at end of file
+}
@@ -0,0 +1,18 @@
+package edu.ncsu.csc316.activity.manager;
+
+/**
+ * Interface for checking rows of a LogStore against a LogFilter during a scan.
+ * Each LogStore creates a RowFilter suited to how it stores rows.
+ * 
+ * @author Michael Warstler (mwwarstl)
+ */
+public interface RowFilter {
+
+	/**
+	 * Checks if a row passes the filter.
+	 * 
+	 * @param row is index of the row.
+	 * @return true if the row passes the filter.
+	 */
+	boolean accept(int row);
+}
@@ -0,0 +1,268 @@
+package edu.ncsu.csc316.activity.manager;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import edu.ncsu.csc316.activity.dsa.DSAFactory;
+import edu.ncsu.csc316.dsa.list.List;
+import edu.ncsu.csc316.dsa.map.Map;
+import edu.ncsu.csc316.dsa.map.Map.Entry;
+
+/**
+ * Class splits each user's log entries into sessions. Rows of a LogStore are
+ * partitioned by the store's user keys with a counting sort, then each user's rows are sorted
+ * by time and split into a new session wherever the time between entries is
+ * more than the inactivity gap. Users are independent, so groups of users are
+ * analyzed in parallel and their statistics merged.
+ * 
+ * @author Michael Warstler (mwwarstl)
+ */
+public class SessionAnalyzer {
+
+	/** Largest supported action sequence length */
+	public static final int MAX_SEQUENCE_LENGTH = 3;
+	/** Bits used for each action id in a packed action sequence */
+	private static final int ACTION_BITS = 21;
+	/** Separator between actions of a sequence */
+	private static final String SEQUENCE_SEPARATOR = " > ";
+
+	/** Log entries to analyze */
+	private LogStore logStore;
+	/** Largest number of seconds between entries of the same session */
+	private long inactivityGapSeconds;
+	/** Number of consecutive actions in each counted sequence */
+	private int sequenceLength;
+
+	/** Timestamp of each row in seconds */
+	private long[] times;
+	/** Action id of each row */
+	private int[] actionIds;
+	/** Action of each action id */
+	private String[] actionNames;
+	/** Rows grouped by user, each user's rows in one block */
+	private int[] rowsByUser;
+	/** Start of each user's block in rowsByUser, plus the end of the last */
+	private int[] userStarts;
+
+	/**
+	 * Constructs a SessionAnalyzer for the entries of a LogStore.
+	 * 
+	 * @param logStore             is log entries to analyze.
+	 * @param inactivityGapSeconds is largest number of seconds between entries of
+	 *                             the same session.
+	 * @param sequenceLength       is number of consecutive actions in each counted
+	 *                             sequence (1-3).
+	 * @throws IllegalArgumentException if the gap is negative or the sequence
+	 *                                  length is not 1-3.
+	 */
+	public SessionAnalyzer(LogStore logStore, long inactivityGapSeconds, int sequenceLength) {
+		if (inactivityGapSeconds < 0) {
+			throw new IllegalArgumentException("Inactivity gap cannot be negative");
+		}
+		if (sequenceLength < 1 || sequenceLength > MAX_SEQUENCE_LENGTH) {
+			throw new IllegalArgumentException("Sequence length must be between 1 and " + MAX_SEQUENCE_LENGTH);
+		}
+		this.logStore = logStore;
+		this.inactivityGapSeconds = inactivityGapSeconds;
+		this.sequenceLength = sequenceLength;
+	}
+
+	/**
+	 * Analyzes the sessions of every user, using a number of worker threads.
+	 * 
+	 * @param threads is number of worker threads.
+	 * @return statistics of all sessions.
+	 * @throws IllegalArgumentException if threads is less than 1.
+	 * @throws IllegalStateException    if a worker fails or is interrupted.
+	 */
+	public SessionStatistics analyze(int threads) {
+		if (threads < 1) {
+			throw new IllegalArgumentException("Number of threads must be > 0");
+		}
+		partitionByUser();
+		int users = userStarts.length - 1;
+
+		// Several groups per thread keep threads busy when user sizes vary.
+		int groups = Math.max(1, Math.min(users, threads * 4));
+		ExecutorService pool = Executors.newFixedThreadPool(threads);
+		try {
+			List<Future<SessionStatistics>> results = DSAFactory.getIndexedList();
+			for (int g = 0; g < groups; g++) {
+				final int first = (int) ((long) users * g / groups);
+				final int last = (int) ((long) users * (g + 1) / groups);
+				results.addLast(pool.submit(() -> analyzeUsers(first, last)));
+			}
+
+			SessionStatistics total = new SessionStatistics();
+			for (int i = 0; i < results.size(); i++) {
+				total.merge(results.get(i).get());
+			}
+			return total;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while analyzing sessions", e);
+		} catch (ExecutionException e) {
+			throw new IllegalStateException("Session analysis failed", e.getCause());
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+
+	/**
+	 * Reads the time, user key and action key of every row, and groups rows by
+	 * user with a counting sort so each user's rows are in one block. Keys index
+	 * arrays directly, so each action name is only read from the store once.
+	 */
+	private void partitionByUser() {
+		int n = logStore.size();
+		times = new long[n];
+		actionIds = new int[n];
+		int[] userIds = new int[n];
+		int users = 0;
+		int actions = 0;
+
+		for (int i = 0; i < n; i++) {
+			times[i] = logStore.getEpochSecond(i);
+			userIds[i] = logStore.getUserKey(i);
+			actionIds[i] = logStore.getActionKey(i);
+			users = Math.max(users, userIds[i] + 1);
+			actions = Math.max(actions, actionIds[i] + 1);
+		}
+		if (actions >= 1 << ACTION_BITS) {
+			throw new IllegalStateException("Too many distinct actions to count sequences");
+		}
+		actionNames = new String[actions];
+		for (int i = 0; i < n; i++) {
+			if (actionNames[actionIds[i]] == null) {
+				actionNames[actionIds[i]] = logStore.getAction(i);
+			}
+		}
+
+		// Count rows of each user, then convert counts to block starts.
+		userStarts = new int[users + 1];
+		for (int i = 0; i < n; i++) {
+			userStarts[userIds[i] + 1]++;
+		}
+		for (int u = 0; u < users; u++) {
+			userStarts[u + 1] += userStarts[u];
+		}
+		rowsByUser = new int[n];
+		int[] next = Arrays.copyOf(userStarts, users);
+		for (int i = 0; i < n; i++) {
+			rowsByUser[next[userIds[i]]++] = i;
+		}
+	}
+
+	/**
+	 * Splits the rows of a range of users into sessions and counts their
+	 * statistics. Runs on a worker thread and only reads shared arrays.
+	 * 
+	 * @param first is first user id of the range.
+	 * @param last  is user id after the end of the range.
+	 * @return statistics of the users' sessions.
+	 */
+	private SessionStatistics analyzeUsers(int first, int last) {
+		SessionStatistics stats = new SessionStatistics();
+		Map<Long, long[]> sequences = DSAFactory.getMap(null);
+
+		for (int u = first; u < last; u++) {
+			int start = userStarts[u];
+			int size = userStarts[u + 1] - start;
+			if (size == 0) {
+				continue;
+			}
+			stats.addUser();
+			int[] rows = sortByTime(start, size);
+
+			// Walk the user's rows in time order, closing a session at each gap.
+			int sessionStart = 0;
+			for (int j = 1; j <= size; j++) {
+				if (j == size || times[rows[j]] - times[rows[j - 1]] > inactivityGapSeconds) {
+					stats.addSession(j - sessionStart, times[rows[j - 1]] - times[rows[sessionStart]]);
+					countSequences(rows, sessionStart, j, sequences);
+					sessionStart = j;
+				}
+			}
+		}
+
+		// Convert packed sequences to action names.
+		Iterator<Entry<Long, long[]>> it = sequences.entrySet().iterator();
+		while (it.hasNext()) {
+			Entry<Long, long[]> entry = it.next();
+			stats.addSequence(unpackSequence(entry.getKey()), entry.getValue()[0]);
+		}
+		return stats;
+	}
+
+	/**
+	 * Sorts a user's rows by time. Each row is packed as its time offset times the
+	 * block size plus its position, so sorting primitive longs orders rows by time
+	 * and keeps log order for equal times.
+	 * 
+	 * @param start is start of the user's block in rowsByUser.
+	 * @param size  is number of rows of the user.
+	 * @return the user's rows in time order.
+	 */
+	private int[] sortByTime(int start, int size) {
+		long minTime = Long.MAX_VALUE;
+		for (int j = 0; j < size; j++) {
+			minTime = Math.min(minTime, times[rowsByUser[start + j]]);
+		}
+		long[] packed = new long[size];
+		for (int j = 0; j < size; j++) {
+			long offset = times[rowsByUser[start + j]] - minTime;
+			packed[j] = Math.addExact(Math.multiplyExact(offset, (long) size), j);
+		}
+		Arrays.sort(packed);
+		int[] rows = new int[size];
+		for (int j = 0; j < size; j++) {
+			rows[j] = rowsByUser[start + (int) (packed[j] % size)];
+		}
+		return rows;
+	}
+
+	/**
+	 * Counts every run of sequenceLength consecutive actions within a session.
+	 * 
+	 * @param rows      is the user's rows in time order.
+	 * @param from      is index of the session's first row.
+	 * @param to        is index after the session's last row.
+	 * @param sequences is map of packed sequence to its count.
+	 */
+	private void countSequences(int[] rows, int from, int to, Map<Long, long[]> sequences) {
+		for (int j = from; j + sequenceLength <= to; j++) {
+			long key = 0;
+			for (int k = 0; k < sequenceLength; k++) {
+				key = (key << ACTION_BITS) | actionIds[rows[j + k]];
+			}
+			long[] count = sequences.get(key);
+			if (count == null) {
+				sequences.put(key, new long[] { 1 });
+			} else {
+				count[0]++;
+			}
+		}
+	}
+
+	/**
+	 * Converts a packed sequence of action ids to its actions separated by " > ".
+	 * 
+	 * @param key is packed sequence.
+	 * @return actions of the sequence.
+	 */
+	private String unpackSequence(long key) {
+		long mask = (1L << ACTION_BITS) - 1;
+		StringBuilder builder = new StringBuilder();
+		for (int k = sequenceLength - 1; k >= 0; k--) {
+			builder.append(actionNames[(int) ((key >>> (k * ACTION_BITS)) & mask)]);
+			if (k > 0) {
+				builder.append(SEQUENCE_SEPARATOR);
+			}
+		}
+		return builder.toString();
+	}
+}
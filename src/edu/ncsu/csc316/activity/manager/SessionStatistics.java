@@ -0,0 +1,173 @@
+package edu.ncsu.csc316.activity.manager;
+
+import java.util.Iterator;
+
+import edu.ncsu.csc316.activity.dsa.DSAFactory;
+import edu.ncsu.csc316.dsa.data.Activity;
+import edu.ncsu.csc316.dsa.list.List;
+import edu.ncsu.csc316.dsa.map.Map;
+import edu.ncsu.csc316.dsa.map.Map.Entry;
+import edu.ncsu.csc316.dsa.sorter.Sorter;
+
+/**
+ * Class holds the results of splitting each user's log entries into sessions:
+ * the number of sessions, the distribution of session lengths, and the counts
+ * of action sequences (n-grams) performed within sessions. Statistics of
+ * separate groups of users are combined with merge.
+ * 
+ * @author Michael Warstler (mwwarstl)
+ */
+public class SessionStatistics {
+
+	/** Session lengths of this many entries or more share the last bucket */
+	public static final int MAX_LENGTH_BUCKET = 50;
+
+	/** Number of users with at least one session */
+	private long userCount;
+	/** Number of sessions */
+	private long sessionCount;
+	/** Total seconds between the first and last entry of every session */
+	private long totalDurationSeconds;
+	/** Number of sessions with each number of entries (index 1 and up) */
+	private long[] lengthCounts = new long[MAX_LENGTH_BUCKET + 1];
+	/** Number of times each action sequence was performed */
+	private Map<String, Long> sequenceCounts = DSAFactory.getMap(null);
+
+	/**
+	 * Records a user with at least one session.
+	 */
+	void addUser() {
+		userCount++;
+	}
+
+	/**
+	 * Records a session.
+	 * 
+	 * @param entries         is number of entries in the session.
+	 * @param durationSeconds is seconds between the first and last entry.
+	 */
+	void addSession(int entries, long durationSeconds) {
+		sessionCount++;
+		totalDurationSeconds += durationSeconds;
+		lengthCounts[Math.min(entries, MAX_LENGTH_BUCKET)]++;
+	}
+
+	/**
+	 * Records occurrences of an action sequence.
+	 * 
+	 * @param sequence is actions of the sequence, separated by " > ".
+	 * @param count    is number of times the sequence was performed.
+	 */
+	void addSequence(String sequence, long count) {
+		Long current = sequenceCounts.get(sequence);
+		sequenceCounts.put(sequence, current == null ? count : current + count);
+	}
+
+	/**
+	 * Adds the statistics of another group of users to these statistics.
+	 * 
+	 * @param other is statistics to merge into these.
+	 */
+	void merge(SessionStatistics other) {
+		userCount += other.userCount;
+		sessionCount += other.sessionCount;
+		totalDurationSeconds += other.totalDurationSeconds;
+		for (int i = 0; i < lengthCounts.length; i++) {
+			lengthCounts[i] += other.lengthCounts[i];
+		}
+		Iterator<Entry<String, Long>> it = other.sequenceCounts.entrySet().iterator();
+		while (it.hasNext()) {
+			Entry<String, Long> entry = it.next();
+			addSequence(entry.getKey(), entry.getValue());
+		}
+	}
+
+	/**
+	 * Gets the number of users with at least one session.
+	 * 
+	 * @return the userCount
+	 */
+	public long getUserCount() {
+		return userCount;
+	}
+
+	/**
+	 * Gets the number of sessions.
+	 * 
+	 * @return the sessionCount
+	 */
+	public long getSessionCount() {
+		return sessionCount;
+	}
+
+	/**
+	 * Gets the number of sessions with a number of entries. Sessions with
+	 * MAX_LENGTH_BUCKET or more entries are all counted under MAX_LENGTH_BUCKET.
+	 * 
+	 * @param entries is number of entries per session (1 or more).
+	 * @return number of sessions with that many entries.
+	 */
+	public long getSessionLengthCount(int entries) {
+		if (entries < 1) {
+			return 0;
+		}
+		return lengthCounts[Math.min(entries, MAX_LENGTH_BUCKET)];
+	}
+
+	/**
+	 * Gets the average seconds between the first and last entry of a session.
+	 * 
+	 * @return average session duration in seconds, or 0 if there are no sessions.
+	 */
+	public double getAverageSessionSeconds() {
+		return sessionCount == 0 ? 0 : (double) totalDurationSeconds / sessionCount;
+	}
+
+	/**
+	 * Gets the number of times an action sequence was performed within sessions.
+	 * 
+	 * @param sequence is actions of the sequence, separated by " > ".
+	 * @return number of times the sequence was performed.
+	 */
+	public long getSequenceCount(String sequence) {
+		Long count = sequenceCounts.get(sequence);
+		return count == null ? 0 : count;
+	}
+
+	/**
+	 * Returns a List of the most common N action sequences in the format
+	 * "count: action > action", ordered by descending count and then
+	 * alphabetically.
+	 * 
+	 * @param number is number of sequences that should appear in the list.
+	 * @return List of the most common N action sequences.
+	 * @throws IllegalStateException if a sequence was performed more than
+	 *                               Integer.MAX_VALUE times, since its count
+	 *                               cannot be sorted as an Activity.
+	 */
+	public List<String> getTopSequences(int number) {
+		// Sequences sort the same way as activities.
+		Activity[] sequences = new Activity[sequenceCounts.size()];
+		Iterator<Entry<String, Long>> it = sequenceCounts.entrySet().iterator();
+		int i = 0;
+		while (it.hasNext()) {
+			Entry<String, Long> entry = it.next();
+			// A clamped count would sort and print wrong, so reject it.
+			if (entry.getValue() > Integer.MAX_VALUE) {
+				throw new IllegalStateException("Sequence " + entry.getKey() + " was performed more than "
+						+ Integer.MAX_VALUE + " times");
+			}
+			sequences[i] = new Activity((int) (long) entry.getValue(), entry.getKey());
+			i++;
+		}
+		Sorter<Activity> s = DSAFactory.getComparisonSorter(null);
+		s.sort(sequences);
+
+		List<String> topSequences = DSAFactory.getIndexedList();
+		int bounds = number > sequences.length ? sequences.length : number;
+		for (int j = 0; j < bounds; j++) {
+			topSequences.addLast(sequences[j].getDescription());
+		}
+		return topSequences;
+	}
+}
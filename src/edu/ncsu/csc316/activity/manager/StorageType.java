@@ -0,0 +1,16 @@
+package edu.ncsu.csc316.activity.manager;
+
+/**
+ * Types of storage used by UserActivityLogManager to hold loaded log entries.
+ * 
+ * @author Michael Warstler (mwwarstl)
+ */
+public enum StorageType {
+	/** Log entries are kept as a List of LogEntry objects on the heap */
+	HEAP,
+	/**
+	 * Log entry fields are kept in columns and string dictionaries in direct
+	 * (off-heap) buffers, with only small handles on the heap
+	 */
+	OFF_HEAP
+}
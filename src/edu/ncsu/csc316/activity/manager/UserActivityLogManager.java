@@ -1,14 +1,27 @@
 package edu.ncsu.csc316.activity.manager;
 
+import java.io.BufferedReader;
 import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.Iterator;
+import java.util.function.LongFunction;
 import edu.ncsu.csc316.activity.data.LogEntry;
 import edu.ncsu.csc316.activity.dsa.Algorithm;
 import edu.ncsu.csc316.activity.dsa.DSAFactory;
 import edu.ncsu.csc316.activity.dsa.DataStructure;
-import edu.ncsu.csc316.activity.io.LogEntryReader;
+import edu.ncsu.csc316.activity.stream.CompressedLogInput;
+import edu.ncsu.csc316.activity.stream.LoadStatistics;
+import edu.ncsu.csc316.activity.stream.LogLineParser;
+import edu.ncsu.csc316.activity.stream.ParallelLogLoader;
 import edu.ncsu.csc316.dsa.data.Activity;
+import edu.ncsu.csc316.dsa.data.Anomaly;
+import edu.ncsu.csc316.dsa.data.DistinctCounter;
+import edu.ncsu.csc316.dsa.data.ExactDistinctCounter;
+import edu.ncsu.csc316.dsa.data.HyperLogLog;
+import edu.ncsu.csc316.dsa.data.TimeBucketCounter;
 import edu.ncsu.csc316.dsa.list.List;
 import edu.ncsu.csc316.dsa.map.Map;
 import edu.ncsu.csc316.dsa.map.Map.Entry;
@@ -16,19 +29,45 @@ import edu.ncsu.csc316.dsa.sorter.Sorter;
 
 /**
  * Class builds maps and lists of entries based on frequency of activity, date
- * of activity, or hour of activity. Activities are initially logged through the
- * LogEntryReader.
+ * of activity, or hour of activity. Activities are initially loaded from a file
+ * one line at a time, straight into the log store.
  * 
  * @author Michael Warstler (mwwarstl)
  */
 public class UserActivityLogManager {
 
-	/** List of log entries */
-	private List<LogEntry> logList;
+	/** Seconds in an hour */
+	private static final long SECONDS_PER_HOUR = 3600L;
+	/** Seconds in a day */
+	private static final long SECONDS_PER_DAY = 86400L;
+	/** Hours in a day */
+	private static final long HOURS_PER_DAY = 24L;
+	/** Storage of log entries */
+	private LogStore logStore;
+	/** Statistics of loading the file, or null if not loaded by a ParallelLogLoader */
+	private LoadStatistics loadStatistics;
+	/** Activity counts per day and hour, built on first range request and kept up to date */
+	private ActivityRollup rollup;
 	/** Time formatter for Month/Day/Year formatting. */
 	private final DateTimeFormatter dateFormat = DateTimeFormatter.ofPattern("MM/dd/yyyy");
 	/** Time formatter for hours:minutes:seconds. */
 	private final DateTimeFormatter timeFormat = DateTimeFormatter.ofPattern("HH:mm:ssa");
+	/** Activities sorted by frequency, built on first top activities request */
+	private Activity[] sortedActivities;
+	/** Number of changes made to the log since it was loaded */
+	private int modificationCount;
+	/** Mode for counting distinct users during the frequency scan */
+	private DistinctCountMode distinctUserMode = DistinctCountMode.OFF;
+	/** Distinct users of each activity, built with sortedActivities */
+	private Map<String, DistinctCounter> activityUsers;
+	/** Distinct users on each date (MM/DD/YYYY), built with sortedActivities */
+	private Map<String, DistinctCounter> dateUsers;
+	/** Distinct users during each hour, built with sortedActivities */
+	private Map<Integer, DistinctCounter> hourUsers;
+	/** Whether the frequency scan also counts each activity per hour */
+	private boolean countActivityHours;
+	/** Entries of each activity per hour since the epoch, built with sortedActivities */
+	private Map<String, TimeBucketCounter> activityHours;
 
 	/**
 	 * Constructs a UserActivityLogManager using the parameter location for a file
@@ -58,13 +97,394 @@ public class UserActivityLogManager {
 	 *                               reading.
 	 */
 	public UserActivityLogManager(String pathToFile, DataStructure mapType) throws FileNotFoundException {
+		this(pathToFile, mapType, StorageType.HEAP);
+	}
+
+	/**
+	 * Constructs a UserActivityLogManager using the parameter location for a file
+	 * of log entries, and the parameter storage type to hold the loaded entries.
+	 * Each line is parsed and added to the storage as it is read, so no List of
+	 * the whole file is built. HEAP keeps the LogEntries. OFF_HEAP copies each
+	 * entry into columns in direct buffers, so the LogEntry can be garbage
+	 * collected right after it is added. Gzip and BGZF compressed files are
+	 * decompressed while loading.
+	 * 
+	 * @param pathToFile  is string representation of filename containing log
+	 *                    entries.
+	 * @param mapType     is Map ADT type to use.
+	 * @param storageType is type of storage to hold the loaded entries.
+	 * @throws FileNotFoundException if file cannot be located or has error during
+	 *                               reading.
+	 */
+	public UserActivityLogManager(String pathToFile, DataStructure mapType, StorageType storageType)
+			throws FileNotFoundException {
+		setFactoryTypes(mapType);
+
+		// Load entries from file path.
+		logStore = createLogStore(storageType);
+		loadLogEntries(pathToFile, logStore);
+	}
+
+	/**
+	 * Constructs a UserActivityLogManager by loading the file with a
+	 * ParallelLogLoader. Lines that cannot be parsed are rejected and collected as
+	 * errors instead of stopping the load, up to the loader's error budget. Gzip
+	 * and BGZF compressed files are decompressed while loading, without a
+	 * temporary file. The statistics of the load are available from
+	 * getLoadStatistics.
+	 * 
+	 * @param pathToFile  is string representation of filename containing log
+	 *                    entries.
+	 * @param mapType     is Map ADT type to use.
+	 * @param storageType is type of storage to hold the loaded entries.
+	 * @param loader      is loader used to parse the file.
+	 * @throws FileNotFoundException                             if file cannot be
+	 *                                                           located.
+	 * @throws edu.ncsu.csc316.activity.stream.LogLoadException if more rows are
+	 *                                                           rejected than the
+	 *                                                           error budget.
+	 * @throws IOException                                       if there is an
+	 *                                                           error during
+	 *                                                           reading.
+	 */
+	public UserActivityLogManager(String pathToFile, DataStructure mapType, StorageType storageType,
+			ParallelLogLoader loader) throws IOException {
+		setFactoryTypes(mapType);
+
+		// Load entries from file path, keeping statistics of the load.
+		logStore = createLogStore(storageType);
+		loadStatistics = loader.load(pathToFile, logStore::add);
+	}
+
+	/**
+	 * Sets the default List, sorters, and map type used to build reports.
+	 * 
+	 * @param mapType is Map ADT type to use.
+	 */
+	private static void setFactoryTypes(DataStructure mapType) {
 		DSAFactory.setListType(DataStructure.ARRAYBASEDLIST); // Specify your default list data structure type
 		DSAFactory.setComparisonSorterType(Algorithm.MERGESORT); // Specify your default comparison sorter type
 		DSAFactory.setNonComparisonSorterType(Algorithm.COUNTING_SORT); // Specify you default non-comparison sorter
 		DSAFactory.setMapType(mapType);
+	}
 
-		// Load entries from file path.
-		logList = LogEntryReader.loadLogEntries(pathToFile);
+	/**
+	 * Creates the empty storage of the loaded entries.
+	 * 
+	 * @param storageType is type of storage to hold the loaded entries.
+	 * @return empty storage for the entries.
+	 */
+	private static LogStore createLogStore(StorageType storageType) {
+		if (storageType == StorageType.OFF_HEAP) {
+			return new OffHeapLogStore();
+		}
+		List<LogEntry> logList = DSAFactory.getIndexedList();
+		return new HeapLogStore(logList);
+	}
+
+	/**
+	 * Loads the entries of a log entry file into a log store, one line at a time.
+	 * The header line and blank lines are skipped. Gzip and BGZF compressed files
+	 * are decompressed while they are read, with BGZF blocks inflated on one
+	 * thread per processor.
+	 * 
+	 * @param pathToFile is string representation of filename containing log
+	 *                   entries.
+	 * @param store      is log store the entries are added to.
+	 * @throws FileNotFoundException    if file cannot be located or has error
+	 *                                  during reading.
+	 * @throws IllegalArgumentException if a line cannot be parsed.
+	 */
+	private static void loadLogEntries(String pathToFile, LogStore store) throws FileNotFoundException {
+		LogLineParser parser = new LogLineParser();
+		try (BufferedReader reader = new BufferedReader(
+				CompressedLogInput.open(pathToFile, Runtime.getRuntime().availableProcessors()))) {
+			String line = reader.readLine();
+			// Skip the header line.
+			if (line != null && parser.isHeader(line)) {
+				line = reader.readLine();
+			}
+			while (line != null) {
+				if (!line.trim().isEmpty()) {
+					store.add(parser.parse(line));
+				}
+				line = reader.readLine();
+			}
+		} catch (FileNotFoundException e) {
+			throw e;
+		} catch (IOException e) {
+			FileNotFoundException notRead = new FileNotFoundException(
+					pathToFile + " could not be read: " + e.getMessage());
+			notRead.initCause(e);
+			throw notRead;
+		}
+	}
+
+	/**
+	 * Gets the statistics of loading the file with a ParallelLogLoader.
+	 * 
+	 * @return the loadStatistics, or null if the file was not loaded by a
+	 *         ParallelLogLoader.
+	 */
+	public LoadStatistics getLoadStatistics() {
+		return loadStatistics;
+	}
+
+	/**
+	 * Adds a log entry to the end of the log. Cached results built from the log are
+	 * discarded and the modification count is increased so that users of the log,
+	 * such as ReportManager, can tell the log has changed.
+	 * 
+	 * @param entry is log entry to add.
+	 */
+	public synchronized void addLogEntry(LogEntry entry) {
+		logStore.add(entry);
+		// A built rollup is kept up to date instead of being rebuilt.
+		if (rollup != null) {
+			rollup.add(logStore.size() - 1);
+		}
+		clearActivityCounts();
+		modificationCount++;
+	}
+
+	/**
+	 * Sets the mode for counting distinct users per activity, date and hour.
+	 * Distinct users are counted during the same scan that counts activity
+	 * frequencies. EXACT keeps every distinct username, while HYPERLOGLOG keeps a
+	 * fixed-size sketch per activity, date and hour. Changing the mode discards
+	 * the current counts.
+	 * 
+	 * @param mode is mode for counting distinct users.
+	 * @throws IllegalArgumentException if mode is null.
+	 */
+	public synchronized void setDistinctUserMode(DistinctCountMode mode) {
+		if (mode == null) {
+			throw new IllegalArgumentException("Distinct user mode cannot be null");
+		}
+		distinctUserMode = mode;
+		clearActivityCounts();
+	}
+
+	/**
+	 * Gets the mode for counting distinct users per activity, date and hour.
+	 * 
+	 * @return the distinctUserMode
+	 */
+	public synchronized DistinctCountMode getDistinctUserMode() {
+		return distinctUserMode;
+	}
+
+	/**
+	 * Returns a Map of each unique activity (action resource) to the counter of
+	 * distinct users that performed it. The map and counters are copies, so they
+	 * can be merged to count distinct users across activities without changing
+	 * later results.
+	 * 
+	 * @return Map of activity to distinct user counter.
+	 * @throws IllegalStateException if distinct user mode is OFF.
+	 */
+	public synchronized Map<String, DistinctCounter> getDistinctUsersByActivity() {
+		countDistinctUsers();
+		return copyCounters(activityUsers);
+	}
+
+	/**
+	 * Returns a Map of each unique date (MM/DD/YYYY) to the counter of distinct
+	 * users active on that date. The map and counters are copies.
+	 * 
+	 * @return Map of date to distinct user counter.
+	 * @throws IllegalStateException if distinct user mode is OFF.
+	 */
+	public synchronized Map<String, DistinctCounter> getDistinctUsersByDate() {
+		countDistinctUsers();
+		return copyCounters(dateUsers);
+	}
+
+	/**
+	 * Returns a Map of each hour of the day (0-23) to the counter of distinct
+	 * users active during that hour. The map and counters are copies.
+	 * 
+	 * @return Map of hour to distinct user counter.
+	 * @throws IllegalStateException if distinct user mode is OFF.
+	 */
+	public synchronized Map<Integer, DistinctCounter> getDistinctUsersByHour() {
+		countDistinctUsers();
+		return copyCounters(hourUsers);
+	}
+
+	/**
+	 * Copies a map of distinct user counters and each of its counters.
+	 * 
+	 * @param <K>      is type of key.
+	 * @param counters is map of counters to copy.
+	 * @return the copy.
+	 */
+	private static <K extends Comparable<K>> Map<K, DistinctCounter> copyCounters(Map<K, DistinctCounter> counters) {
+		Map<K, DistinctCounter> copy = DSAFactory.getMap(null);
+		Iterator<Entry<K, DistinctCounter>> it = counters.entrySet().iterator();
+		while (it.hasNext()) {
+			Entry<K, DistinctCounter> entry = it.next();
+			copy.put(entry.getKey(), entry.getValue().copy());
+		}
+		return copy;
+	}
+
+	/**
+	 * Returns a List of the most frequently performed N user activities, each
+	 * followed by the number of distinct users that performed it, in the format
+	 * "frequency: action resource (users users)".
+	 * 
+	 * @param number is number of activities that should appear in the list.
+	 * @return List of most frequently performed N activities with distinct users.
+	 * @throws IllegalStateException if distinct user mode is OFF.
+	 */
+	public synchronized List<String> getTopActivitiesWithDistinctUsers(int number) {
+		countDistinctUsers();
+		Activity[] activities = getSortedActivities();
+		List<String> sortedFrequencyList = DSAFactory.getIndexedList();
+		int bounds = number > activities.length ? activities.length : number;
+		for (int j = 0; j < bounds; j++) {
+			StringBuilder builder = new StringBuilder(activities[j].getDescription());
+			builder.append(" (");
+			builder.append(activityUsers.get(activities[j].getName()).count());
+			builder.append(" users)");
+			sortedFrequencyList.addLast(builder.toString());
+		}
+		return sortedFrequencyList;
+	}
+
+	/**
+	 * Runs the frequency scan if the distinct user counters have not been built.
+	 * 
+	 * @throws IllegalStateException if distinct user mode is OFF.
+	 */
+	private void countDistinctUsers() {
+		if (distinctUserMode == DistinctCountMode.OFF) {
+			throw new IllegalStateException("Distinct user counting is off");
+		}
+		if (activityUsers == null) {
+			sortedActivities = countActivities(null);
+		}
+	}
+
+	/**
+	 * Returns a Map of each unique activity (action resource) to its number of
+	 * entries per hour since the epoch. The map and counters are copies.
+	 * 
+	 * @return Map of activity to hourly counts.
+	 */
+	public synchronized Map<String, TimeBucketCounter> getActivityHourCounts() {
+		countActivityHours();
+		Map<String, TimeBucketCounter> copy = DSAFactory.getMap(null);
+		Iterator<Entry<String, TimeBucketCounter>> it = activityHours.entrySet().iterator();
+		while (it.hasNext()) {
+			Entry<String, TimeBucketCounter> entry = it.next();
+			copy.put(entry.getKey(), entry.getValue().copy());
+		}
+		return copy;
+	}
+
+	/**
+	 * Runs the frequency scan if the hourly counts have not been built. Hourly
+	 * counts are only kept once they are first requested, so the first request
+	 * turns on hourly counting and scans the whole log again even if the top
+	 * activities were already counted. That scan also rebuilds the sorted
+	 * activities, and later scans keep the hourly counts in the same pass, so the
+	 * extra scan only happens once per log.
+	 */
+	private void countActivityHours() {
+		if (!countActivityHours || activityHours == null) {
+			countActivityHours = true;
+			sortedActivities = countActivities(null);
+		}
+	}
+
+	/**
+	 * Returns a List of the N largest spikes in activity counts, in the format
+	 * "score: action resource at time (count entries, baseline mean)", such as
+	 * "19.00: delete doc at 01/03/1970 02:00AM (20 entries, baseline 1.00)". Counts
+	 * per hour or date are compared to a moving baseline of the activity's earlier
+	 * counts, and the score is the number of standard deviations above it. The
+	 * first request scans the log once more to count activities per hour.
+	 * 
+	 * @param size      is size of the time buckets, HOUR or DATE.
+	 * @param threshold is smallest score of a reported spike.
+	 * @param number    is number of spikes that should appear in the list.
+	 * @return List of the N highest scoring spikes.
+	 * @throws IllegalArgumentException if threshold is negative.
+	 */
+	public synchronized List<String> getActivityAnomalies(BucketSize size, double threshold, int number) {
+		AnomalyDetector detector = new AnomalyDetector(threshold);
+		countActivityHours();
+		Anomaly[] anomalies = detector.detect(activityHours, size);
+		List<String> anomalyList = DSAFactory.getIndexedList();
+		int bounds = number > anomalies.length ? anomalies.length : number;
+		for (int j = 0; j < bounds; j++) {
+			anomalyList.addLast(anomalies[j].getDescription());
+		}
+		return anomalyList;
+	}
+
+	/**
+	 * Discards sorted activities, distinct user counters and hourly counts so they
+	 * are rebuilt on the next request.
+	 */
+	private void clearActivityCounts() {
+		sortedActivities = null;
+		activityUsers = null;
+		dateUsers = null;
+		hourUsers = null;
+		activityHours = null;
+	}
+
+	/**
+	 * Gets the counter for a key of a map, adding a new counter for the distinct
+	 * user mode if the key has none.
+	 * 
+	 * @param <K>      is type of key.
+	 * @param counters is map of counters.
+	 * @param key      is key of the counter.
+	 * @return the counter of the key.
+	 */
+	private <K> DistinctCounter getCounter(Map<K, DistinctCounter> counters, K key) {
+		DistinctCounter counter = counters.get(key);
+		if (counter == null) {
+			if (distinctUserMode == DistinctCountMode.EXACT) {
+				counter = new ExactDistinctCounter();
+			} else {
+				counter = new HyperLogLog();
+			}
+			counters.put(key, counter);
+		}
+		return counter;
+	}
+
+	/**
+	 * Gets the number of changes made to the log since it was loaded.
+	 * 
+	 * @return the modificationCount
+	 */
+	public synchronized int getModificationCount() {
+		return modificationCount;
+	}
+
+	/**
+	 * Splits each user's entries into sessions and counts session statistics and
+	 * action sequences. A new session starts when more than inactivityGapSeconds
+	 * pass between a user's entries. Users are analyzed in parallel, one worker
+	 * per available processor.
+	 * 
+	 * @param inactivityGapSeconds is largest number of seconds between entries of
+	 *                             the same session.
+	 * @param sequenceLength       is number of consecutive actions in each counted
+	 *                             sequence (1-3).
+	 * @return statistics of all sessions in the log.
+	 * @throws IllegalArgumentException if the gap is negative or the sequence
+	 *                                  length is not 1-3.
+	 */
+	public synchronized SessionStatistics getSessionStatistics(long inactivityGapSeconds, int sequenceLength) {
+		SessionAnalyzer analyzer = new SessionAnalyzer(logStore, inactivityGapSeconds, sequenceLength);
+		return analyzer.analyze(Runtime.getRuntime().availableProcessors());
 	}
 
 	/**
@@ -77,17 +497,157 @@ public class UserActivityLogManager {
 	 *         empty list if log contains no entries.
 	 */
 	public List<String> getTopActivities(int number) {
+		return getTopActivities(0, number);
+	}
+
+	/**
+	 * Returns a page of the List of most frequently performed user activities in
+	 * the input log entry file. Activities are counted and sorted once, on the
+	 * first request, and later pages are taken from the same sorted array.
+	 * 
+	 * @param offset is index of the first activity that should appear in the list.
+	 * @param limit  is maximum number of activities that should appear in the list.
+	 * @return List of at most limit activities starting at offset, or empty list if
+	 *         log contains no entries or offset is past the last activity.
+	 */
+	public List<String> getTopActivities(int offset, int limit) {
+		Activity[] activities = getSortedActivities();
+		List<String> sortedFrequencyList = DSAFactory.getIndexedList();
+
+		// Can only create list as long as number of unique entries. Check parameters to
+		// avoid index out of bounds.
+		int start = offset < 0 ? 0 : offset;
+		int end = limit > activities.length - start ? activities.length : start + limit;
+
+		// Place activities string representation into the return list.
+		for (int j = start; j < end; j++) {
+			sortedFrequencyList.addLast(activities[j].getDescription());
+		}
+		return sortedFrequencyList;
+	}
+
+	/**
+	 * Gets the array of all unique activities sorted by descending frequency and
+	 * ascending description. The array is built on the first call and reused.
+	 * 
+	 * @return sorted array of all unique activities in the log.
+	 */
+	private synchronized Activity[] getSortedActivities() {
+		if (sortedActivities == null) {
+			sortedActivities = countActivities(null);
+		}
+		return sortedActivities;
+	}
+
+	/**
+	 * Returns a List of the most frequently performed N user activities among the
+	 * log entries that pass the filter. Entries excluded by the filter are skipped
+	 * during the scan and never counted.
+	 * 
+	 * @param number is number of activities that should appear in the list.
+	 * @param filter is filter log entries must pass to be counted, or null to
+	 *               count every entry.
+	 * @return List of most frequently performed N user activities that pass the
+	 *         filter, or empty list if no entries pass.
+	 */
+	public List<String> getTopActivities(int number, LogFilter filter) {
+		if (filter == null) {
+			return getTopActivities(number);
+		}
+		Activity[] activities = countActivities(filter);
+		List<String> sortedFrequencyList = DSAFactory.getIndexedList();
+		int bounds = number > activities.length ? activities.length : number;
+		for (int j = 0; j < bounds; j++) {
+			sortedFrequencyList.addLast(activities[j].getDescription());
+		}
+		return sortedFrequencyList;
+	}
+
+	/**
+	 * Returns a List of the most frequently performed N user activities on the
+	 * dates from one date through another. Counts are merged from the daily rollup
+	 * tables instead of scanning entries, and match a scan of the same dates. The
+	 * rollup tables are built by the first range request.
+	 * 
+	 * @param from   is first date of the range.
+	 * @param to     is last date of the range.
+	 * @param number is number of activities that should appear in the list.
+	 * @return List of most frequently performed N activities in the range, or
+	 *         empty list if no entries are in the range.
+	 */
+	public List<String> getTopActivities(LocalDate from, LocalDate to, int number) {
+		return getTopActivities(from.atStartOfDay(), to.plusDays(1).atStartOfDay(), number);
+	}
+
+	/**
+	 * Returns a List of the most frequently performed N user activities from a
+	 * start time up to, but not including, an end time. Both times are rounded
+	 * down to the hour. Counts are merged from the hourly rollup tables for
+	 * partial days at each end and the daily tables for the whole days between.
+	 * 
+	 * @param start  is start of the range.
+	 * @param end    is end of the range.
+	 * @param number is number of activities that should appear in the list.
+	 * @return List of most frequently performed N activities in the range, or
+	 *         empty list if no entries are in the range.
+	 */
+	public synchronized List<String> getTopActivities(LocalDateTime start, LocalDateTime end, int number) {
+		if (rollup == null) {
+			rollup = new ActivityRollup(logStore);
+		}
+		Map<String, Integer> counts = rollup.count(ActivityRollup.getHour(start), ActivityRollup.getHour(end));
+		Activity[] activities = getMapAsSortedArray(counts);
+		List<String> sortedFrequencyList = DSAFactory.getIndexedList();
+		int bounds = number > activities.length ? activities.length : number;
+		for (int j = 0; j < bounds; j++) {
+			sortedFrequencyList.addLast(activities[j].getDescription());
+		}
+		return sortedFrequencyList;
+	}
+
+	/**
+	 * Counts the frequency of each unique activity among the log entries that pass
+	 * the filter, and sorts the activities by descending frequency and ascending
+	 * description.
+	 * 
+	 * @param filter is filter log entries must pass to be counted, or null to
+	 *               count every entry.
+	 * @return sorted array of the unique activities.
+	 */
+	private Activity[] countActivities(LogFilter filter) {
+		RowFilter rowFilter = filter == null ? null : logStore.getRowFilter(filter);
+
+		// Distinct users are only counted for the unfiltered scan.
+		boolean countUsers = filter == null && distinctUserMode != DistinctCountMode.OFF;
+		Map<String, DistinctCounter> activityUserMap = null;
+		Map<String, DistinctCounter> dateUserMap = null;
+		Map<Integer, DistinctCounter> hourUserMap = null;
+		if (countUsers) {
+			activityUserMap = DSAFactory.getMap(null);
+			dateUserMap = DSAFactory.getMap(null);
+			hourUserMap = DSAFactory.getMap(null);
+		}
+
+		// Hourly counts are only kept for the unfiltered scan.
+		boolean countHours = filter == null && countActivityHours;
+		Map<String, TimeBucketCounter> activityHourMap = countHours ? DSAFactory.getMap(null) : null;
+
 		// Create map to store Activities.
 		// Key = String of activity = action resource\n
 		// Value = frequency of that activity.
 		Map<String, Integer> frequencyMap = DSAFactory.getMap(null);
 
 		// Go through log entries and track frequencies of entries with same activity.
-		for (int i = 0; i < logList.size(); i++) {
+		for (int i = 0; i < logStore.size(); i++) {
+			// Skip rows excluded by the filter before building their activity.
+			if (rowFilter != null && !rowFilter.accept(i)) {
+				continue;
+			}
+
 			// Create String for activity action + resource.
-			StringBuilder builder = new StringBuilder(logList.get(i).getAction());
+			StringBuilder builder = new StringBuilder(logStore.getAction(i));
 			builder.append(" ");
-			builder.append(logList.get(i).getResource());
+			builder.append(logStore.getResource(i));
 			//builder.append("\n");
 			String activity = builder.toString();
 
@@ -111,23 +671,50 @@ public class UserActivityLogManager {
 					frequencyMap.put(activity, activityFrequency + 1);
 				}
 			}
+
+			// Add the user to the distinct users of the activity, date and hour.
+			if (countUsers) {
+				String username = logStore.getUsername(i);
+				LocalDateTime timestamp = logStore.getTimestamp(i);
+				getCounter(activityUserMap, activity).add(username);
+				getCounter(dateUserMap, timestamp.format(dateFormat)).add(username);
+				getCounter(hourUserMap, timestamp.getHour()).add(username);
+			}
+
+			// Add the entry to the activity's count for its hour.
+			if (countHours) {
+				TimeBucketCounter hours = activityHourMap.get(activity);
+				if (hours == null) {
+					hours = new TimeBucketCounter();
+					activityHourMap.put(activity, hours);
+				}
+				hours.add(Math.floorDiv(logStore.getEpochSecond(i), SECONDS_PER_HOUR));
+			}
+		}
+
+		if (countUsers) {
+			activityUsers = activityUserMap;
+			dateUsers = dateUserMap;
+			hourUsers = hourUserMap;
+		}
+		if (countHours) {
+			activityHours = activityHourMap;
 		}
 
 		// Unique activities with corresponding frequencies now in frequencyMap. Convert
-		// to list of Strings sorted in proper format.
-		return getMapAsSortedList(frequencyMap, number);
+		// to array of Activities sorted in proper order.
+		return getMapAsSortedArray(frequencyMap);
 	}
 
 	/**
-	 * Converts the map holding (activity(string) - frequency) entries into a list.
-	 * This is necessary to sort, and ultimately index until the user's specified
-	 * number of activities are reported.
+	 * Converts the map holding (activity(string) - frequency) entries into an
+	 * array. This is necessary to sort, and ultimately index until the user's
+	 * specified number of activities are reported.
 	 * 
 	 * @param frequencyMap is map containing activity keys and frequency values.
-	 * @param number       is the number of activities to be in final list.
-	 * @return is a List of strings created from the frequencyMap.
+	 * @return is a sorted array of Activities created from the frequencyMap.
 	 */
-	private List<String> getMapAsSortedList(Map<String, Integer> frequencyMap, int number) {
+	private Activity[] getMapAsSortedArray(Map<String, Integer> frequencyMap) {
 		// Get iterator to move through map entries.
 		Iterator<Entry<String, Integer>> it = frequencyMap.entrySet().iterator();
 
@@ -144,26 +731,83 @@ public class UserActivityLogManager {
 		// Get Merge Sorter and sort array of Activities.
 		Sorter<Activity> s = DSAFactory.getComparisonSorter(null);
 		s.sort(activities);
+		return activities;
+	}
 
-		// Convert Activity array into List of Strings. Strings in list being Activity
-		// descriptions.
-		List<String> sortedFrequencyList = DSAFactory.getIndexedList();
+	/**
+	 * Gets the storage of log entries, so reports can format rows directly.
+	 * 
+	 * @return the log store.
+	 */
+	LogStore getLogStore() {
+		return logStore;
+	}
 
-		// Can only create list as long as number of unique entries. Check parameter to
-		// avoid index out of bounds.
-		int bounds = number > activities.length ? activities.length : number;
+	/**
+	 * Groups the rows of the log store by day. Each day is numbered from the
+	 * epoch (LocalDate.toEpochDay), and its rows are kept in the order they were
+	 * added. Only row ids are stored, so no LogEntry objects are built.
+	 * 
+	 * @return map of each day to the ids of its rows.
+	 */
+	synchronized Map<Long, int[]> getRowsByDay() {
+		return groupRows(seconds -> Math.floorDiv(seconds, SECONDS_PER_DAY));
+	}
 
-		// Place activities string representation into the return list.
-		for (int j = 0; j < bounds; j++) {
-			sortedFrequencyList.addLast(activities[j].getDescription());
+	/**
+	 * Groups the rows of the log store by hour of the day (0-23), keeping the rows
+	 * of each hour in the order they were added. Only row ids are stored, so no
+	 * LogEntry objects are built.
+	 * 
+	 * @return map of each hour to the ids of its rows.
+	 */
+	synchronized Map<Integer, int[]> getRowsByHour() {
+		return groupRows(seconds -> (int) Math.floorMod(Math.floorDiv(seconds, SECONDS_PER_HOUR), HOURS_PER_DAY));
+	}
+
+	/**
+	 * Groups the rows of the log store into buckets by their timestamp. Rows are
+	 * counted per bucket first, so each bucket's array is allocated at its exact
+	 * size and then filled in row order.
+	 * 
+	 * @param <K>      is type of the bucket keys.
+	 * @param bucketOf is function from a timestamp in seconds to its bucket.
+	 * @return map of each bucket to the ids of its rows.
+	 */
+	private <K extends Comparable<K>> Map<K, int[]> groupRows(LongFunction<K> bucketOf) {
+		// Count the rows of each bucket.
+		Map<K, int[]> remaining = DSAFactory.getMap(null);
+		for (int i = 0; i < logStore.size(); i++) {
+			K key = bucketOf.apply(logStore.getEpochSecond(i));
+			int[] count = remaining.get(key);
+			if (count == null) {
+				remaining.put(key, new int[] { 1 });
+			} else {
+				count[0]++;
+			}
 		}
-		return sortedFrequencyList;
+
+		// Fill each bucket, placing a row at (length - rows still to place).
+		Map<K, int[]> buckets = DSAFactory.getMap(null);
+		for (int i = 0; i < logStore.size(); i++) {
+			K key = bucketOf.apply(logStore.getEpochSecond(i));
+			int[] count = remaining.get(key);
+			int[] rows = buckets.get(key);
+			if (rows == null) {
+				rows = new int[count[0]];
+				buckets.put(key, rows);
+			}
+			rows[rows.length - count[0]] = i;
+			count[0]--;
+		}
+		return buckets;
 	}
 
 	/**
 	 * Returns a Map that represents the List of log entries performed on each
 	 * unique date. For the Map, the String key represents the date in the format
-	 * MM/DD/YYYY.
+	 * MM/DD/YYYY. With off-heap storage a new LogEntry is built for every row, so
+	 * reports use getRowsByDay instead.
 	 * 
 	 * @return is Map of log entries performed on each unique date. Returns an empty
 	 *         map if the log contains no entries.
@@ -173,9 +817,9 @@ public class UserActivityLogManager {
 		Map<String, List<LogEntry>> dateMap = DSAFactory.getMap(null);
 
 		// Move through log entry list and put unique dates into dateMap.
-		for (int i = 0; i < logList.size(); i++) {
-			LogEntry entry = logList.get(i);
-			String dateKey = entry.getTimestamp().format(dateFormat); // get time in MM/DD/YYYY string.
+		for (int i = 0; i < logStore.size(); i++) {
+			LogEntry entry = logStore.getEntry(i);
+			String dateKey = logStore.getTimestamp(i).format(dateFormat); // get time in MM/DD/YYYY string.
 
 			// Begin to put entries into dateMap.
 			// If the key/date cannot be found.
@@ -200,7 +844,8 @@ public class UserActivityLogManager {
 	/**
 	 * Returns a Map that represents the List of log entries performed during each
 	 * hour of the day. For the Map, the Integer key represents the hour of the day
-	 * (from 0-23, where 0=12AM-1AM; 1 = 1AM-2AM; etc.).
+	 * (from 0-23, where 0=12AM-1AM; 1 = 1AM-2AM; etc.). With off-heap storage a
+	 * new LogEntry is built for every row, so reports use getRowsByHour instead.
 	 * 
 	 * @return is map representing log entries performed during each hour of the day
 	 *         or empty map if log contains no entries.
@@ -210,9 +855,9 @@ public class UserActivityLogManager {
 		Map<Integer, List<LogEntry>> hourMap = DSAFactory.getMap(null);
 
 		// Move through log entry list and put unique hours into hourMap.
-		for (int i = 0; i < logList.size(); i++) {
-			LogEntry entry = logList.get(i);
-			String time = entry.getTimestamp().format(timeFormat); // get time in HH:mm:ssa.
+		for (int i = 0; i < logStore.size(); i++) {
+			LogEntry entry = logStore.getEntry(i);
+			String time = logStore.getTimestamp(i).format(timeFormat); // get time in HH:mm:ssa.
 			int hourKey = Integer.parseInt(time.substring(0, 2)); // convert first 2 characters of time to integer.
 
 			// Begin to put entries into hourMap
@@ -0,0 +1,226 @@
+package edu.ncsu.csc316.activity.sorter;
+
+import java.time.ZoneOffset;
+
+import edu.ncsu.csc316.activity.data.LogEntry;
+import edu.ncsu.csc316.activity.dsa.DSAFactory;
+import edu.ncsu.csc316.dsa.sorter.Sorter;
+
+/**
+ * Class sorts LogEntries in chronological order without comparing timestamps.
+ * Timestamps are converted to whole seconds and sorted with a counting sort when
+ * the range of seconds is small compared to the number of entries (such as a
+ * busy date), or a radix sort otherwise. Small arrays are sorted with the
+ * default comparison sorter. Entries with the same timestamp are then ordered
+ * with the comparison sorter, so the final order matches sorting with
+ * LogEntry's compareTo. The key sort and the tie-break of equal keys are also
+ * available to callers that sort row ids instead of LogEntries.
+ * 
+ * @author Michael Warstler (mwwarstl)
+ */
+public class TimestampRadixSorter implements Sorter<LogEntry> {
+
+	/** Arrays smaller than this are sorted by comparison */
+	static final int MIN_KEY_SORT_SIZE = 32;
+	/** Counting sort is used when the range of keys is at most this times n */
+	static final long COUNTING_RANGE_FACTOR = 4;
+	/** Number of bits sorted during each radix pass for smaller arrays */
+	private static final int SMALL_RADIX_BITS = 8;
+	/** Number of bits sorted during each radix pass for large arrays */
+	private static final int LARGE_RADIX_BITS = 16;
+	/** Smallest array that uses the larger radix, so buckets never outnumber keys */
+	private static final int LARGE_RADIX_MIN_SIZE = 1 << LARGE_RADIX_BITS;
+
+	/**
+	 * Sorts the array of LogEntries by timestamp, then by LogEntry's compareTo for
+	 * entries with the same timestamp.
+	 * 
+	 * @param data is array of LogEntries to sort.
+	 */
+	@Override
+	public void sort(LogEntry[] data) {
+		int n = data.length;
+		if (n < 2) {
+			return;
+		}
+		// Small arrays are cheaper to compare than to count.
+		if (n < MIN_KEY_SORT_SIZE) {
+			Sorter<LogEntry> s = DSAFactory.getComparisonSorter(null);
+			s.sort(data);
+			return;
+		}
+
+		// Get the timestamp of each entry in seconds and sort positions by it.
+		long[] keys = new long[n];
+		int[] order = new int[n];
+		for (int i = 0; i < n; i++) {
+			keys[i] = data[i].getTimestamp().toEpochSecond(ZoneOffset.UTC);
+			order[i] = i;
+		}
+		sortKeys(keys, order);
+		LogEntry[] sortedData = new LogEntry[n];
+		for (int i = 0; i < n; i++) {
+			sortedData[i] = data[order[i]];
+		}
+		System.arraycopy(sortedData, 0, data, 0, n);
+
+		// Order entries with equal timestamps (by description).
+		Sorter<LogEntry> s = DSAFactory.getComparisonSorter(null);
+		sortRuns(keys, (start, end) -> {
+			LogEntry[] run = new LogEntry[end - start];
+			System.arraycopy(data, start, run, 0, run.length);
+			s.sort(run);
+			System.arraycopy(run, 0, data, start, run.length);
+		});
+	}
+
+	/**
+	 * Stable sort of keys in ascending order, moving each value with its key.
+	 * Uses an insertion sort for small arrays, a single counting sort when the
+	 * range of keys is at most COUNTING_RANGE_FACTOR times the number of keys, and
+	 * a least significant digit radix sort otherwise. Digits are 8 bits unless
+	 * there are at least 65,536 keys, so no pass allocates more buckets than
+	 * needed.
+	 * 
+	 * @param keys   is array of keys to sort.
+	 * @param values is array of values to move with the keys, the same length.
+	 * @throws IllegalArgumentException if the arrays have different lengths.
+	 */
+	public static void sortKeys(long[] keys, int[] values) {
+		if (keys.length != values.length) {
+			throw new IllegalArgumentException("Keys and values must have the same length");
+		}
+		int n = keys.length;
+		if (n < MIN_KEY_SORT_SIZE) {
+			insertionSort(keys, values);
+			return;
+		}
+		long min = Long.MAX_VALUE;
+		long max = Long.MIN_VALUE;
+		for (int i = 0; i < n; i++) {
+			min = Math.min(min, keys[i]);
+			max = Math.max(max, keys[i]);
+		}
+		long range = max - min;
+
+		if (usesCountingSort(n, range)) {
+			countingSort(keys, values, min, (int) range + 1, 0, -1L);
+		} else {
+			int bits = n >= LARGE_RADIX_MIN_SIZE ? LARGE_RADIX_BITS : SMALL_RADIX_BITS;
+			int radix = 1 << bits;
+			for (int shift = 0; shift < Long.SIZE && (range >>> shift) > 0; shift += bits) {
+				countingSort(keys, values, min, radix, shift, radix - 1);
+			}
+		}
+	}
+
+	/**
+	 * Checks if n keys with a range of values are sorted with a single counting
+	 * sort. A counting sort allocates one bucket per possible key, so it is only
+	 * used when the buckets are not many more than the keys.
+	 * 
+	 * @param n     is number of keys.
+	 * @param range is largest key minus smallest key.
+	 * @return true if a counting sort is used, false for a radix sort.
+	 */
+	static boolean usesCountingSort(int n, long range) {
+		return range >= 0 && range < COUNTING_RANGE_FACTOR * n;
+	}
+
+	/**
+	 * Stable insertion sort of keys, moving each value with its key.
+	 * 
+	 * @param keys   is array of keys to sort.
+	 * @param values is array of values to move with the keys.
+	 */
+	private static void insertionSort(long[] keys, int[] values) {
+		for (int i = 1; i < keys.length; i++) {
+			long key = keys[i];
+			int value = values[i];
+			int j = i - 1;
+			while (j >= 0 && keys[j] > key) {
+				keys[j + 1] = keys[j];
+				values[j + 1] = values[j];
+				j--;
+			}
+			keys[j + 1] = key;
+			values[j + 1] = value;
+		}
+	}
+
+	/**
+	 * Stable counting sort of the keys and their values on the bits of the key
+	 * (minus min) starting at shift.
+	 * 
+	 * @param keys    is array of keys to sort.
+	 * @param values  is array of values to move with the keys.
+	 * @param min     is smallest key.
+	 * @param buckets is number of possible values of the sorted bits.
+	 * @param shift   is position of the lowest bit sorted on.
+	 * @param mask    is mask applied to the shifted key to get its bucket.
+	 */
+	private static void countingSort(long[] keys, int[] values, long min, int buckets, int shift, long mask) {
+		int n = keys.length;
+		int[] count = new int[buckets + 1];
+
+		// Count occurrences of each bucket.
+		for (int i = 0; i < n; i++) {
+			int bucket = (int) (((keys[i] - min) >>> shift) & mask);
+			count[bucket + 1]++;
+		}
+		// Convert counts to starting positions.
+		for (int b = 0; b < buckets; b++) {
+			count[b + 1] += count[b];
+		}
+		// Place keys in order, keeping original order within a bucket.
+		long[] sortedKeys = new long[n];
+		int[] sortedValues = new int[n];
+		for (int i = 0; i < n; i++) {
+			int bucket = (int) (((keys[i] - min) >>> shift) & mask);
+			int position = count[bucket]++;
+			sortedKeys[position] = keys[i];
+			sortedValues[position] = values[i];
+		}
+		System.arraycopy(sortedKeys, 0, keys, 0, n);
+		System.arraycopy(sortedValues, 0, values, 0, n);
+	}
+
+	/**
+	 * Breaks ties after sorting by key. Calls the run sorter once for each run of
+	 * 2 or more positions that have the same key, so only those positions are
+	 * ordered by comparison.
+	 * 
+	 * @param keys      is sorted array of keys.
+	 * @param runSorter is sorter called with the start and end of each run.
+	 */
+	public static void sortRuns(long[] keys, RunSorter runSorter) {
+		int start = 0;
+		while (start < keys.length) {
+			int end = start + 1;
+			while (end < keys.length && keys[end] == keys[start]) {
+				end++;
+			}
+			// Only runs of 2 or more positions need sorting.
+			if (end - start > 1) {
+				runSorter.sort(start, end);
+			}
+			start = end;
+		}
+	}
+
+	/**
+	 * Sorts a run of positions that have the same key.
+	 * 
+	 * @author Michael Warstler (mwwarstl)
+	 */
+	public interface RunSorter {
+
+		/**
+		 * Sorts the positions from start up to, but not including, end.
+		 * 
+		 * @param start is first position of the run.
+		 * @param end   is position after the last of the run.
+		 */
+		void sort(int start, int end);
+	}
+}
@@ -0,0 +1,101 @@
+package edu.ncsu.csc316.activity.stream;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+
+import edu.ncsu.csc316.activity.data.LogEntry;
+
+/**
+ * Class is the base of the aggregation stages of a StreamingLogPipeline. A stage
+ * receives parsed LogEntries one at a time and keeps only its aggregate, so
+ * memory does not grow with the number of entries. Entries are requested in
+ * small batches, so a slow stage holds back the reader instead of letting
+ * entries pile up.
+ * 
+ * @author Michael Warstler (mwwarstl)
+ */
+public abstract class AggregationStage implements Flow.Subscriber<LogEntry> {
+
+	/** Number of entries requested at a time */
+	private static final int BATCH_SIZE = 64;
+
+	/** Subscription to the publisher of entries */
+	private Flow.Subscription subscription;
+	/** Number of requested entries not yet received */
+	private int pending;
+	/** Released when the stage has received all entries or failed */
+	private final CountDownLatch done = new CountDownLatch(1);
+	/** Error that stopped the stage, or null */
+	private volatile Throwable error;
+
+	/**
+	 * Adds an entry to the aggregate of the stage.
+	 * 
+	 * @param entry is entry to aggregate.
+	 */
+	protected abstract void accept(LogEntry entry);
+
+	/**
+	 * Requests the first batch of entries.
+	 * 
+	 * @param subscription is subscription to the publisher of entries.
+	 */
+	@Override
+	public void onSubscribe(Flow.Subscription subscription) {
+		this.subscription = subscription;
+		pending = BATCH_SIZE;
+		subscription.request(BATCH_SIZE);
+	}
+
+	/**
+	 * Aggregates an entry and requests the next batch once the current batch is
+	 * received.
+	 * 
+	 * @param entry is entry to aggregate.
+	 */
+	@Override
+	public void onNext(LogEntry entry) {
+		accept(entry);
+		pending--;
+		if (pending == 0) {
+			pending = BATCH_SIZE;
+			subscription.request(BATCH_SIZE);
+		}
+	}
+
+	/**
+	 * Records the error that stopped the stage.
+	 * 
+	 * @param throwable is error that stopped the stage.
+	 */
+	@Override
+	public void onError(Throwable throwable) {
+		error = throwable;
+		done.countDown();
+	}
+
+	/**
+	 * Marks the stage as done after all entries are received.
+	 */
+	@Override
+	public void onComplete() {
+		done.countDown();
+	}
+
+	/**
+	 * Waits until the stage has received all entries or failed.
+	 * 
+	 * @throws IllegalStateException if the stage failed or waiting is interrupted.
+	 */
+	public void awaitCompletion() {
+		try {
+			done.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while waiting for aggregation stage", e);
+		}
+		if (error != null) {
+			throw new IllegalStateException("Aggregation stage failed", error);
+		}
+	}
+}
@@ -0,0 +1,280 @@
+package edu.ncsu.csc316.activity.stream;
+
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.ArrayDeque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Class decompresses a blocked gzip (BGZF) stream with several worker threads.
+ * Each BGZF block is a complete gzip member whose header stores the size of
+ * the block, so blocks are read from the compressed stream without inflating
+ * them and handed to workers. Inflated blocks are returned in stream order.
+ * At most a few blocks per thread are held in memory at a time.
+ * 
+ * @author Michael Warstler (mwwarstl)
+ */
+public class BlockGzipInputStream extends InputStream {
+
+	/** First byte of every gzip member */
+	private static final int ID1 = 0x1f;
+	/** Second byte of every gzip member */
+	private static final int ID2 = 0x8b;
+	/** Compression method of deflate */
+	private static final int CM_DEFLATE = 8;
+	/** Header flag for an extra field */
+	private static final int FEXTRA = 4;
+	/** Bytes of the fixed header before the extra field length */
+	private static final int FIXED_HEADER = 10;
+	/** Bytes of the CRC and uncompressed size after the compressed data */
+	private static final int TRAILER = 8;
+	/** Largest number of bytes an inflated BGZF block can hold */
+	private static final int MAX_BLOCK_SIZE = 65536;
+	/** Blocks read ahead for each worker thread */
+	private static final int BLOCKS_PER_THREAD = 4;
+
+	/** Compressed stream */
+	private DataInputStream input;
+	/** Inflates blocks */
+	private ExecutorService pool;
+	/** Largest number of blocks read ahead */
+	private int maxPending;
+	/** Blocks being inflated in stream order */
+	private ArrayDeque<Future<byte[]>> pending = new ArrayDeque<Future<byte[]>>();
+	/** Inflated block being read */
+	private byte[] block = new byte[0];
+	/** Position of the next byte of block */
+	private int position;
+	/** Whether the end of the compressed stream has been reached */
+	private boolean endOfInput;
+
+	/**
+	 * Constructs a BlockGzipInputStream.
+	 * 
+	 * @param input   is BGZF compressed stream.
+	 * @param threads is number of worker threads.
+	 * @throws IllegalArgumentException if threads is less than 1.
+	 */
+	public BlockGzipInputStream(InputStream input, int threads) {
+		if (threads < 1) {
+			throw new IllegalArgumentException("Number of threads must be > 0");
+		}
+		this.input = new DataInputStream(input);
+		pool = Executors.newFixedThreadPool(threads);
+		maxPending = threads * BLOCKS_PER_THREAD;
+	}
+
+	/**
+	 * Reads the next byte of the decompressed stream.
+	 * 
+	 * @return next byte, or -1 at the end of the stream.
+	 * @throws IOException if a block is not valid BGZF or cannot be read.
+	 */
+	@Override
+	public int read() throws IOException {
+		if (!fill()) {
+			return -1;
+		}
+		int b = block[position] & 0xff;
+		position++;
+		return b;
+	}
+
+	/**
+	 * Reads decompressed bytes into an array.
+	 * 
+	 * @param buffer is array to read into.
+	 * @param offset is index of the first byte to read into.
+	 * @param length is largest number of bytes to read.
+	 * @return number of bytes read, or -1 at the end of the stream.
+	 * @throws IOException if a block is not valid BGZF or cannot be read.
+	 */
+	@Override
+	public int read(byte[] buffer, int offset, int length) throws IOException {
+		if (length == 0) {
+			return 0;
+		}
+		if (!fill()) {
+			return -1;
+		}
+		int count = Math.min(length, block.length - position);
+		System.arraycopy(block, position, buffer, offset, count);
+		position += count;
+		return count;
+	}
+
+	/**
+	 * Stops the workers and closes the compressed stream.
+	 * 
+	 * @throws IOException if the compressed stream cannot be closed.
+	 */
+	@Override
+	public void close() throws IOException {
+		pool.shutdownNow();
+		input.close();
+	}
+
+	/**
+	 * Makes sure the current block has bytes left, moving to the next non-empty
+	 * block and reading ahead more blocks as needed.
+	 * 
+	 * @return true if there are bytes to read, false at the end of the stream.
+	 * @throws IOException if a block is not valid BGZF or cannot be read.
+	 */
+	private boolean fill() throws IOException {
+		while (position == block.length) {
+			while (!endOfInput && pending.size() < maxPending) {
+				readBlock();
+			}
+			if (pending.isEmpty()) {
+				return false;
+			}
+			try {
+				block = pending.removeFirst().get();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new InterruptedIOException("Interrupted while inflating block");
+			} catch (ExecutionException e) {
+				throw new IOException("Could not inflate block", e.getCause());
+			}
+			position = 0;
+		}
+		return true;
+	}
+
+	/**
+	 * Reads the next compressed block and submits it to be inflated.
+	 * 
+	 * @throws IOException if the block is not valid BGZF or cannot be read.
+	 */
+	private void readBlock() throws IOException {
+		int id1 = input.read();
+		if (id1 == -1) {
+			endOfInput = true;
+			return;
+		}
+		byte[] header = new byte[FIXED_HEADER + 2];
+		header[0] = (byte) id1;
+		input.readFully(header, 1, header.length - 1);
+		if ((header[0] & 0xff) != ID1 || (header[1] & 0xff) != ID2 || header[2] != CM_DEFLATE
+				|| (header[3] & FEXTRA) == 0) {
+			throw new IOException("Not a BGZF block");
+		}
+		byte[] extra = new byte[readShort(header, FIXED_HEADER)];
+		input.readFully(extra);
+		int blockSize = findBlockSize(extra);
+
+		// Block size counts the whole member: header, extra, data and trailer.
+		int dataSize = blockSize - header.length - extra.length - TRAILER;
+		if (dataSize < 0) {
+			throw new IOException("Invalid BGZF block size " + blockSize);
+		}
+		final byte[] data = new byte[dataSize];
+		input.readFully(data);
+		byte[] trailer = new byte[TRAILER];
+		input.readFully(trailer);
+		final long crc = readInt(trailer, 0);
+		final long size = readInt(trailer, 4);
+		// The size comes from the stream, so check it before allocating the block.
+		if (size > MAX_BLOCK_SIZE) {
+			throw new IOException("Invalid BGZF inflated size " + size);
+		}
+		pending.addLast(pool.submit(() -> inflate(data, crc, size)));
+	}
+
+	/**
+	 * Inflates the compressed data of a block and checks its size and CRC. Runs
+	 * on a worker thread.
+	 * 
+	 * @param data is raw deflate data of the block.
+	 * @param crc  is CRC32 of the inflated block.
+	 * @param size is number of bytes of the inflated block, at most
+	 *             MAX_BLOCK_SIZE.
+	 * @return inflated block.
+	 * @throws IOException if the data is corrupt or inflates to a different
+	 *                     size.
+	 */
+	private static byte[] inflate(byte[] data, long crc, long size) throws IOException {
+		byte[] out = new byte[(int) size];
+		Inflater inflater = new Inflater(true);
+		try {
+			inflater.setInput(data);
+			int count = 0;
+			while (count < out.length && !inflater.finished()) {
+				int n = inflater.inflate(out, count, out.length - count);
+				if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+					break;
+				}
+				count += n;
+			}
+			if (count != out.length) {
+				throw new EOFException("BGZF block ended early");
+			}
+			// Data left after the block is full means the size is wrong.
+			if (!inflater.finished() && inflater.inflate(new byte[1]) > 0) {
+				throw new IOException("BGZF block is larger than its inflated size " + size);
+			}
+		} catch (DataFormatException e) {
+			throw new IOException("Corrupt BGZF block", e);
+		} finally {
+			inflater.end();
+		}
+		CRC32 check = new CRC32();
+		check.update(out);
+		if (check.getValue() != crc) {
+			throw new IOException("BGZF block CRC does not match");
+		}
+		return out;
+	}
+
+	/**
+	 * Finds the block size in the "BC" subfield of a gzip extra field.
+	 * 
+	 * @param extra is gzip extra field.
+	 * @return total size of the block in bytes.
+	 * @throws IOException if there is no "BC" subfield.
+	 */
+	static int findBlockSize(byte[] extra) throws IOException {
+		int i = 0;
+		while (i + 4 <= extra.length) {
+			int length = readShort(extra, i + 2);
+			if (extra[i] == 'B' && extra[i + 1] == 'C' && length == 2 && i + 6 <= extra.length) {
+				// BSIZE is the block size minus 1.
+				return readShort(extra, i + 4) + 1;
+			}
+			i += 4 + length;
+		}
+		throw new IOException("Gzip member has no BGZF block size");
+	}
+
+	/**
+	 * Reads an unsigned little-endian 16 bit value.
+	 * 
+	 * @param bytes  is array to read from.
+	 * @param offset is index of the first byte.
+	 * @return the value.
+	 */
+	private static int readShort(byte[] bytes, int offset) {
+		return (bytes[offset] & 0xff) | (bytes[offset + 1] & 0xff) << 8;
+	}
+
+	/**
+	 * Reads an unsigned little-endian 32 bit value.
+	 * 
+	 * @param bytes  is array to read from.
+	 * @param offset is index of the first byte.
+	 * @return the value.
+	 */
+	private static long readInt(byte[] bytes, int offset) {
+		return (readShort(bytes, offset) | (long) readShort(bytes, offset + 2) << 16);
+	}
+}
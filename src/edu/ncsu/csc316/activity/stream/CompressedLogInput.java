@@ -0,0 +1,121 @@
+package edu.ncsu.csc316.activity.stream;
+
+import java.io.BufferedInputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Class opens log entry files that may be compressed, streaming the
+ * decompressed lines to a Reader without writing a temporary file. Text is
+ * decoded as UTF-8. The format
+ * is detected from the first bytes of the file. Gzip files, including several
+ * concatenated members, are inflated on the reading thread. Blocked gzip (BGZF)
+ * files are inflated by several worker threads. Zstandard files are detected
+ * but rejected, since the JDK has no zstd codec.
+ * 
+ * @author Michael Warstler (mwwarstl)
+ */
+public class CompressedLogInput {
+
+	/** Bytes read to detect the format, enough for a gzip header and extra field */
+	private static final int DETECT_LIMIT = 64 * 1024;
+	/** Gzip header flag for an extra field */
+	private static final int FEXTRA = 4;
+	/** Buffer size of the inflated stream */
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	/**
+	 * Constructs nothing. Class only has static methods.
+	 */
+	private CompressedLogInput() {
+	}
+
+	/**
+	 * Opens a log entry file as a Reader of its decompressed lines.
+	 * 
+	 * @param pathToFile is string representation of filename containing log
+	 *                   entries.
+	 * @param threads    is number of threads used to inflate BGZF blocks.
+	 * @return reader of the decompressed lines.
+	 * @throws java.io.FileNotFoundException if the file cannot be located.
+	 * @throws IOException                   if the file is zstd compressed or
+	 *                                       cannot be read.
+	 */
+	public static Reader open(String pathToFile, int threads) throws IOException {
+		return open(new FileInputStream(pathToFile), threads);
+	}
+
+	/**
+	 * Opens a stream of a log entry file as a Reader of its decompressed lines.
+	 * The stream is closed when the reader is closed, or if it cannot be opened.
+	 * 
+	 * @param stream  is stream of the file.
+	 * @param threads is number of threads used to inflate BGZF blocks.
+	 * @return reader of the decompressed lines.
+	 * @throws IOException if the stream is zstd compressed or cannot be read.
+	 */
+	public static Reader open(InputStream stream, int threads) throws IOException {
+		BufferedInputStream input = new BufferedInputStream(stream, BUFFER_SIZE);
+		try {
+			CompressionFormat format = detect(input);
+			switch (format) {
+			case ZSTD:
+				throw new IOException("Zstandard compressed input is not supported; decompress it with zstd -d");
+			case BGZF:
+				return new InputStreamReader(new BlockGzipInputStream(input, threads), StandardCharsets.UTF_8);
+			case GZIP:
+				return new InputStreamReader(new GZIPInputStream(input, BUFFER_SIZE), StandardCharsets.UTF_8);
+			default:
+				return new InputStreamReader(input, StandardCharsets.UTF_8);
+			}
+		} catch (IOException e) {
+			input.close();
+			throw e;
+		}
+	}
+
+	/**
+	 * Detects the format of a stream from its first bytes. The stream is reset to
+	 * where it started.
+	 * 
+	 * @param input is stream to detect, which must support mark.
+	 * @return format of the stream.
+	 * @throws IOException if the stream cannot be read.
+	 */
+	public static CompressionFormat detect(InputStream input) throws IOException {
+		input.mark(DETECT_LIMIT);
+		try {
+			byte[] magic = new byte[12];
+			int count = input.readNBytes(magic, 0, magic.length);
+			if (count >= 4 && (magic[0] & 0xff) == 0x28 && (magic[1] & 0xff) == 0xb5 && (magic[2] & 0xff) == 0x2f
+					&& (magic[3] & 0xff) == 0xfd) {
+				return CompressionFormat.ZSTD;
+			}
+			if (count < 2 || (magic[0] & 0xff) != 0x1f || (magic[1] & 0xff) != 0x8b) {
+				return CompressionFormat.NONE;
+			}
+			if (count < magic.length || (magic[3] & FEXTRA) == 0) {
+				return CompressionFormat.GZIP;
+			}
+			// BGZF members have a "BC" subfield in the extra field.
+			int length = (magic[10] & 0xff) | (magic[11] & 0xff) << 8;
+			byte[] extra = new byte[length];
+			if (input.readNBytes(extra, 0, length) < length) {
+				return CompressionFormat.GZIP;
+			}
+			try {
+				BlockGzipInputStream.findBlockSize(extra);
+				return CompressionFormat.BGZF;
+			} catch (IOException e) {
+				return CompressionFormat.GZIP;
+			}
+		} finally {
+			input.reset();
+		}
+	}
+}
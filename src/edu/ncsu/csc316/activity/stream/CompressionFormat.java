@@ -0,0 +1,20 @@
+package edu.ncsu.csc316.activity.stream;
+
+/**
+ * Formats of log entry files, detected from the first bytes of the file.
+ * 
+ * @author Michael Warstler (mwwarstl)
+ */
+public enum CompressionFormat {
+	/** Plain text */
+	NONE,
+	/** Gzip, including several gzip members one after another */
+	GZIP,
+	/**
+	 * Blocked gzip (BGZF), where every member stores its compressed size so
+	 * blocks can be found without decompressing and inflated in parallel
+	 */
+	BGZF,
+	/** Zstandard, detected but not supported since the JDK has no zstd codec */
+	ZSTD
+}
@@ -0,0 +1,42 @@
+package edu.ncsu.csc316.activity.stream;
+
+import java.time.format.DateTimeFormatter;
+
+import edu.ncsu.csc316.activity.data.LogEntry;
+import edu.ncsu.csc316.activity.dsa.DSAFactory;
+import edu.ncsu.csc316.dsa.map.Map;
+
+/**
+ * Class is an aggregation stage that counts the entries performed on each
+ * unique date.
+ * 
+ * @author Michael Warstler (mwwarstl)
+ */
+public class DateCounterStage extends AggregationStage {
+
+	/** Time formatter for Month/Day/Year formatting. */
+	private final DateTimeFormatter dateFormat = DateTimeFormatter.ofPattern("MM/dd/yyyy");
+	/** Map of date (MM/DD/YYYY) to number of entries */
+	private Map<String, Integer> dateCounts = DSAFactory.getMap(null);
+
+	/**
+	 * Adds 1 to the count of the entry's date.
+	 * 
+	 * @param entry is entry to aggregate.
+	 */
+	@Override
+	protected void accept(LogEntry entry) {
+		String dateKey = entry.getTimestamp().format(dateFormat);
+		Integer count = dateCounts.get(dateKey);
+		dateCounts.put(dateKey, count == null ? 1 : count + 1);
+	}
+
+	/**
+	 * Gets the map of each unique date (MM/DD/YYYY) to its number of entries.
+	 * 
+	 * @return the dateCounts
+	 */
+	public Map<String, Integer> getDateCounts() {
+		return dateCounts;
+	}
+}
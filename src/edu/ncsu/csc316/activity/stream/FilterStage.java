@@ -0,0 +1,104 @@
+package edu.ncsu.csc316.activity.stream;
+
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.function.Predicate;
+
+import edu.ncsu.csc316.activity.data.LogEntry;
+
+/**
+ * Class is a stage of a StreamingLogPipeline that passes only the entries
+ * matching a predicate on to the stages added to it. Entries are requested from
+ * upstream one at a time and only after the previous entry is handed on, so
+ * backpressure from the downstream stages reaches the reader.
+ * 
+ * @author Michael Warstler (mwwarstl)
+ */
+public class FilterStage extends SubmissionPublisher<LogEntry> implements Flow.Processor<LogEntry, LogEntry> {
+
+	/** Entries matching the predicate are passed on */
+	private Predicate<LogEntry> predicate;
+	/** Pipeline the filter is part of */
+	private StreamingLogPipeline pipeline;
+	/** Subscription to the upstream publisher of entries */
+	private Flow.Subscription subscription;
+
+	/**
+	 * Constructs a FilterStage for a pipeline. Created by
+	 * StreamingLogPipeline.addFilter.
+	 * 
+	 * @param pipeline  is pipeline the filter is part of.
+	 * @param predicate is predicate entries must match to be passed on.
+	 */
+	FilterStage(StreamingLogPipeline pipeline, Predicate<LogEntry> predicate) {
+		this.pipeline = pipeline;
+		this.predicate = predicate;
+	}
+
+	/**
+	 * Adds an aggregation stage that receives the entries matching this filter.
+	 * 
+	 * @param <S>   is type of aggregation stage.
+	 * @param stage is aggregation stage to add.
+	 * @return the added stage.
+	 */
+	public <S extends AggregationStage> S addStage(S stage) {
+		pipeline.register(stage);
+		subscribe(stage);
+		return stage;
+	}
+
+	/**
+	 * Adds a filter that receives the entries matching this filter.
+	 * 
+	 * @param filterPredicate is predicate entries must also match to be passed on.
+	 * @return the added filter.
+	 */
+	public FilterStage addFilter(Predicate<LogEntry> filterPredicate) {
+		FilterStage filter = new FilterStage(pipeline, filterPredicate);
+		subscribe(filter);
+		return filter;
+	}
+
+	/**
+	 * Requests the first entry.
+	 * 
+	 * @param subscription is subscription to the upstream publisher of entries.
+	 */
+	@Override
+	public void onSubscribe(Flow.Subscription subscription) {
+		this.subscription = subscription;
+		subscription.request(1);
+	}
+
+	/**
+	 * Passes the entry on if it matches the predicate, then requests the next.
+	 * 
+	 * @param entry is entry from upstream.
+	 */
+	@Override
+	public void onNext(LogEntry entry) {
+		if (predicate.test(entry)) {
+			submit(entry);
+		}
+		subscription.request(1);
+	}
+
+	/**
+	 * Passes the upstream error on to the downstream stages.
+	 * 
+	 * @param throwable is error from upstream.
+	 */
+	@Override
+	public void onError(Throwable throwable) {
+		closeExceptionally(throwable);
+	}
+
+	/**
+	 * Completes the downstream stages after all upstream entries are handled.
+	 */
+	@Override
+	public void onComplete() {
+		close();
+	}
+}
@@ -0,0 +1,67 @@
+package edu.ncsu.csc316.activity.stream;
+
+import java.util.Iterator;
+
+import edu.ncsu.csc316.activity.data.LogEntry;
+import edu.ncsu.csc316.activity.dsa.DSAFactory;
+import edu.ncsu.csc316.dsa.data.Activity;
+import edu.ncsu.csc316.dsa.list.List;
+import edu.ncsu.csc316.dsa.map.Map;
+import edu.ncsu.csc316.dsa.map.Map.Entry;
+import edu.ncsu.csc316.dsa.sorter.Sorter;
+
+/**
+ * Class is an aggregation stage that counts the frequency of each activity
+ * (action + resource). Gives the same top activities as
+ * UserActivityLogManager.getTopActivities without keeping the entries.
+ * 
+ * @author Michael Warstler (mwwarstl)
+ */
+public class FrequencyCounterStage extends AggregationStage {
+
+	/** Map of activity (action resource) to frequency */
+	private Map<String, Integer> frequencyMap = DSAFactory.getMap(null);
+
+	/**
+	 * Adds 1 to the frequency of the entry's activity.
+	 * 
+	 * @param entry is entry to aggregate.
+	 */
+	@Override
+	protected void accept(LogEntry entry) {
+		String activity = entry.getAction() + " " + entry.getResource();
+		Integer activityFrequency = frequencyMap.get(activity);
+		frequencyMap.put(activity, activityFrequency == null ? 1 : activityFrequency + 1);
+	}
+
+	/**
+	 * Returns a List of the most frequently performed N activities, in the same
+	 * format and order as UserActivityLogManager.getTopActivities.
+	 * 
+	 * @param number is number of activities that should appear in the list.
+	 * @return List of most frequently performed N activities.
+	 */
+	public List<String> getTopActivities(int number) {
+		// Create array of Activities from the map.
+		Activity[] activities = new Activity[frequencyMap.size()];
+		Iterator<Entry<String, Integer>> it = frequencyMap.entrySet().iterator();
+		int i = 0;
+		while (it.hasNext()) {
+			Entry<String, Integer> entry = it.next();
+			activities[i] = new Activity(entry.getValue(), entry.getKey());
+			i++;
+		}
+
+		// Sort Activities by frequency then description.
+		Sorter<Activity> s = DSAFactory.getComparisonSorter(null);
+		s.sort(activities);
+
+		// Place requested number of activities into the list.
+		List<String> sortedFrequencyList = DSAFactory.getIndexedList();
+		int bounds = number > activities.length ? activities.length : number;
+		for (int j = 0; j < bounds; j++) {
+			sortedFrequencyList.addLast(activities[j].getDescription());
+		}
+		return sortedFrequencyList;
+	}
+}
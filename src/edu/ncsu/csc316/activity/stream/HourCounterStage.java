@@ -0,0 +1,35 @@
+package edu.ncsu.csc316.activity.stream;
+
+import edu.ncsu.csc316.activity.data.LogEntry;
+
+/**
+ * Class is an aggregation stage that counts the entries performed during each
+ * hour of the day.
+ * 
+ * @author Michael Warstler (mwwarstl)
+ */
+public class HourCounterStage extends AggregationStage {
+
+	/** Number of entries in each hour (0-23) */
+	private int[] hourCounts = new int[24];
+
+	/**
+	 * Adds 1 to the count of the entry's hour.
+	 * 
+	 * @param entry is entry to aggregate.
+	 */
+	@Override
+	protected void accept(LogEntry entry) {
+		hourCounts[entry.getTimestamp().getHour()]++;
+	}
+
+	/**
+	 * Gets the number of entries performed during an hour of the day.
+	 * 
+	 * @param hour is hour of the day from 0-23.
+	 * @return number of entries during the hour.
+	 */
+	public int getHourCount(int hour) {
+		return hourCounts[hour];
+	}
+}
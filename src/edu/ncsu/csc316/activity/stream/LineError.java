@@ -0,0 +1,70 @@
+package edu.ncsu.csc316.activity.stream;
+
+/**
+ * Class describes a problem found on one line of a log entry file while
+ * loading it.
+ * 
+ * @author Michael Warstler (mwwarstl)
+ */
+public class LineError {
+
+	/** Longest part of a line kept with an error */
+	private static final int MAX_LINE_LENGTH = 200;
+
+	/** Line number in the file, starting at 1 for the header */
+	private long lineNumber;
+	/** Reason the line has an error */
+	private String message;
+	/** Text of the line, cut to MAX_LINE_LENGTH characters */
+	private String line;
+
+	/**
+	 * Constructs a LineError.
+	 * 
+	 * @param lineNumber is line number in the file.
+	 * @param message    is reason the line has an error.
+	 * @param line       is text of the line.
+	 */
+	public LineError(long lineNumber, String message, String line) {
+		this.lineNumber = lineNumber;
+		this.message = message;
+		this.line = line.length() > MAX_LINE_LENGTH ? line.substring(0, MAX_LINE_LENGTH) : line;
+	}
+
+	/**
+	 * Gets the line number in the file.
+	 * 
+	 * @return the lineNumber
+	 */
+	public long getLineNumber() {
+		return lineNumber;
+	}
+
+	/**
+	 * Gets the reason the line has an error.
+	 * 
+	 * @return the message
+	 */
+	public String getMessage() {
+		return message;
+	}
+
+	/**
+	 * Gets the text of the line, cut to at most 200 characters.
+	 * 
+	 * @return the line
+	 */
+	public String getLine() {
+		return line;
+	}
+
+	/**
+	 * Returns the error in the format "line N: message".
+	 * 
+	 * @return string of the error.
+	 */
+	@Override
+	public String toString() {
+		return "line " + lineNumber + ": " + message;
+	}
+}
@@ -0,0 +1,129 @@
+package edu.ncsu.csc316.activity.stream;
+
+import java.util.Locale;
+
+import edu.ncsu.csc316.activity.dsa.DSAFactory;
+import edu.ncsu.csc316.dsa.list.List;
+
+/**
+ * Class holds the results of loading a log entry file with ParallelLogLoader:
+ * how many rows were accepted and rejected, how many were out of time order,
+ * how long the load took, and the errors of the rejected rows.
+ * 
+ * @author Michael Warstler (mwwarstl)
+ */
+public class LoadStatistics {
+
+	/** Number of rows parsed into entries */
+	private long rowsAccepted;
+	/** Number of rows that could not be parsed */
+	private long rowsRejected;
+	/** Number of accepted rows with an earlier time than the row before them */
+	private long rowsOutOfOrder;
+	/** Nanoseconds from opening to closing the file */
+	private long elapsedNanos;
+	/** Errors of rejected rows in line order */
+	private List<LineError> errors = DSAFactory.getIndexedList();
+
+	/**
+	 * Records an accepted row.
+	 * 
+	 * @param outOfOrder is true if the row has an earlier time than the row before
+	 *                   it.
+	 */
+	void addAccepted(boolean outOfOrder) {
+		rowsAccepted++;
+		if (outOfOrder) {
+			rowsOutOfOrder++;
+		}
+	}
+
+	/**
+	 * Records a rejected row.
+	 * 
+	 * @param error is error of the row.
+	 */
+	void addRejected(LineError error) {
+		rowsRejected++;
+		errors.addLast(error);
+	}
+
+	/**
+	 * Sets the nanoseconds the load took.
+	 * 
+	 * @param elapsedNanos is nanoseconds from opening to closing the file.
+	 */
+	void setElapsedNanos(long elapsedNanos) {
+		this.elapsedNanos = elapsedNanos;
+	}
+
+	/**
+	 * Gets the number of rows parsed into entries.
+	 * 
+	 * @return the rowsAccepted
+	 */
+	public long getRowsAccepted() {
+		return rowsAccepted;
+	}
+
+	/**
+	 * Gets the number of rows that could not be parsed.
+	 * 
+	 * @return the rowsRejected
+	 */
+	public long getRowsRejected() {
+		return rowsRejected;
+	}
+
+	/**
+	 * Gets the number of accepted rows with an earlier time than the accepted row
+	 * before them. Out of order rows are kept.
+	 * 
+	 * @return the rowsOutOfOrder
+	 */
+	public long getRowsOutOfOrder() {
+		return rowsOutOfOrder;
+	}
+
+	/**
+	 * Gets the nanoseconds from opening to closing the file.
+	 * 
+	 * @return the elapsedNanos
+	 */
+	public long getElapsedNanos() {
+		return elapsedNanos;
+	}
+
+	/**
+	 * Gets the number of rows, accepted or rejected, loaded per second.
+	 * 
+	 * @return rows per second, or 0 if no time was measured.
+	 */
+	public double getRowsPerSecond() {
+		if (elapsedNanos <= 0) {
+			return 0;
+		}
+		return (rowsAccepted + rowsRejected) * 1e9 / elapsedNanos;
+	}
+
+	/**
+	 * Gets the errors of the rejected rows in line order.
+	 * 
+	 * @return the errors
+	 */
+	public List<LineError> getErrors() {
+		return errors;
+	}
+
+	/**
+	 * Returns the statistics in the format "N rows accepted, N rejected, N out of
+	 * order, N rows/sec".
+	 * 
+	 * @return string of the statistics.
+	 */
+	@Override
+	public String toString() {
+		return String.format(Locale.US, "%d rows accepted, %d rejected, %d out of order, %.0f rows/sec", rowsAccepted,
+				rowsRejected, rowsOutOfOrder, getRowsPerSecond());
+	}
+}
@@ -0,0 +1,56 @@
+package edu.ncsu.csc316.activity.stream;
+
+import java.time.DateTimeException;
+import java.util.Locale;
+
+import edu.ncsu.csc316.activity.data.LogEntry;
+
+/**
+ * Class parses single lines of a log entry file into LogEntries. Lines are in
+ * the format "USERNAME, MM/DD/YYYY HH:MM:SSAM, ACTION, RESOURCE". Used to read
+ * entries one at a time instead of loading the whole file into a List.
+ * 
+ * @author Michael Warstler (mwwarstl)
+ */
+public class LogLineParser {
+
+	/** Header line at the start of a log entry file */
+	public static final String HEADER = "USERNAME";
+
+	/**
+	 * Checks if a line is the header line of a log entry file.
+	 * 
+	 * @param line is line of the file.
+	 * @return true if the line is the header.
+	 */
+	public boolean isHeader(String line) {
+		return line.trim().toUpperCase(Locale.US).startsWith(HEADER);
+	}
+
+	/**
+	 * Parses a line of a log entry file into a LogEntry.
+	 * 
+	 * @param line is line of the file.
+	 * @return LogEntry of the line.
+	 * @throws IllegalArgumentException if the line does not have 4 fields, a field
+	 *                                  is empty, or the timestamp is invalid.
+	 */
+	public LogEntry parse(String line) {
+		String[] fields = line.split(",", 4);
+		if (fields.length != 4) {
+			throw new IllegalArgumentException("Expected 4 fields but found " + fields.length);
+		}
+		for (int i = 0; i < fields.length; i++) {
+			fields[i] = fields[i].trim();
+			if (fields[i].isEmpty()) {
+				throw new IllegalArgumentException("Field " + (i + 1) + " is empty");
+			}
+		}
+		// LogEntry parses the timestamp once; its failure reports the bad line.
+		try {
+			return new LogEntry(fields[0], fields[1], fields[2], fields[3]);
+		} catch (DateTimeException e) {
+			throw new IllegalArgumentException("Invalid timestamp: " + fields[1]);
+		}
+	}
+}
@@ -0,0 +1,39 @@
+package edu.ncsu.csc316.activity.stream;
+
+import java.io.IOException;
+
+/**
+ * Exception thrown when loading a log entry file rejects more rows than the
+ * error budget allows. Holds the statistics of the rows read before the load
+ * stopped, including their errors.
+ * 
+ * @author Michael Warstler (mwwarstl)
+ */
+public class LogLoadException extends IOException {
+
+	/** Serial version of the exception */
+	private static final long serialVersionUID = 1L;
+
+	/** Statistics of the rows read before the load stopped */
+	private final transient LoadStatistics statistics;
+
+	/**
+	 * Constructs a LogLoadException.
+	 * 
+	 * @param message    is reason the load stopped.
+	 * @param statistics is statistics of the rows read before the load stopped.
+	 */
+	public LogLoadException(String message, LoadStatistics statistics) {
+		super(message);
+		this.statistics = statistics;
+	}
+
+	/**
+	 * Gets the statistics of the rows read before the load stopped.
+	 * 
+	 * @return the statistics
+	 */
+	public LoadStatistics getStatistics() {
+		return statistics;
+	}
+}
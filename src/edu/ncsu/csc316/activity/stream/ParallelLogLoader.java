@@ -0,0 +1,332 @@
+package edu.ncsu.csc316.activity.stream;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.Reader;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import edu.ncsu.csc316.activity.data.LogEntry;
+import edu.ncsu.csc316.activity.dsa.DSAFactory;
+import edu.ncsu.csc316.dsa.list.List;
+
+/**
+ * Class loads a log entry file into a List of LogEntries, or passes each entry
+ * to a consumer such as a log store, parsing chunks of lines on worker threads. Lines that cannot be parsed are rejected and their
+ * errors collected instead of stopping the load, until more rows are rejected
+ * than the error budget allows. Workers share a count of rejected rows, so once
+ * the budget is exceeded they stop parsing and no more chunks are read. Accepted
+ * rows with an earlier time than the row before them are kept and counted as
+ * out of order. Each load keeps its own state, so a loader can run several loads
+ * at once; statistics of the last load to finish are available from
+ * getStatistics.
+ * 
+ * Chunks are merged in file order, so the List has the same order as the file.
+ * At most two chunks per thread are in memory at a time, so loading into a
+ * consumer never holds every entry of the file.
+ * 
+ * @author Michael Warstler (mwwarstl)
+ */
+public class ParallelLogLoader {
+
+	/** Default number of lines parsed by a worker at a time */
+	public static final int DEFAULT_CHUNK_LINES = 8192;
+
+	/** Number of worker threads */
+	private int threads;
+	/** Largest number of rejected rows before the load stops */
+	private long errorBudget;
+	/** Number of lines parsed by a worker at a time */
+	private int chunkLines;
+	/** Parses lines of the file, shared by the workers */
+	private LogLineParser parser = new LogLineParser();
+	/** Statistics of the last load to finish */
+	private volatile LoadStatistics statistics;
+
+	/**
+	 * Constructs a ParallelLogLoader with the default chunk size.
+	 * 
+	 * @param threads     is number of worker threads.
+	 * @param errorBudget is largest number of rejected rows before the load stops.
+	 * @throws IllegalArgumentException if threads is less than 1 or errorBudget is
+	 *                                  negative.
+	 */
+	public ParallelLogLoader(int threads, long errorBudget) {
+		this(threads, errorBudget, DEFAULT_CHUNK_LINES);
+	}
+
+	/**
+	 * Constructs a ParallelLogLoader.
+	 * 
+	 * @param threads     is number of worker threads.
+	 * @param errorBudget is largest number of rejected rows before the load stops.
+	 * @param chunkLines  is number of lines parsed by a worker at a time.
+	 * @throws IllegalArgumentException if threads or chunkLines is less than 1 or
+	 *                                  errorBudget is negative.
+	 */
+	public ParallelLogLoader(int threads, long errorBudget, int chunkLines) {
+		if (threads < 1) {
+			throw new IllegalArgumentException("Number of threads must be > 0");
+		}
+		if (errorBudget < 0) {
+			throw new IllegalArgumentException("Error budget must be >= 0");
+		}
+		if (chunkLines < 1) {
+			throw new IllegalArgumentException("Chunk size must be > 0 lines");
+		}
+		this.threads = threads;
+		this.errorBudget = errorBudget;
+		this.chunkLines = chunkLines;
+	}
+
+	/**
+	 * Loads the log entry file at a path. Gzip and BGZF compressed files are
+	 * decompressed while they are read, with BGZF blocks inflated on the worker
+	 * threads.
+	 * 
+	 * @param pathToFile is string representation of filename containing log
+	 *                   entries.
+	 * @return List of the accepted entries in file order.
+	 * @throws java.io.FileNotFoundException if the file cannot be located.
+	 * @throws LogLoadException              if more rows are rejected than the
+	 *                                       error budget.
+	 * @throws IOException                   if the file is zstd compressed or
+	 *                                       there is an error during reading.
+	 */
+	public List<LogEntry> load(String pathToFile) throws IOException {
+		return load(CompressedLogInput.open(pathToFile, threads));
+	}
+
+	/**
+	 * Loads the log entry file at a path, passing each accepted entry to the
+	 * consumer in file order. Gzip and BGZF compressed files are decompressed
+	 * while they are read, with BGZF blocks inflated on the worker threads.
+	 * 
+	 * @param pathToFile is string representation of filename containing log
+	 *                   entries.
+	 * @param consumer   is consumer of the accepted entries, called on this
+	 *                   thread.
+	 * @return statistics of the load.
+	 * @throws java.io.FileNotFoundException if the file cannot be located.
+	 * @throws LogLoadException              if more rows are rejected than the
+	 *                                       error budget.
+	 * @throws IOException                   if the file is zstd compressed or
+	 *                                       there is an error during reading.
+	 */
+	public LoadStatistics load(String pathToFile, Consumer<LogEntry> consumer) throws IOException {
+		return load(CompressedLogInput.open(pathToFile, threads), consumer);
+	}
+
+	/**
+	 * Loads log entry lines from a reader. The first line is skipped if it is the
+	 * header, and blank lines are skipped. The reader is closed when done.
+	 * 
+	 * @param input is reader of log entry lines.
+	 * @return List of the accepted entries in line order.
+	 * @throws LogLoadException if more rows are rejected than the error budget.
+	 * @throws IOException      if there is an error during reading.
+	 */
+	public List<LogEntry> load(Reader input) throws IOException {
+		List<LogEntry> entries = DSAFactory.getIndexedList();
+		load(input, entries::addLast);
+		return entries;
+	}
+
+	/**
+	 * Loads log entry lines from a reader, passing each accepted entry to the
+	 * consumer in line order. The first line is skipped if it is the header, and
+	 * blank lines are skipped. The reader is closed when done.
+	 * 
+	 * @param input    is reader of log entry lines.
+	 * @param consumer is consumer of the accepted entries, called on this thread.
+	 * @return statistics of the load.
+	 * @throws LogLoadException if more rows are rejected than the error budget.
+	 * @throws IOException      if there is an error during reading.
+	 */
+	public LoadStatistics load(Reader input, Consumer<LogEntry> consumer) throws IOException {
+		LoadState state = new LoadState();
+		long start = System.nanoTime();
+		ExecutorService pool = Executors.newFixedThreadPool(threads);
+		ArrayDeque<Future<ParsedChunk>> pending = new ArrayDeque<Future<ParsedChunk>>();
+
+		try (BufferedReader reader = new BufferedReader(input)) {
+			String line = reader.readLine();
+			long lineNumber = 1;
+			// Skip the header line.
+			if (line != null && parser.isHeader(line)) {
+				line = reader.readLine();
+				lineNumber++;
+			}
+			// Stop reading once the workers have rejected more rows than the budget.
+			while (line != null && state.rejected.get() <= errorBudget) {
+				// Read the next chunk on this thread and parse it on a worker.
+				final ParsedChunk chunk = new ParsedChunk(chunkLines, lineNumber);
+				while (line != null && chunk.size < chunkLines) {
+					chunk.lines[chunk.size] = line;
+					chunk.size++;
+					line = reader.readLine();
+					lineNumber++;
+				}
+				pending.addLast(pool.submit(() -> parseChunk(chunk, state.rejected)));
+
+				// Merge the oldest chunk before reading too far ahead.
+				if (pending.size() >= threads * 2) {
+					merge(pending.removeFirst().get(), consumer, state);
+				}
+			}
+			while (!pending.isEmpty()) {
+				merge(pending.removeFirst().get(), consumer, state);
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted while loading log entries");
+		} catch (ExecutionException e) {
+			throw new IOException("Parse worker failed", e.getCause());
+		} finally {
+			pool.shutdownNow();
+			state.statistics.setElapsedNanos(System.nanoTime() - start);
+			statistics = state.statistics;
+		}
+		return state.statistics;
+	}
+
+	/**
+	 * Gets the statistics of the last load to finish, including a load that
+	 * stopped.
+	 * 
+	 * @return the statistics, or null if nothing has been loaded.
+	 */
+	public LoadStatistics getStatistics() {
+		return statistics;
+	}
+
+	/**
+	 * Parses the lines of a chunk, counting rejected lines in the count shared by
+	 * every worker of the load. Parsing stops early once the load has rejected
+	 * more rows than the error budget. Runs on a worker thread.
+	 * 
+	 * @param chunk    is chunk of lines to parse.
+	 * @param rejected is number of rows rejected by every worker of the load.
+	 * @return the parsed chunk.
+	 */
+	private ParsedChunk parseChunk(ParsedChunk chunk, AtomicLong rejected) {
+		while (chunk.parsed < chunk.size && rejected.get() <= errorBudget) {
+			if (parseLine(chunk, chunk.parsed)) {
+				rejected.incrementAndGet();
+			}
+			chunk.parsed++;
+		}
+		return chunk;
+	}
+
+	/**
+	 * Parses a line of a chunk into its entry or error. Blank lines have neither.
+	 * 
+	 * @param chunk is chunk holding the line.
+	 * @param i     is index of the line in the chunk.
+	 * @return true if the line was rejected.
+	 */
+	private boolean parseLine(ParsedChunk chunk, int i) {
+		String line = chunk.lines[i];
+		if (line.trim().isEmpty()) {
+			return false;
+		}
+		try {
+			chunk.entries[i] = parser.parse(line);
+			return false;
+		} catch (IllegalArgumentException e) {
+			chunk.errors[i] = new LineError(chunk.firstLine + i, e.getMessage(), line);
+			return true;
+		}
+	}
+
+	/**
+	 * Passes the accepted entries of a chunk to the consumer and records its
+	 * statistics. Lines a worker left unparsed after the budget was exceeded are
+	 * parsed here, so the load stops at the same row whichever worker went over
+	 * the budget first.
+	 * 
+	 * @param chunk    is parsed chunk.
+	 * @param consumer is consumer of the accepted entries.
+	 * @param state    is state of the load.
+	 * @throws LogLoadException if more rows are rejected than the error budget.
+	 */
+	private void merge(ParsedChunk chunk, Consumer<LogEntry> consumer, LoadState state) throws LogLoadException {
+		LoadStatistics stats = state.statistics;
+		for (int i = 0; i < chunk.size; i++) {
+			if (i >= chunk.parsed) {
+				parseLine(chunk, i);
+			}
+			LogEntry entry = chunk.entries[i];
+			if (entry != null) {
+				LocalDateTime timestamp = entry.getTimestamp();
+				stats.addAccepted(state.lastTimestamp != null && timestamp.isBefore(state.lastTimestamp));
+				state.lastTimestamp = timestamp;
+				consumer.accept(entry);
+			} else if (chunk.errors[i] != null) {
+				stats.addRejected(chunk.errors[i]);
+				if (stats.getRowsRejected() > errorBudget) {
+					throw new LogLoadException("Rejected more than " + errorBudget + " rows, last at "
+							+ chunk.errors[i], stats);
+				}
+			}
+		}
+	}
+
+	/**
+	 * State of a single load. Only the rejected count is shared with workers.
+	 * 
+	 * @author Michael Warstler (mwwarstl)
+	 */
+	private static class LoadState {
+
+		/** Statistics of the load */
+		private LoadStatistics statistics = new LoadStatistics();
+		/** Time of the last accepted row, used to find out of order rows */
+		private LocalDateTime lastTimestamp;
+		/** Number of rows rejected by every worker of the load */
+		private AtomicLong rejected = new AtomicLong();
+	}
+
+	/**
+	 * Lines of a chunk with their entries and errors. Each parsed line has an
+	 * entry, an error, or neither if it is blank.
+	 * 
+	 * @author Michael Warstler (mwwarstl)
+	 */
+	private static class ParsedChunk {
+
+		/** Lines of the chunk */
+		private String[] lines;
+		/** Number of lines in the chunk */
+		private int size;
+		/** Line number of the first line */
+		private long firstLine;
+		/** Number of lines parsed by the worker, from the start of the chunk */
+		private int parsed;
+		/** Entry of each accepted line */
+		private LogEntry[] entries;
+		/** Error of each rejected line */
+		private LineError[] errors;
+
+		/**
+		 * Constructs an empty ParsedChunk with room for a number of lines.
+		 * 
+		 * @param capacity  is largest number of lines.
+		 * @param firstLine is line number of the first line.
+		 */
+		ParsedChunk(int capacity, long firstLine) {
+			this.firstLine = firstLine;
+			lines = new String[capacity];
+			entries = new LogEntry[capacity];
+			errors = new LineError[capacity];
+		}
+	}
+}
@@ -0,0 +1,164 @@
+package edu.ncsu.csc316.activity.stream;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.function.Predicate;
+
+import edu.ncsu.csc316.activity.data.LogEntry;
+import edu.ncsu.csc316.activity.dsa.DSAFactory;
+import edu.ncsu.csc316.dsa.list.List;
+
+/**
+ * Class reads a log entry file in one pass and sends each parsed entry through
+ * pluggable aggregation stages (such as frequency, date and hour counters) and
+ * filters, built on java.util.concurrent.Flow. Entries are not kept after the
+ * stages receive them, so memory is bounded by the aggregates instead of the
+ * number of lines. When a stage falls behind, the reader blocks until the stage
+ * requests more entries.
+ * 
+ * Stages and filters must be added before the pipeline is run. A pipeline runs
+ * once, since its stages complete when the input ends; create a new pipeline
+ * to read another file.
+ * 
+ * @author Michael Warstler (mwwarstl)
+ */
+public class StreamingLogPipeline {
+
+	/** Publishes parsed entries to the stages */
+	private SubmissionPublisher<LogEntry> publisher = new SubmissionPublisher<LogEntry>();
+	/** Every aggregation stage of the pipeline, including those behind filters */
+	private List<AggregationStage> stages = DSAFactory.getIndexedList();
+	/** Parses lines of the file */
+	private LogLineParser parser = new LogLineParser();
+	/** Number of lines parsed into entries */
+	private long acceptedLines;
+	/** Number of lines that could not be parsed */
+	private long rejectedLines;
+	/** Whether the pipeline has been run */
+	private boolean ran;
+
+	/**
+	 * Adds an aggregation stage that receives every entry.
+	 * 
+	 * @param <S>   is type of aggregation stage.
+	 * @param stage is aggregation stage to add.
+	 * @return the added stage.
+	 */
+	public <S extends AggregationStage> S addStage(S stage) {
+		register(stage);
+		publisher.subscribe(stage);
+		return stage;
+	}
+
+	/**
+	 * Adds a filter that passes only entries matching the predicate on to the
+	 * stages added to it.
+	 * 
+	 * @param predicate is predicate entries must match to be passed on.
+	 * @return the added filter.
+	 */
+	public FilterStage addFilter(Predicate<LogEntry> predicate) {
+		FilterStage filter = new FilterStage(this, predicate);
+		publisher.subscribe(filter);
+		return filter;
+	}
+
+	/**
+	 * Reads the log entry file at the path and sends its entries through the
+	 * stages, then waits for every stage to finish. Gzip and BGZF compressed files
+	 * are decompressed while they are read.
+	 * 
+	 * @param pathToFile is string representation of filename containing log
+	 *                   entries.
+	 * @throws IOException           if file cannot be located or has error during
+	 *                               reading.
+	 * @throws IllegalStateException if the pipeline has already been run.
+	 */
+	public void run(String pathToFile) throws IOException {
+		checkNotRun();
+		run(CompressedLogInput.open(pathToFile, Runtime.getRuntime().availableProcessors()));
+	}
+
+	/**
+	 * Reads log entry lines from the reader and sends the entries through the
+	 * stages, then waits for every stage to finish. Lines that cannot be parsed
+	 * are skipped and counted. The reader is closed when done.
+	 * 
+	 * @param input is reader of log entry lines.
+	 * @throws IOException           if there is an error during reading.
+	 * @throws IllegalStateException if the pipeline has already been run.
+	 */
+	public void run(Reader input) throws IOException {
+		checkNotRun();
+		ran = true;
+		try (BufferedReader reader = new BufferedReader(input)) {
+			String line = reader.readLine();
+			// Skip the header line.
+			if (line != null && parser.isHeader(line)) {
+				line = reader.readLine();
+			}
+			while (line != null) {
+				if (!line.trim().isEmpty()) {
+					try {
+						// Blocks while any stage's buffer is full.
+						publisher.submit(parser.parse(line));
+						acceptedLines++;
+					} catch (IllegalArgumentException e) {
+						rejectedLines++;
+					}
+				}
+				line = reader.readLine();
+			}
+		} catch (IOException e) {
+			publisher.closeExceptionally(e);
+			throw e;
+		}
+		publisher.close();
+
+		// Wait for every stage to receive all entries.
+		for (int i = 0; i < stages.size(); i++) {
+			stages.get(i).awaitCompletion();
+		}
+	}
+
+	/**
+	 * Gets the number of lines parsed into entries.
+	 * 
+	 * @return the acceptedLines
+	 */
+	public long getAcceptedLines() {
+		return acceptedLines;
+	}
+
+	/**
+	 * Gets the number of lines that could not be parsed.
+	 * 
+	 * @return the rejectedLines
+	 */
+	public long getRejectedLines() {
+		return rejectedLines;
+	}
+
+	/**
+	 * Checks that the pipeline has not been run. The publisher is closed at the
+	 * end of a run, so the stages cannot receive another file.
+	 * 
+	 * @throws IllegalStateException if the pipeline has already been run.
+	 */
+	private void checkNotRun() {
+		if (ran) {
+			throw new IllegalStateException("A StreamingLogPipeline can only be run once");
+		}
+	}
+
+	/**
+	 * Registers an aggregation stage so the pipeline waits for it to finish.
+	 * 
+	 * @param stage is aggregation stage of the pipeline.
+	 */
+	void register(AggregationStage stage) {
+		stages.addLast(stage);
+	}
+}
@@ -0,0 +1,343 @@
+package edu.ncsu.csc316.activity.ui;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import edu.ncsu.csc316.activity.dsa.DSAFactory;
+import edu.ncsu.csc316.activity.dsa.DataStructure;
+import edu.ncsu.csc316.activity.manager.BucketSize;
+import edu.ncsu.csc316.activity.manager.DistinctCountMode;
+import edu.ncsu.csc316.activity.manager.InvalidReportException;
+import edu.ncsu.csc316.activity.manager.ReportManager;
+import edu.ncsu.csc316.activity.manager.StorageType;
+import edu.ncsu.csc316.activity.stream.LoadStatistics;
+import edu.ncsu.csc316.activity.stream.ParallelLogLoader;
+import edu.ncsu.csc316.dsa.list.List;
+
+/**
+ * Class runs a batch of reports against one loaded log without prompts, for
+ * scheduled jobs. The log is loaded once, then the reports run in parallel on a
+ * worker pool. Each report is written to its own file in the output directory
+ * and a timing summary is printed per report.
+ * 
+ * Report commands are:
+ * <ul>
+ * <li>top:N or top:OFFSET:LIMIT (Frequency of activity)</li>
+ * <li>range:MM/DD/YYYY:MM/DD/YYYY:N (Frequency of activity over dates)</li>
+ * <li>date:MM/DD/YYYY (Date of activity)</li>
+ * <li>hour:H (Hour of activity)</li>
+ * <li>distinct:N (Distinct users of activity)</li>
+ * <li>sessions:GAP_MINUTES:LENGTH:N (User sessions)</li>
+ * <li>anomalies:HOUR|DATE:THRESHOLD:N (Spikes in activity)</li>
+ * </ul>
+ * 
+ * The ReportManager is set to throw an InvalidReportException for invalid
+ * report parameters (such as a number < 1), so such a report fails like an
+ * unknown command. Any exception a report throws is recorded as the failure of
+ * that report only, and the run exits with status 1.
+ * 
+ * @author Michael Warstler (mwwarstl)
+ */
+public class BatchReportRunner {
+
+	/** Usage message for batch mode arguments */
+	public static final String USAGE = "Usage: UserActivityLogManagerUI <log file> [--out <dir>] [--threads <n>]"
+			+ " [--error-budget <n>] [--exact-distinct] [--script <file>] [command ...]\n"
+			+ "Commands: top:N, top:OFFSET:LIMIT, range:FROM:TO:N, date:MM/DD/YYYY, hour:H, distinct:N,"
+			+ " sessions:GAP_MINUTES:LENGTH:N, anomalies:HOUR|DATE:THRESHOLD:N\n"
+			+ "  --error-budget <n>  rejected log lines allowed before the load fails (default 1000,"
+			+ " 0 fails on any bad line)\n"
+			+ "  --exact-distinct    count distinct users exactly instead of estimating with HyperLogLog\n"
+			+ "Exit status: 0 if every report ran, 1 if a report failed or the reports could not be written,"
+			+ " 2 if the arguments or log file are invalid\n";
+	/** Default directory reports are written to */
+	public static final String DEFAULT_OUTPUT_DIRECTORY = "reports";
+	/** Default number of rejected log lines allowed before the load fails */
+	public static final long DEFAULT_ERROR_BUDGET = 1000;
+	/** Separator between the parts of a command */
+	private static final String COMMAND_SEPARATOR = ":";
+
+	/** ReportManager used for generating reports */
+	private ReportManager reportManager;
+	/** Number of reports run at a time */
+	private int threads;
+	/** Mode used to count distinct users for distinct reports */
+	private DistinctCountMode distinctUserMode = DistinctCountMode.HYPERLOGLOG;
+
+	/**
+	 * Constructs a BatchReportRunner for a loaded log. The ReportManager is set to
+	 * throw on invalid report input instead of returning the error message.
+	 * 
+	 * @param reportManager is ReportManager of the loaded log.
+	 * @param threads       is number of reports run at a time.
+	 * @throws IllegalArgumentException if threads is less than 1.
+	 */
+	public BatchReportRunner(ReportManager reportManager, int threads) {
+		if (threads < 1) {
+			throw new IllegalArgumentException("Number of threads must be > 0");
+		}
+		this.reportManager = reportManager;
+		this.reportManager.setThrowOnInvalidInput(true);
+		this.threads = threads;
+	}
+
+	/**
+	 * Sets the mode used to count distinct users when the batch has a distinct
+	 * report. HYPERLOGLOG (the default) estimates with a small fixed amount of
+	 * memory per key; EXACT keeps every username.
+	 * 
+	 * @param distinctUserMode is EXACT or HYPERLOGLOG.
+	 * @throws IllegalArgumentException if the mode is null or OFF.
+	 */
+	public void setDistinctUserMode(DistinctCountMode distinctUserMode) {
+		if (distinctUserMode == null || distinctUserMode == DistinctCountMode.OFF) {
+			throw new IllegalArgumentException("Distinct reports need EXACT or HYPERLOGLOG counting");
+		}
+		this.distinctUserMode = distinctUserMode;
+	}
+
+	/**
+	 * Runs one report command.
+	 * 
+	 * @param command is report command such as "top:10" or "hour:21".
+	 * @return output string of the report.
+	 * @throws IllegalArgumentException if the command is not a known report or
+	 *                                  its parameters are not numbers.
+	 * @throws InvalidReportException   if the report parameters are invalid.
+	 */
+	public String runReport(String command) {
+		String[] parts = command.trim().split(COMMAND_SEPARATOR);
+		String name = parts[0].toLowerCase(Locale.ROOT);
+		if ("top".equals(name) && parts.length == 2) {
+			return reportManager.getTopUserActivitiesReport(Integer.parseInt(parts[1]));
+		} else if ("top".equals(name) && parts.length == 3) {
+			return reportManager.getTopUserActivitiesReport(Integer.parseInt(parts[1]), Integer.parseInt(parts[2]));
+		} else if ("range".equals(name) && parts.length == 4) {
+			return reportManager.getTopUserActivitiesReport(parts[1], parts[2], Integer.parseInt(parts[3]));
+		} else if ("date".equals(name) && parts.length == 2) {
+			return reportManager.getDateReport(parts[1]);
+		} else if ("hour".equals(name) && parts.length == 2) {
+			return reportManager.getHourReport(Integer.parseInt(parts[1]));
+		} else if ("distinct".equals(name) && parts.length == 2) {
+			return reportManager.getDistinctUsersReport(Integer.parseInt(parts[1]));
+		} else if ("sessions".equals(name) && parts.length == 4) {
+			return reportManager.getSessionReport(Integer.parseInt(parts[1]), Integer.parseInt(parts[2]),
+					Integer.parseInt(parts[3]));
+		} else if ("anomalies".equals(name) && parts.length == 4) {
+			return reportManager.getAnomalyReport(BucketSize.valueOf(parts[1].toUpperCase(Locale.ROOT)),
+					Double.parseDouble(parts[2]), Integer.parseInt(parts[3]));
+		}
+		throw new IllegalArgumentException("Unknown report command: " + command);
+	}
+
+	/**
+	 * Runs every report command on the worker pool, writes each report to its own
+	 * file in the output directory, and prints a timing line per report in
+	 * command order.
+	 * 
+	 * @param commands        is report commands to run.
+	 * @param outputDirectory is directory the reports are written to.
+	 * @param summary         is stream the timing summary is printed to.
+	 * @return number of reports that failed.
+	 * @throws IOException if the output directory cannot be created.
+	 */
+	public int runAll(List<String> commands, String outputDirectory, PrintStream summary) throws IOException {
+		Path directory = Paths.get(outputDirectory);
+		Files.createDirectories(directory);
+
+		// Distinct users are counted by the frequency scan, so turn counting on
+		// before reports run in parallel.
+		for (int i = 0; i < commands.size(); i++) {
+			if (commands.get(i).trim().toLowerCase(Locale.ROOT).startsWith("distinct" + COMMAND_SEPARATOR)) {
+				reportManager.setDistinctUserMode(distinctUserMode);
+				break;
+			}
+		}
+
+		ExecutorService pool = Executors.newFixedThreadPool(threads);
+		try {
+			List<Future<ReportResult>> results = DSAFactory.getIndexedList();
+			for (int i = 0; i < commands.size(); i++) {
+				final String command = commands.get(i);
+				final Path file = directory.resolve(getFileName(i + 1, command));
+				results.addLast(pool.submit(() -> runTimed(command, file)));
+			}
+
+			int failures = 0;
+			for (int i = 0; i < results.size(); i++) {
+				ReportResult result = results.get(i).get();
+				if (result.failed) {
+					failures++;
+				}
+				summary.println(result.line);
+			}
+			return failures;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException("Interrupted while running reports", e);
+		} catch (ExecutionException e) {
+			throw new IOException("Report worker failed", e.getCause());
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+
+	/**
+	 * Runs one report and writes it to a file. Runs on a worker thread. Any
+	 * exception of the report is returned as its failure, so other reports still
+	 * run.
+	 * 
+	 * @param command is report command.
+	 * @param file    is file the report is written to.
+	 * @return timing summary of the report.
+	 */
+	private ReportResult runTimed(String command, Path file) {
+		long start = System.nanoTime();
+		try {
+			String report = runReport(command);
+			Files.write(file, report.getBytes(StandardCharsets.UTF_8));
+			double millis = (System.nanoTime() - start) / 1e6;
+			return new ReportResult(String.format(Locale.US, "%10.1f ms  %s -> %s", millis, command, file), false);
+		} catch (RuntimeException | IOException e) {
+			double millis = (System.nanoTime() - start) / 1e6;
+			String message = e.getMessage() == null ? e.getClass().getSimpleName() : e.getMessage().trim();
+			return new ReportResult(String.format(Locale.US, "%10.1f ms  %s FAILED: %s", millis, command, message),
+					true);
+		}
+	}
+
+	/**
+	 * Gets the file name of a report from its position and command, such as
+	 * "01-top_10.txt".
+	 * 
+	 * @param index   is position of the command, starting at 1.
+	 * @param command is report command.
+	 * @return file name of the report.
+	 */
+	public static String getFileName(int index, String command) {
+		return String.format(Locale.US, "%02d-%s.txt", index, command.trim().replaceAll("[^A-Za-z0-9.]+", "_"));
+	}
+
+	/**
+	 * Reads report commands from a script file, one per line. Blank lines and
+	 * lines starting with # are skipped.
+	 * 
+	 * @param pathToScript is path of the script file.
+	 * @param commands     is list the commands are added to.
+	 * @throws IOException if the script cannot be read.
+	 */
+	public static void readScript(String pathToScript, List<String> commands) throws IOException {
+		java.util.List<String> lines = Files.readAllLines(Paths.get(pathToScript));
+		for (int i = 0; i < lines.size(); i++) {
+			String line = lines.get(i).trim();
+			if (!line.isEmpty() && !line.startsWith("#")) {
+				commands.addLast(line);
+			}
+		}
+	}
+
+	/**
+	 * Runs batch mode from command line arguments: loads the log file, runs the
+	 * report commands from the arguments and script, and prints the load and
+	 * report timings.
+	 * 
+	 * @param args is log file, options, and report commands.
+	 * @param out  is stream messages and the timing summary are printed to.
+	 * @return exit code, 0 if every report ran, 1 if a report failed or the
+	 *         reports could not be written, 2 if the arguments or log file are invalid.
+	 */
+	public static int run(String[] args, PrintStream out) {
+		String outputDirectory = DEFAULT_OUTPUT_DIRECTORY;
+		int threads = Runtime.getRuntime().availableProcessors();
+		long errorBudget = DEFAULT_ERROR_BUDGET;
+		boolean exactDistinct = false;
+		List<String> commands = DSAFactory.getIndexedList();
+		String fileName = null;
+
+		try {
+			for (int i = 0; i < args.length; i++) {
+				if ("--out".equals(args[i]) && i + 1 < args.length) {
+					outputDirectory = args[++i];
+				} else if ("--threads".equals(args[i]) && i + 1 < args.length) {
+					threads = Integer.parseInt(args[++i]);
+				} else if ("--error-budget".equals(args[i]) && i + 1 < args.length) {
+					errorBudget = Long.parseLong(args[++i]);
+				} else if ("--exact-distinct".equals(args[i])) {
+					exactDistinct = true;
+				} else if ("--script".equals(args[i]) && i + 1 < args.length) {
+					readScript(args[++i], commands);
+				} else if (args[i].startsWith("--")) {
+					throw new IllegalArgumentException("Unknown option " + args[i]);
+				} else if (fileName == null) {
+					fileName = args[i];
+				} else {
+					commands.addLast(args[i]);
+				}
+			}
+			if (fileName == null || commands.isEmpty()) {
+				throw new IllegalArgumentException("A log file and at least one report command are required");
+			}
+
+			// Load the log once for every report.
+			ParallelLogLoader loader = new ParallelLogLoader(threads, errorBudget);
+			ReportManager reportManager = new ReportManager(fileName, DataStructure.LINEARPROBINGHASHMAP,
+					StorageType.HEAP, loader);
+			LoadStatistics stats = reportManager.getLoadStatistics();
+			out.printf(Locale.US, "%10.1f ms  load %s (%s)%n", stats.getElapsedNanos() / 1e6, fileName, stats);
+			for (int i = 0; i < stats.getErrors().size(); i++) {
+				out.println("            " + stats.getErrors().get(i));
+			}
+
+			BatchReportRunner runner = new BatchReportRunner(reportManager, threads);
+			if (exactDistinct) {
+				runner.setDistinctUserMode(DistinctCountMode.EXACT);
+			}
+			try {
+				return runner.runAll(commands, outputDirectory, out) == 0 ? 0 : 1;
+			} catch (IOException e) {
+				out.println("Reports could not be written: " + e.getMessage());
+				return 1;
+			}
+		} catch (IllegalArgumentException e) {
+			out.println(e.getMessage());
+			out.print(USAGE);
+			return 2;
+		} catch (IOException e) {
+			out.println("File does not exist or cannot be read: " + e.getMessage());
+			return 2;
+		}
+	}
+
+	/**
+	 * Timing summary of one report run.
+	 * 
+	 * @author Michael Warstler (mwwarstl)
+	 */
+	private static class ReportResult {
+
+		/** Timing summary line of the report */
+		private String line;
+		/** Whether the report failed */
+		private boolean failed;
+
+		/**
+		 * Constructs a ReportResult.
+		 * 
+		 * @param line   is timing summary line of the report.
+		 * @param failed is true if the report failed.
+		 */
+		ReportResult(String line, boolean failed) {
+			this.line = line;
+			this.failed = failed;
+		}
+	}
+}
@@ -20,9 +20,18 @@ public class UserActivityLogManagerUI {
 	 * User has the option of generating a report of most frequent activities,
 	 * activities by date, and activity by hour.
 	 * 
-	 * @param args for command line arguments NOT used.
+	 * When arguments are given, runs in batch mode instead: the log file in the
+	 * arguments is loaded once and the report commands in the arguments or a
+	 * script file are run without prompts (see BatchReportRunner).
+	 * 
+	 * @param args for command line arguments, a log file and report commands for
+	 *             batch mode, or none for prompts.
 	 */
 	public static void main(String[] args) {
+		// Batch mode when a log file and report commands are given.
+		if (args.length > 0) {
+			System.exit(BatchReportRunner.run(args, System.out));
+		}
 
 		// Setup Scanner to read input.
 		Scanner scnr = new Scanner(System.in);
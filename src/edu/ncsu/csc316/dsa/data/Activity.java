@@ -12,8 +12,10 @@ public class Activity implements Comparable<Activity> {
 
 	/** Frequency of a particular Activity */
 	private int frequency;
-	/** Activity description in format of "frequency: action resource\n" */
+	/** Activity description in format of "action resource" */
 	private String description;
+	/** Case-folded description used to sort Activities alphabetically */
+	private String sortKey;
 
 	/**
 	 * Constructs an Activity object. Similar to a LogEntry but contains information
@@ -25,10 +27,7 @@ public class Activity implements Comparable<Activity> {
 	 */
 	public Activity(int freq, String description) {
 		frequency = freq;
-		StringBuilder builder = new StringBuilder(String.valueOf(frequency));
-		builder.append(": ");
-		builder.append(description);
-		setDescription(builder.toString());
+		setDescription(description);
 	}
 
 	/**
@@ -41,27 +40,58 @@ public class Activity implements Comparable<Activity> {
 	}
 
 	/**
-	 * Gets the description field.
+	 * Gets the description of the Activity for reports, in the format of
+	 * "frequency: action resource". The string is built on each call so that only
+	 * reported Activities are formatted.
 	 * 
 	 * @return the description
 	 */
 	public String getDescription() {
+		StringBuilder builder = new StringBuilder(String.valueOf(frequency));
+		builder.append(": ");
+		builder.append(description);
+		return builder.toString();
+	}
+
+	/**
+	 * Gets the description of the Activity without its frequency, in the format
+	 * of "action resource".
+	 * 
+	 * @return the name
+	 */
+	public String getName() {
 		return description;
 	}
 
 	/**
-	 * Sets the description field.
+	 * Sets the description field and builds the case-folded sort key.
 	 * 
-	 * @param description is description string of activity.
+	 * @param description is LogEntry's action + resource together in unique String.
 	 */
 	public void setDescription(String description) {
 		this.description = description;
+
+		// Fold each character the same way String.compareToIgnoreCase does.
+		char[] folded = description.toCharArray();
+		for (int i = 0; i < folded.length; i++) {
+			folded[i] = Character.toLowerCase(Character.toUpperCase(folded[i]));
+		}
+		sortKey = new String(folded);
+	}
+
+	/**
+	 * Gets the case-folded description used to sort Activities alphabetically.
+	 * 
+	 * @return the sortKey
+	 */
+	public String getSortKey() {
+		return sortKey;
 	}
 
 	/**
 	 * Used in NaturalOrder-->Compare to compare 2 Activities frequency and
 	 * description. Used to sort Activities in descending frequency and ascending
-	 * alphabetical description.
+	 * alphabetical description, ignoring case.
 	 * 
 	 * @param other is other Activity to compare to this one.
 	 * @return is -1 if this Activity comes before the other, 0 if they are equal,
@@ -71,8 +101,8 @@ public class Activity implements Comparable<Activity> {
 	public int compareTo(Activity other) {
 		// If frequencies match
 		if (frequency == other.getFrequency()) {
-			// Utilize standard String.compareTo to sort alphabetically.
-			return description.compareToIgnoreCase(other.getDescription()); 
+			// Compare precomputed case-folded keys to sort alphabetically.
+			return sortKey.compareTo(other.getSortKey());
 		}
 		// Otherwise, frequencies don't match
 		else {
@@ -0,0 +1,133 @@
+package edu.ncsu.csc316.dsa.data;
+
+import java.util.Locale;
+
+/**
+ * Class is an activity count in one time bucket that deviates from the
+ * activity's baseline. The score is the number of standard deviations the count
+ * is above the baseline. Anomaly's compareTo method sorts by descending score,
+ * then alphabetically by activity, then by time.
+ * 
+ * @author Michael Warstler (mwwarstl)
+ */
+public class Anomaly implements Comparable<Anomaly> {
+
+	/** Activity in the format of "action resource" */
+	private String activity;
+	/** Time bucket of the count */
+	private long bucket;
+	/** Readable time of the bucket */
+	private String bucketLabel;
+	/** Number of entries of the activity in the bucket */
+	private int count;
+	/** Expected number of entries of the activity in the bucket */
+	private double baseline;
+	/** Standard deviations of the count above the baseline */
+	private double score;
+
+	/**
+	 * Constructs an Anomaly.
+	 * 
+	 * @param activity    is activity in the format of "action resource".
+	 * @param bucket      is time bucket of the count.
+	 * @param bucketLabel is readable time of the bucket.
+	 * @param count       is number of entries of the activity in the bucket.
+	 * @param baseline    is expected number of entries in the bucket.
+	 * @param score       is standard deviations of the count above the baseline.
+	 */
+	public Anomaly(String activity, long bucket, String bucketLabel, int count, double baseline, double score) {
+		this.activity = activity;
+		this.bucket = bucket;
+		this.bucketLabel = bucketLabel;
+		this.count = count;
+		this.baseline = baseline;
+		this.score = score;
+	}
+
+	/**
+	 * Gets the activity.
+	 * 
+	 * @return the activity
+	 */
+	public String getActivity() {
+		return activity;
+	}
+
+	/**
+	 * Gets the time bucket of the count.
+	 * 
+	 * @return the bucket
+	 */
+	public long getBucket() {
+		return bucket;
+	}
+
+	/**
+	 * Gets the readable time of the bucket.
+	 * 
+	 * @return the bucketLabel
+	 */
+	public String getBucketLabel() {
+		return bucketLabel;
+	}
+
+	/**
+	 * Gets the number of entries of the activity in the bucket.
+	 * 
+	 * @return the count
+	 */
+	public int getCount() {
+		return count;
+	}
+
+	/**
+	 * Gets the expected number of entries of the activity in the bucket.
+	 * 
+	 * @return the baseline
+	 */
+	public double getBaseline() {
+		return baseline;
+	}
+
+	/**
+	 * Gets the standard deviations of the count above the baseline.
+	 * 
+	 * @return the score
+	 */
+	public double getScore() {
+		return score;
+	}
+
+	/**
+	 * Gets the description of the anomaly in the format of "score: activity at
+	 * time (count entries, baseline mean)", such as "19.00: delete doc at
+	 * 01/03/1970 02:00AM (20 entries, baseline 1.00)". The score and baseline mean
+	 * have 2 decimal places and always use '.' as the decimal point.
+	 * 
+	 * @return the description
+	 */
+	public String getDescription() {
+		return String.format(Locale.US, "%.2f: %s at %s (%d entries, baseline %.2f)", score, activity, bucketLabel,
+				count, baseline);
+	}
+
+	/**
+	 * Compares two Anomalies by descending score, then ascending activity, then
+	 * ascending time.
+	 * 
+	 * @param other is Anomaly to compare to.
+	 * @return negative if this Anomaly sorts first, positive if other sorts first,
+	 *         0 if they are equal.
+	 */
+	@Override
+	public int compareTo(Anomaly other) {
+		int result = Double.compare(other.score, score);
+		if (result == 0) {
+			result = activity.compareTo(other.activity);
+		}
+		if (result == 0) {
+			result = Long.compare(bucket, other.bucket);
+		}
+		return result;
+	}
+}
@@ -0,0 +1,42 @@
+package edu.ncsu.csc316.dsa.data;
+
+/**
+ * Interface for counting the number of distinct values (such as usernames) seen
+ * in a stream of values. Counters of the same type and settings can be merged
+ * to count the distinct values of both.
+ * 
+ * @author Michael Warstler (mwwarstl)
+ */
+public interface DistinctCounter {
+
+	/**
+	 * Adds a value to the counter.
+	 * 
+	 * @param value is value to add.
+	 */
+	void add(String value);
+
+	/**
+	 * Gets the number of distinct values added, which may be an estimate.
+	 * 
+	 * @return number of distinct values.
+	 */
+	long count();
+
+	/**
+	 * Adds the values of another counter to this counter.
+	 * 
+	 * @param other is counter to merge into this one.
+	 * @throws IllegalArgumentException if the other counter cannot be merged with
+	 *                                  this one.
+	 */
+	void merge(DistinctCounter other);
+
+	/**
+	 * Creates a copy of the counter, so the copy can be added to or merged
+	 * without changing this counter.
+	 * 
+	 * @return the copy.
+	 */
+	DistinctCounter copy();
+}
@@ -0,0 +1,71 @@
+package edu.ncsu.csc316.dsa.data;
+
+import java.util.Iterator;
+
+import edu.ncsu.csc316.activity.dsa.DSAFactory;
+import edu.ncsu.csc316.dsa.map.Map;
+
+/**
+ * Class counts distinct values exactly by keeping every distinct value in a map.
+ * Memory grows with the number of distinct values, so this counter is meant for
+ * small logs and for checking the accuracy of HyperLogLog.
+ * 
+ * @author Michael Warstler (mwwarstl)
+ */
+public class ExactDistinctCounter implements DistinctCounter {
+
+	/** Distinct values added, used as keys */
+	private Map<String, Boolean> values = DSAFactory.getMap(null);
+
+	/**
+	 * Adds a value to the map of distinct values.
+	 * 
+	 * @param value is value to add.
+	 */
+	@Override
+	public void add(String value) {
+		if (values.isEmpty() || values.get(value) == null) {
+			values.put(value, Boolean.TRUE);
+		}
+	}
+
+	/**
+	 * Gets the exact number of distinct values added.
+	 * 
+	 * @return number of distinct values.
+	 */
+	@Override
+	public long count() {
+		return values.size();
+	}
+
+	/**
+	 * Adds the distinct values of another ExactDistinctCounter to this counter.
+	 * 
+	 * @param other is counter to merge into this one.
+	 * @throws IllegalArgumentException if the other counter is not an
+	 *                                  ExactDistinctCounter.
+	 */
+	@Override
+	public void merge(DistinctCounter other) {
+		if (!(other instanceof ExactDistinctCounter)) {
+			throw new IllegalArgumentException("Can only merge with another ExactDistinctCounter");
+		}
+		Iterator<String> it = ((ExactDistinctCounter) other).values.iterator();
+		while (it.hasNext()) {
+			add(it.next());
+		}
+	}
+
+	/**
+	 * Creates a copy of the counter holding the same distinct values.
+	 * 
+	 * @return the copy.
+	 */
+	@Override
+	public ExactDistinctCounter copy() {
+		ExactDistinctCounter copy = new ExactDistinctCounter();
+		copy.merge(this);
+		return copy;
+	}
+}
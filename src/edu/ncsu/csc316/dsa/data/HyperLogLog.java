@@ -0,0 +1,272 @@
+package edu.ncsu.csc316.dsa.data;
+
+/**
+ * Class estimates the number of distinct values with a HyperLogLog sketch. Each
+ * value is hashed to 64 bits; the first p bits pick one of 2^p registers, and
+ * the register keeps the longest run of leading zeros seen in the remaining
+ * bits. The typical relative error is about 1.04 / sqrt(2^p). Sketches with the
+ * same precision are merged by taking the larger value of each register.
+ * 
+ * A new sketch is sparse: it keeps only the registers that have been set, as
+ * sorted (register, rank) pairs of 4 bytes each. Once the pairs would use as
+ * much memory as the 2^p byte register array, the sketch switches to the dense
+ * array. Keys with few distinct values (such as rare activities) therefore use
+ * a few bytes instead of 2^p, and both forms give the same estimate.
+ * 
+ * @author Michael Warstler (mwwarstl)
+ */
+public class HyperLogLog implements DistinctCounter {
+
+	/** Default precision, 4096 registers with about 1.6% error */
+	public static final int DEFAULT_PRECISION = 12;
+	/** Smallest allowed precision */
+	private static final int MIN_PRECISION = 4;
+	/** Largest allowed precision */
+	private static final int MAX_PRECISION = 16;
+	/** Initial number of pairs of a sparse sketch */
+	private static final int INITIAL_SPARSE_CAPACITY = 4;
+	/** Bits of a sparse pair that hold the rank */
+	private static final int RANK_BITS = 8;
+
+	/** Number of bits of the hash used to pick a register */
+	private int precision;
+	/** Longest run of leading zeros (plus 1) seen by each register, or null while sparse */
+	private byte[] registers;
+	/** Set registers as (register << RANK_BITS | rank), sorted by register, or null once dense */
+	private int[] sparse;
+	/** Number of pairs in sparse */
+	private int sparseSize;
+
+	/**
+	 * Constructs a HyperLogLog with the default precision.
+	 */
+	public HyperLogLog() {
+		this(DEFAULT_PRECISION);
+	}
+
+	/**
+	 * Constructs a HyperLogLog with 2^precision registers.
+	 * 
+	 * @param precision is number of hash bits used to pick a register (4-16).
+	 * @throws IllegalArgumentException if precision is less than 4 or greater than
+	 *                                  16.
+	 */
+	public HyperLogLog(int precision) {
+		if (precision < MIN_PRECISION || precision > MAX_PRECISION) {
+			throw new IllegalArgumentException("Precision must be between 4 and 16");
+		}
+		this.precision = precision;
+		sparse = new int[INITIAL_SPARSE_CAPACITY];
+	}
+
+	/**
+	 * Adds a value to the sketch.
+	 * 
+	 * @param value is value to add.
+	 */
+	@Override
+	public void add(String value) {
+		long hash = hash(value);
+		int index = (int) (hash >>> (Long.SIZE - precision));
+		// Leading zeros of the remaining bits, with a 1 bit marking the end.
+		long remaining = (hash << precision) | (1L << (precision - 1));
+		byte rank = (byte) (Long.numberOfLeadingZeros(remaining) + 1);
+		setRegister(index, rank);
+	}
+
+	/**
+	 * Gets the estimated number of distinct values added. Small counts use linear
+	 * counting of empty registers, which is more accurate than the raw estimate.
+	 * 
+	 * @return estimated number of distinct values.
+	 */
+	@Override
+	public long count() {
+		int m = 1 << precision;
+		double sum = 0;
+		int zeros = 0;
+		if (registers == null) {
+			// Registers without a pair are 0, adding 1 each to the sum.
+			zeros = m - sparseSize;
+			sum = zeros;
+			for (int i = 0; i < sparseSize; i++) {
+				sum += 1.0 / (1L << (sparse[i] & 0xFF));
+			}
+		} else {
+			for (int i = 0; i < m; i++) {
+				sum += 1.0 / (1L << registers[i]);
+				if (registers[i] == 0) {
+					zeros++;
+				}
+			}
+		}
+		double estimate = alpha(m) * m * m / sum;
+		if (estimate <= 2.5 * m && zeros > 0) {
+			estimate = m * Math.log((double) m / zeros);
+		}
+		return Math.round(estimate);
+	}
+
+	/**
+	 * Merges another HyperLogLog with the same precision into this one.
+	 * 
+	 * @param other is counter to merge into this one.
+	 * @throws IllegalArgumentException if the other counter is not a HyperLogLog
+	 *                                  with the same precision.
+	 */
+	@Override
+	public void merge(DistinctCounter other) {
+		if (!(other instanceof HyperLogLog) || ((HyperLogLog) other).precision != precision) {
+			throw new IllegalArgumentException("Can only merge with a HyperLogLog of the same precision");
+		}
+		HyperLogLog sketch = (HyperLogLog) other;
+		if (sketch.registers == null) {
+			for (int i = 0; i < sketch.sparseSize; i++) {
+				setRegister(sketch.sparse[i] >>> RANK_BITS, (byte) (sketch.sparse[i] & 0xFF));
+			}
+		} else {
+			toDense();
+			for (int i = 0; i < registers.length; i++) {
+				if (sketch.registers[i] > registers[i]) {
+					registers[i] = sketch.registers[i];
+				}
+			}
+		}
+	}
+
+	/**
+	 * Creates a copy of the sketch, in the same sparse or dense form.
+	 * 
+	 * @return the copy.
+	 */
+	@Override
+	public HyperLogLog copy() {
+		HyperLogLog copy = new HyperLogLog(precision);
+		if (registers == null) {
+			copy.sparse = sparse.clone();
+			copy.sparseSize = sparseSize;
+		} else {
+			copy.sparse = null;
+			copy.registers = registers.clone();
+		}
+		return copy;
+	}
+
+	/**
+	 * Gets the precision of the sketch.
+	 * 
+	 * @return the precision
+	 */
+	public int getPrecision() {
+		return precision;
+	}
+
+	/**
+	 * Checks if the sketch still keeps its registers as sparse pairs.
+	 * 
+	 * @return true if the sketch is sparse.
+	 */
+	public boolean isSparse() {
+		return registers == null;
+	}
+
+	/**
+	 * Raises a register to the rank if the rank is larger. A sparse sketch finds
+	 * the register's pair with a binary search, inserting a new pair in order, and
+	 * switches to the dense array when the pairs would use as much memory.
+	 * 
+	 * @param index is index of the register.
+	 * @param rank  is rank seen by the register.
+	 */
+	private void setRegister(int index, byte rank) {
+		if (registers == null) {
+			int low = 0;
+			int high = sparseSize - 1;
+			while (low <= high) {
+				int mid = (low + high) >>> 1;
+				int register = sparse[mid] >>> RANK_BITS;
+				if (register < index) {
+					low = mid + 1;
+				} else if (register > index) {
+					high = mid - 1;
+				} else {
+					if (rank > (sparse[mid] & 0xFF)) {
+						sparse[mid] = index << RANK_BITS | rank;
+					}
+					return;
+				}
+			}
+			// Each pair uses 4 bytes, so switch once they would fill 2^p bytes.
+			if ((sparseSize + 1) * Integer.BYTES < (1 << precision)) {
+				if (sparseSize == sparse.length) {
+					int[] grown = new int[Math.min(sparse.length * 2, (1 << precision) / Integer.BYTES)];
+					System.arraycopy(sparse, 0, grown, 0, sparseSize);
+					sparse = grown;
+				}
+				System.arraycopy(sparse, low, sparse, low + 1, sparseSize - low);
+				sparse[low] = index << RANK_BITS | rank;
+				sparseSize++;
+				return;
+			}
+			toDense();
+		}
+		if (rank > registers[index]) {
+			registers[index] = rank;
+		}
+	}
+
+	/**
+	 * Moves the sparse pairs into the dense register array.
+	 */
+	private void toDense() {
+		if (registers != null) {
+			return;
+		}
+		registers = new byte[1 << precision];
+		for (int i = 0; i < sparseSize; i++) {
+			registers[sparse[i] >>> RANK_BITS] = (byte) (sparse[i] & 0xFF);
+		}
+		sparse = null;
+		sparseSize = 0;
+	}
+
+	/**
+	 * Gets the bias correction constant for m registers.
+	 * 
+	 * @param m is number of registers.
+	 * @return the constant.
+	 */
+	private static double alpha(int m) {
+		switch (m) {
+		case 16:
+			return 0.673;
+		case 32:
+			return 0.697;
+		case 64:
+			return 0.709;
+		default:
+			return 0.7213 / (1 + 1.079 / m);
+		}
+	}
+
+	/**
+	 * Hashes a string to 64 bits using FNV-1a over its characters followed by a
+	 * finalizing mix, so that every bit of the result depends on every character.
+	 * 
+	 * @param value is string to hash.
+	 * @return 64 bit hash.
+	 */
+	private static long hash(String value) {
+		long h = 0xcbf29ce484222325L;
+		for (int i = 0; i < value.length(); i++) {
+			h ^= value.charAt(i);
+			h *= 0x100000001b3L;
+		}
+		h ^= h >>> 33;
+		h *= 0xff51afd7ed558ccdL;
+		h ^= h >>> 33;
+		h *= 0xc4ceb9fe1a85ec53L;
+		h ^= h >>> 33;
+		return h;
+	}
+}
@@ -0,0 +1,168 @@
+package edu.ncsu.csc316.dsa.data;
+
+import java.util.Arrays;
+
+/**
+ * Class counts occurrences per time bucket (such as hours since the epoch) in
+ * primitive arrays. Buckets are kept in an open addressing hash table of long
+ * keys and int counts, so only buckets with at least one occurrence use memory
+ * and no objects are created per bucket.
+ * 
+ * @author Michael Warstler (mwwarstl)
+ */
+public class TimeBucketCounter {
+
+	/** Initial capacity of the hash table, a power of 2 */
+	private static final int INITIAL_CAPACITY = 8;
+
+	/** Bucket of each slot */
+	private long[] buckets;
+	/** Count of each slot, 0 for an empty slot */
+	private int[] counts;
+	/** Number of buckets with a count */
+	private int size;
+
+	/**
+	 * Constructs an empty TimeBucketCounter.
+	 */
+	public TimeBucketCounter() {
+		buckets = new long[INITIAL_CAPACITY];
+		counts = new int[INITIAL_CAPACITY];
+	}
+
+	/**
+	 * Adds one occurrence to a bucket.
+	 * 
+	 * @param bucket is time bucket of the occurrence.
+	 */
+	public void add(long bucket) {
+		add(bucket, 1);
+	}
+
+	/**
+	 * Adds occurrences to a bucket.
+	 * 
+	 * @param bucket is time bucket of the occurrences.
+	 * @param count  is number of occurrences to add (1 or more).
+	 */
+	public void add(long bucket, int count) {
+		int slot = find(bucket);
+		if (counts[slot] == 0) {
+			buckets[slot] = bucket;
+			size++;
+			counts[slot] = count;
+			// Keep the table at most half full.
+			if (size * 2 > counts.length) {
+				grow();
+			}
+		} else {
+			counts[slot] += count;
+		}
+	}
+
+	/**
+	 * Gets the number of occurrences in a bucket.
+	 * 
+	 * @param bucket is time bucket.
+	 * @return number of occurrences in the bucket.
+	 */
+	public int get(long bucket) {
+		return counts[find(bucket)];
+	}
+
+	/**
+	 * Gets the number of buckets with at least one occurrence.
+	 * 
+	 * @return the size
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Gets the buckets with at least one occurrence in ascending order.
+	 * 
+	 * @return sorted array of buckets.
+	 */
+	public long[] getSortedBuckets() {
+		long[] sorted = new long[size];
+		int j = 0;
+		for (int i = 0; i < counts.length; i++) {
+			if (counts[i] != 0) {
+				sorted[j] = buckets[i];
+				j++;
+			}
+		}
+		Arrays.sort(sorted);
+		return sorted;
+	}
+
+	/**
+	 * Copies the counter, so the copy can be changed without changing this
+	 * counter.
+	 * 
+	 * @return copy of the counter.
+	 */
+	public TimeBucketCounter copy() {
+		TimeBucketCounter copy = new TimeBucketCounter();
+		copy.buckets = Arrays.copyOf(buckets, buckets.length);
+		copy.counts = Arrays.copyOf(counts, counts.length);
+		copy.size = size;
+		return copy;
+	}
+
+	/**
+	 * Builds a counter of larger buckets by adding together every factor
+	 * consecutive buckets, such as 24 hours into one day.
+	 * 
+	 * @param factor is number of buckets in each larger bucket.
+	 * @return counter of the larger buckets.
+	 * @throws IllegalArgumentException if factor is less than 1.
+	 */
+	public TimeBucketCounter rollUp(int factor) {
+		if (factor < 1) {
+			throw new IllegalArgumentException("Factor must be > 0");
+		}
+		TimeBucketCounter rolled = new TimeBucketCounter();
+		for (int i = 0; i < counts.length; i++) {
+			if (counts[i] != 0) {
+				rolled.add(Math.floorDiv(buckets[i], factor), counts[i]);
+			}
+		}
+		return rolled;
+	}
+
+	/**
+	 * Finds the slot of a bucket, or the empty slot where it would be added.
+	 * 
+	 * @param bucket is time bucket to find.
+	 * @return slot of the bucket.
+	 */
+	private int find(long bucket) {
+		int mask = counts.length - 1;
+		// Mix the bits so consecutive buckets spread over the table.
+		long hash = bucket * 0x9E3779B97F4A7C15L;
+		int slot = (int) (hash >>> 32) & mask;
+		while (counts[slot] != 0 && buckets[slot] != bucket) {
+			slot = (slot + 1) & mask;
+		}
+		return slot;
+	}
+
+	/**
+	 * Doubles the capacity of the hash table and re-adds every bucket.
+	 */
+	private void grow() {
+		long[] oldBuckets = buckets;
+		int[] oldCounts = counts;
+		buckets = new long[oldBuckets.length * 2];
+		counts = new int[oldCounts.length * 2];
+		for (int i = 0; i < oldCounts.length; i++) {
+			if (oldCounts[i] != 0) {
+				int slot = find(oldBuckets[i]);
+				buckets[slot] = oldBuckets[i];
+				counts[slot] = oldCounts[i];
+			}
+		}
+	}
+}
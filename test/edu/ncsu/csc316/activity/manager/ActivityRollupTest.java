@@ -0,0 +1,126 @@
+package edu.ncsu.csc316.activity.manager;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+
+import org.junit.jupiter.api.Test;
+
+import edu.ncsu.csc316.activity.data.LogEntry;
+import edu.ncsu.csc316.activity.dsa.DSAFactory;
+import edu.ncsu.csc316.dsa.map.Map;
+
+/**
+ * Tests the ActivityRollup Class.
+ * 
+ * @author Michael Warstler (mwwarstl)
+ */
+public class ActivityRollupTest {
+
+	/** Activities added by the tests */
+	private static final String[] ACTIVITIES = { "view doc", "edit doc", "delete doc" };
+	/** Formats timestamps of the test entries */
+	private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("MM/dd/yyyy hh:mm:ssa",
+			Locale.US);
+
+	/**
+	 * Creates empty heap and off-heap log stores.
+	 * 
+	 * @return the stores.
+	 */
+	private static LogStore[] createStores() {
+		return new LogStore[] { new HeapLogStore(DSAFactory.getIndexedList()), new OffHeapLogStore() };
+	}
+
+	/**
+	 * Adds an entry to a log store.
+	 * 
+	 * @param store    is store to add to.
+	 * @param activity is activity in the format of "action resource".
+	 * @param time     is time of the entry.
+	 */
+	private static void addEntry(LogStore store, String activity, LocalDateTime time) {
+		String[] parts = activity.split(" ", 2);
+		store.add(new LogEntry("labyrum", TIMESTAMP_FORMAT.format(time), parts[0], parts[1]));
+	}
+
+	/**
+	 * Test that merged counts match counting every entry, for ranges with and
+	 * without whole days.
+	 */
+	@Test
+	public void testCountMatchesScan() {
+		LogStore[] stores = createStores();
+		for (int t = 0; t < stores.length; t++) {
+			// Entries every 7 hours over about 10 days, starting before the epoch.
+			LocalDateTime first = LocalDateTime.of(1969, 12, 28, 5, 0);
+			int entries = 40;
+			long[] entryHours = new long[entries];
+			for (int i = 0; i < entries; i++) {
+				LocalDateTime time = first.plusHours(7L * i).plusMinutes(i % 60);
+				entryHours[i] = ActivityRollup.getHour(time);
+				addEntry(stores[t], ACTIVITIES[i % ACTIVITIES.length], time);
+			}
+			// The first half is counted when built, the rest as rows are added.
+			LogStore half = createStores()[t];
+			for (int i = 0; i < entries / 2; i++) {
+				half.add(stores[t].getEntry(i));
+			}
+			ActivityRollup rollup = new ActivityRollup(half);
+			for (int i = entries / 2; i < entries; i++) {
+				half.add(stores[t].getEntry(i));
+				rollup.add(i);
+			}
+			assertEquals(entries, rollup.getHourCount());
+			assertTrue(rollup.getDayCount() < rollup.getHourCount());
+
+			long firstHour = entryHours[0];
+			long lastHour = entryHours[entries - 1];
+			for (long start = firstHour - 30; start <= lastHour + 2; start += 5) {
+				for (long end = start; end <= lastHour + 30; end += 11) {
+					Map<String, Integer> counts = rollup.count(start, end);
+					for (int a = 0; a < ACTIVITIES.length; a++) {
+						int expected = 0;
+						for (int i = a; i < entries; i += ACTIVITIES.length) {
+							if (entryHours[i] >= start && entryHours[i] < end) {
+								expected++;
+							}
+						}
+						Integer actual = counts.get(ACTIVITIES[a]);
+						assertEquals(expected, actual == null ? 0 : (int) actual);
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Test ranges within a single day and empty ranges.
+	 */
+	@Test
+	public void testCountWithinDay() {
+		LogStore[] stores = createStores();
+		for (int t = 0; t < stores.length; t++) {
+			LocalDateTime morning = LocalDateTime.of(2020, 2, 27, 7, 18, 42);
+			addEntry(stores[t], "notify HL6 Code 783", morning);
+			addEntry(stores[t], "register HL3 Code 691", morning.withHour(17));
+			addEntry(stores[t], "register HL3 Code 691", morning.withHour(17).withMinute(59));
+			// Same words split differently between action and resource.
+			addEntry(stores[t], "register HL3 Code", morning.withHour(17));
+			ActivityRollup rollup = new ActivityRollup(stores[t]);
+			assertEquals(1, rollup.getDayCount());
+			assertEquals(2, rollup.getHourCount());
+
+			long hour = ActivityRollup.getHour(morning);
+			assertEquals(1, (int) rollup.count(hour, hour + 1).get("notify HL6 Code 783"));
+			assertNull(rollup.count(hour, hour + 1).get("register HL3 Code 691"));
+			assertEquals(2, (int) rollup.count(hour, hour + 11).get("register HL3 Code 691"));
+			assertEquals(1, (int) rollup.count(hour, hour + 11).get("register HL3 Code"));
+			assertTrue(rollup.count(hour + 1, hour + 10).isEmpty());
+			assertTrue(rollup.count(hour, hour).isEmpty());
+			assertTrue(rollup.count(hour + 5, hour).isEmpty());
+		}
+	}
+}
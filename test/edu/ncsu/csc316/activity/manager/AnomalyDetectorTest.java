@@ -0,0 +1,113 @@
+package edu.ncsu.csc316.activity.manager;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Locale;
+
+import org.junit.jupiter.api.Test;
+
+import edu.ncsu.csc316.activity.dsa.DSAFactory;
+import edu.ncsu.csc316.dsa.data.Anomaly;
+import edu.ncsu.csc316.dsa.data.TimeBucketCounter;
+import edu.ncsu.csc316.dsa.map.Map;
+
+/**
+ * Tests the AnomalyDetector Class.
+ * 
+ * @author Michael Warstler (mwwarstl)
+ */
+public class AnomalyDetectorTest {
+
+	/**
+	 * Creates hourly counts with a steady activity and an activity that spikes.
+	 * 
+	 * @return map of activity to hourly counts.
+	 */
+	private Map<String, TimeBucketCounter> createCounts() {
+		Map<String, TimeBucketCounter> counts = DSAFactory.getMap(null);
+		TimeBucketCounter view = new TimeBucketCounter();
+		TimeBucketCounter delete = new TimeBucketCounter();
+		// Three days of hourly entries.
+		for (long hour = 0; hour < 72; hour++) {
+			view.add(hour, 2);
+			delete.add(hour);
+		}
+		// Spike of deletes in hour 50.
+		delete.add(50, 19);
+		counts.put("view doc", view);
+		counts.put("delete doc", delete);
+		return counts;
+	}
+
+	/**
+	 * Test finding spikes in hour buckets.
+	 */
+	@Test
+	public void testDetectHours() {
+		Anomaly[] anomalies = new AnomalyDetector(3.0).detect(createCounts(), BucketSize.HOUR);
+		assertEquals(1, anomalies.length);
+		assertEquals("delete doc", anomalies[0].getActivity());
+		assertEquals(50, anomalies[0].getBucket());
+		assertEquals(20, anomalies[0].getCount());
+		assertEquals(1.0, anomalies[0].getBaseline(), 0.001);
+		assertEquals(19.0, anomalies[0].getScore(), 0.001);
+		assertEquals("19.00: delete doc at 01/03/1970 02:00AM (20 entries, baseline 1.00)",
+				anomalies[0].getDescription());
+
+		// The decimal point does not depend on the default locale.
+		Locale defaultLocale = Locale.getDefault();
+		try {
+			Locale.setDefault(Locale.GERMANY);
+			assertEquals("19.00: delete doc at 01/03/1970 02:00AM (20 entries, baseline 1.00)",
+					anomalies[0].getDescription());
+		} finally {
+			Locale.setDefault(defaultLocale);
+		}
+
+		// The hour after the spike stays below its raised baseline.
+		anomalies = new AnomalyDetector(0.5, 0.0).detect(createCounts(), BucketSize.HOUR);
+		assertEquals(50, anomalies[0].getBucket());
+		for (int i = 1; i < anomalies.length; i++) {
+			assertTrue(anomalies[i].getScore() <= anomalies[i - 1].getScore());
+			assertFalse("delete doc".equals(anomalies[i].getActivity()) && anomalies[i].getBucket() == 51);
+		}
+	}
+
+	/**
+	 * Test finding spikes in date buckets.
+	 */
+	@Test
+	public void testDetectDates() {
+		// Day 2 has 24 + 19 deletes against a baseline of 24.
+		Anomaly[] anomalies = new AnomalyDetector(3.0).detect(createCounts(), BucketSize.DATE);
+		assertEquals(1, anomalies.length);
+		assertEquals(2, anomalies[0].getBucket());
+		assertEquals(43, anomalies[0].getCount());
+		assertEquals("01/03/1970", anomalies[0].getBucketLabel());
+	}
+
+	/**
+	 * Test that empty buckets decay the baseline and invalid parameters.
+	 */
+	@Test
+	public void testGapsAndInvalid() {
+		Map<String, TimeBucketCounter> counts = DSAFactory.getMap(null);
+		TimeBucketCounter call = new TimeBucketCounter();
+		call.add(0, 5);
+		call.add(1, 5);
+		call.add(1000, 5);
+		counts.put("call office", call);
+
+		// Back to back counts are not spikes, but after a long gap the baseline is 0.
+		Anomaly[] anomalies = new AnomalyDetector(3.0).detect(counts, BucketSize.HOUR);
+		assertEquals(1, anomalies.length);
+		assertEquals(1000, anomalies[0].getBucket());
+		assertEquals(0.0, anomalies[0].getBaseline(), 0.001);
+		assertEquals(5.0, anomalies[0].getScore(), 0.001);
+
+		assertThrows(IllegalArgumentException.class, () -> new AnomalyDetector(0.0, 3.0));
+		assertThrows(IllegalArgumentException.class, () -> new AnomalyDetector(1.0, 3.0));
+		assertThrows(IllegalArgumentException.class, () -> new AnomalyDetector(-1.0));
+		assertThrows(IllegalArgumentException.class, () -> new AnomalyDetector(Double.NaN));
+	}
+}
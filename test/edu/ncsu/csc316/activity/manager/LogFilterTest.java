@@ -0,0 +1,68 @@
+package edu.ncsu.csc316.activity.manager;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.function.Predicate;
+
+import org.junit.jupiter.api.Test;
+
+import edu.ncsu.csc316.activity.data.LogEntry;
+import edu.ncsu.csc316.activity.manager.LogFilter.Field;
+import edu.ncsu.csc316.activity.manager.LogFilter.MatchType;
+
+/**
+ * Tests the LogFilter Class.
+ * 
+ * @author Michael Warstler (mwwarstl)
+ */
+public class LogFilterTest {
+
+	/**
+	 * Test the include, exclude, and matches methods.
+	 */
+	@Test
+	public void testMatches() {
+		// Empty filter passes everything.
+		LogFilter filter = new LogFilter();
+		assertTrue(filter.matches("labyrum", "view", "HL7 Code 422"));
+		assertFalse(filter.hasRules(Field.ACTION));
+
+		// Exclude an action and service accounts.
+		filter.exclude(Field.ACTION, MatchType.EXACT, "view").exclude(Field.USERNAME, MatchType.PREFIX, "svc-");
+		assertTrue(filter.hasRules(Field.ACTION));
+		assertFalse(filter.hasRules(Field.RESOURCE));
+		assertFalse(filter.matches("labyrum", "view", "HL7 Code 422"));
+		assertFalse(filter.matches("svc-backup", "call", "office OV04392"));
+		assertTrue(filter.matches("labyrum", "call", "office OV04392"));
+
+		// Include rules on the same field pass if any of them match.
+		filter.include(Field.RESOURCE, MatchType.REGEX, "HL\\d Code \\d+").include(Field.RESOURCE, MatchType.PREFIX,
+				"office");
+		assertTrue(filter.matches("labyrum", "call", "office OV04392"));
+		assertTrue(filter.matches("labyrum", "register", "HL3 Code 691"));
+		assertFalse(filter.matches("labyrum", "unmerge", "notification NX1115"));
+		// Regular expressions match the whole value.
+		assertFalse(filter.matches("labyrum", "register", "HL3 Code 691 old"));
+
+		// Invalid rules.
+		assertThrows(IllegalArgumentException.class, () -> new LogFilter().include(Field.ACTION, MatchType.REGEX, "("));
+		assertThrows(IllegalArgumentException.class, () -> new LogFilter().exclude(null, MatchType.EXACT, "view"));
+	}
+
+	/**
+	 * Test the toEntryPredicate and toString methods.
+	 */
+	@Test
+	public void testToEntryPredicate() {
+		LogFilter filter = new LogFilter().include(Field.USERNAME, MatchType.EXACT, "mwwarstl");
+		Predicate<LogEntry> predicate = filter.toEntryPredicate();
+		assertTrue(predicate.test(new LogEntry("mwwarstl", "02/27/2020 05:30:50PM", "register", "HL3 Code 691")));
+		assertFalse(predicate.test(new LogEntry("labyrum", "02/27/2020 05:30:50PM", "call", "office OV04392")));
+		// Remembered result is reused.
+		assertTrue(predicate.test(new LogEntry("mwwarstl", "02/27/2020 07:18:42AM", "notify", "HL6 Code 783")));
+
+		// Different rules give different descriptions.
+		assertNotEquals(filter.toString(), new LogFilter().exclude(Field.USERNAME, MatchType.EXACT, "mwwarstl").toString());
+		assertEquals(filter.toString(), new LogFilter().include(Field.USERNAME, MatchType.EXACT, "mwwarstl").toString());
+	}
+}
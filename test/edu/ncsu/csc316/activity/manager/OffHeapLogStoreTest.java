@@ -0,0 +1,77 @@
+package edu.ncsu.csc316.activity.manager;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import edu.ncsu.csc316.activity.data.LogEntry;
+
+/**
+ * Tests the OffHeapLogStore Class.
+ * 
+ * @author Michael Warstler (mwwarstl)
+ */
+public class OffHeapLogStoreTest {
+
+	/**
+	 * Test adding entries and reading their fields back.
+	 */
+	@Test
+	public void testAddAndGet() {
+		OffHeapLogStore store = new OffHeapLogStore();
+		assertEquals(0, store.size());
+
+		LogEntry entry = new LogEntry("labyrum", "02/27/2020 05:30:50PM", "call", "office OV04392");
+		store.add(entry);
+		store.add(new LogEntry("mwwarstl", "12/13/2019 09:40:48PM", "register", "HL3 Code 691"));
+		assertEquals(2, store.size());
+
+		// Fields of the rows.
+		assertEquals("labyrum", store.getUsername(0));
+		assertEquals("call", store.getAction(0));
+		assertEquals("office OV04392", store.getResource(0));
+		assertEquals(entry.getTimestamp(), store.getTimestamp(0));
+		assertEquals("register", store.getAction(1));
+
+		// Built LogEntry matches the added one.
+		LogEntry built = store.getEntry(0);
+		assertEquals(0, entry.compareTo(built));
+		assertEquals("labyrum", built.getUsername());
+
+		assertThrows(IndexOutOfBoundsException.class, () -> store.getAction(2));
+		assertThrows(IndexOutOfBoundsException.class, () -> store.getUsername(-1));
+	}
+
+	/**
+	 * Test that the row buffer grows past its initial size.
+	 */
+	@Test
+	public void testGrow() {
+		OffHeapLogStore store = new OffHeapLogStore();
+		for (int i = 0; i < 3000; i++) {
+			store.add(new LogEntry("user" + (i % 10), "02/27/2020 05:30:50PM", "view", "HL" + (i % 50) + " Code 422"));
+		}
+		assertEquals(3000, store.size());
+		assertEquals("user9", store.getUsername(2999));
+		assertEquals("HL49 Code 422", store.getResource(2999));
+		assertTrue(store.getAllocatedBytes() >= 3000 * 20);
+	}
+
+	/**
+	 * Test the getRowFilter method.
+	 */
+	@Test
+	public void testGetRowFilter() {
+		OffHeapLogStore store = new OffHeapLogStore();
+		store.add(new LogEntry("labyrum", "02/27/2020 05:30:50PM", "call", "office OV04392"));
+		store.add(new LogEntry("svc-backup", "02/27/2020 05:30:51PM", "view", "HL7 Code 422"));
+		store.add(new LogEntry("mwwarstl", "02/27/2020 05:30:52PM", "view", "HL7 Code 422"));
+
+		LogFilter filter = new LogFilter().exclude(LogFilter.Field.USERNAME, LogFilter.MatchType.PREFIX, "svc-")
+				.include(LogFilter.Field.ACTION, LogFilter.MatchType.EXACT, "view");
+		RowFilter rowFilter = store.getRowFilter(filter);
+		assertFalse(rowFilter.accept(0));
+		assertFalse(rowFilter.accept(1));
+		assertTrue(rowFilter.accept(2));
+	}
+}
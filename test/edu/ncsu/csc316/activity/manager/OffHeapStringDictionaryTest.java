@@ -0,0 +1,79 @@
+package edu.ncsu.csc316.activity.manager;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the OffHeapStringDictionary Class.
+ * 
+ * @author Michael Warstler (mwwarstl)
+ */
+public class OffHeapStringDictionaryTest {
+
+	/**
+	 * Test the add, getId, and get methods.
+	 */
+	@Test
+	public void testAddAndGet() {
+		OffHeapStringDictionary dictionary = new OffHeapStringDictionary();
+		assertEquals(0, dictionary.size());
+		assertEquals(-1, dictionary.getId("register"));
+
+		// Unique strings get new ids, repeated strings get the same id.
+		assertEquals(0, dictionary.add("register"));
+		assertEquals(1, dictionary.add("call"));
+		assertEquals(0, dictionary.add("register"));
+		assertEquals(2, dictionary.add("r\u00e9sum\u00e9"));
+		assertEquals(3, dictionary.add(""));
+		assertEquals(4, dictionary.size());
+
+		assertEquals(1, dictionary.getId("call"));
+		assertEquals("register", dictionary.get(0));
+		assertEquals("r\u00e9sum\u00e9", dictionary.get(2));
+		assertEquals("", dictionary.get(3));
+		assertThrows(IndexOutOfBoundsException.class, () -> dictionary.get(4));
+	}
+
+	/**
+	 * Test that the buffers and hash table grow past their initial sizes.
+	 */
+	@Test
+	public void testGrow() {
+		OffHeapStringDictionary dictionary = new OffHeapStringDictionary();
+		long initialBytes = dictionary.getAllocatedBytes();
+		for (int i = 0; i < 5000; i++) {
+			assertEquals(i, dictionary.add("HL" + i + " Code " + i));
+		}
+		assertEquals(5000, dictionary.size());
+		assertTrue(dictionary.getAllocatedBytes() > initialBytes);
+		for (int i = 0; i < 5000; i += 7) {
+			assertEquals(i, dictionary.getId("HL" + i + " Code " + i));
+			assertEquals("HL" + i + " Code " + i, dictionary.get(i));
+		}
+	}
+
+	/**
+	 * Test that grown capacities are computed without int overflow and are capped
+	 * at the largest buffer size.
+	 */
+	@Test
+	public void testGrowCapacity() {
+		// Doubles, or jumps straight to the required bytes if that is larger.
+		assertEquals(2048, OffHeapStringDictionary.growCapacity(1024, 1044));
+		assertEquals(5000, OffHeapStringDictionary.growCapacity(1024, 5000));
+
+		// 67,108,864 rows of 20 bytes would overflow capacity * 2 in int math.
+		int rowCapacity = 67108864 * 20;
+		assertTrue(rowCapacity * 2 < 0);
+		assertEquals(Integer.MAX_VALUE,
+				OffHeapStringDictionary.growCapacity(rowCapacity, (long) rowCapacity + 20));
+		assertEquals(Integer.MAX_VALUE, OffHeapStringDictionary.growCapacity(Integer.MAX_VALUE - 20,
+				Integer.MAX_VALUE));
+
+		// More bytes than a buffer can hold means the store is full.
+		Exception e = assertThrows(IllegalStateException.class,
+				() -> OffHeapStringDictionary.growCapacity(Integer.MAX_VALUE, (long) Integer.MAX_VALUE + 1));
+		assertTrue(e.getMessage().startsWith("Off-heap store full"));
+	}
+}
@@ -0,0 +1,73 @@
+package edu.ncsu.csc316.activity.manager;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the ReportCache Class.
+ * 
+ * @author Michael Warstler (mwwarstl)
+ */
+public class ReportCacheTest {
+
+	/**
+	 * Test the get and put methods, including hit and miss counts.
+	 */
+	@Test
+	public void testGetAndPut() {
+		ReportCache cache = new ReportCache(1000);
+
+		// Empty cache misses.
+		assertNull(cache.get("date:01/01/2020"));
+		assertEquals(0, cache.getHits());
+		assertEquals(1, cache.getMisses());
+
+		// Cached report hits.
+		cache.put("date:01/01/2020", "report one");
+		assertEquals("report one", cache.get("date:01/01/2020"));
+		assertEquals(1, cache.getHits());
+		assertEquals(1, cache.size());
+		assertTrue(cache.getSizeInBytes() > 0);
+
+		// Replacing a report keeps one entry.
+		cache.put("date:01/01/2020", "report two");
+		assertEquals("report two", cache.get("date:01/01/2020"));
+		assertEquals(1, cache.size());
+
+		// Clear removes reports but keeps counts.
+		cache.clear();
+		assertEquals(0, cache.size());
+		assertEquals(0, cache.getSizeInBytes());
+		assertEquals(2, cache.getHits());
+
+		// Invalid size.
+		assertThrows(IllegalArgumentException.class, () -> new ReportCache(0));
+	}
+
+	/**
+	 * Test that the least recently used reports are evicted by total bytes.
+	 */
+	@Test
+	public void testEviction() {
+		// Each entry below is 2 * (5 + 10) + 64 = 94 bytes, so 2 fit.
+		ReportCache cache = new ReportCache(200);
+		cache.put("key:1", "0123456789");
+		cache.put("key:2", "0123456789");
+
+		// Use key:1 so key:2 becomes least recently used.
+		assertNotNull(cache.get("key:1"));
+		cache.put("key:3", "0123456789");
+		assertEquals(2, cache.size());
+		assertEquals(1, cache.getEvictions());
+		assertNull(cache.get("key:2"));
+		assertNotNull(cache.get("key:1"));
+		assertNotNull(cache.get("key:3"));
+		assertTrue(cache.getSizeInBytes() <= cache.getMaxBytes());
+
+		// Report larger than the whole cache is not stored.
+		cache.put("key:4", new String(new char[500]));
+		assertNull(cache.get("key:4"));
+		assertEquals(2, cache.size());
+	}
+}
@@ -2,8 +2,19 @@ package edu.ncsu.csc316.activity.manager;
 
 import static org.junit.jupiter.api.Assertions.*;
 import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.zip.GZIPOutputStream;
 import org.junit.jupiter.api.Test;
 
+import edu.ncsu.csc316.activity.data.LogEntry;
+import edu.ncsu.csc316.activity.dsa.Algorithm;
+import edu.ncsu.csc316.activity.dsa.DataStructure;
+import edu.ncsu.csc316.activity.stream.ParallelLogLoader;
+
 /**
  * Tests the ReportManager Class.
  * 
@@ -65,6 +76,31 @@ public class ReportManagerTest {
 		}
 	}
 
+	/**
+	 * Test that invalid report input throws when the ReportManager is set to.
+	 */
+	@Test
+	public void testSetThrowOnInvalidInput() {
+		try {
+			ReportManager reportManager = new ReportManager("input/records.txt");
+			reportManager.setThrowOnInvalidInput(true);
+			Exception e = assertThrows(InvalidReportException.class,
+					() -> reportManager.getTopUserActivitiesReport(-1));
+			assertEquals("Please enter a number > 0", e.getMessage());
+			e = assertThrows(InvalidReportException.class, () -> reportManager.getDistinctUsersReport(1));
+			assertEquals("Distinct user counting is off", e.getMessage());
+			assertThrows(InvalidReportException.class, () -> reportManager.getHourReport(24));
+
+			// Valid input still returns the report.
+			assertTrue(reportManager.getTopUserActivitiesReport(1).startsWith("Top User Activities Report"));
+
+			reportManager.setThrowOnInvalidInput(false);
+			assertEquals("Please enter a number > 0\n", reportManager.getTopUserActivitiesReport(-1));
+		} catch (FileNotFoundException e) {
+			fail("File was not found or could not be read.");
+		}
+	}
+
 	/**
 	 * Test the getDateReport method.
 	 */
@@ -143,4 +179,376 @@ public class ReportManagerTest {
 			fail("File was not found or could not be read.");
 		}
 	}
-}
\ No newline at end of file
+
+	/**
+	 * Test the paged getTopUserActivitiesReport, getDateReport, and getHourReport
+	 * methods.
+	 */
+	@Test
+	public void testGetReportPages() {
+		// The UserActivityLogManager Used for Tests
+		ReportManager reportManager;
+
+		try {
+			reportManager = new ReportManager("input/records.txt");
+
+			// Confirm error messages for invalid pages.
+			assertEquals("Please enter an offset >= 0 and a limit > 0\n", reportManager.getTopUserActivitiesReport(-1, 2));
+			assertEquals("Please enter an offset >= 0 and a limit > 0\n", reportManager.getDateReport("02/27/2020", 0, 0));
+			assertEquals("Please enter an offset >= 0 and a limit > 0\n", reportManager.getHourReport(21, -1, 5));
+
+			// Second page of top activities, 2 per page.
+			assertEquals("Top User Activities Report [\n   2: notify HL6 Code 783\n   1: unmerge notification NX1115\n]\n",
+					reportManager.getTopUserActivitiesReport(2, 2));
+
+			// Date report pages keep the same order as the full report.
+			assertEquals(3, reportManager.getDateReportSize("02/27/2020"));
+			assertEquals(0, reportManager.getDateReportSize("01/01/1990"));
+			assertEquals(
+					"Activities recorded on 02/27/2020 [\n   labyrum, 02/27/2020 05:30:50PM, call, office OV04392\n   mwwarstl, 02/27/2020 05:30:50PM, register, HL3 Code 691\n]\n",
+					reportManager.getDateReport("02/27/2020", 1, 2));
+			assertEquals("Activities recorded on 02/27/2020 [\n]\n", reportManager.getDateReport("02/27/2020", 3, 2));
+			assertEquals("No activities were recorded on 01/01/1990", reportManager.getDateReport("01/01/1990", 0, 2));
+
+			// Hour report pages keep the same order as the full report.
+			assertEquals(3, reportManager.getHourReportSize(21));
+			assertEquals(0, reportManager.getHourReportSize(8));
+			assertEquals(
+					"Activities recorded during hour 21 [\n   labyrum, 09/11/2016 09:14:44PM, register, HL3 Code 691\n]\n",
+					reportManager.getHourReport(21, 0, 1));
+			assertEquals(
+					"Activities recorded during hour 21 [\n   mwwarstl, 12/13/2019 09:40:48PM, register, HL3 Code 691\n]\n",
+					reportManager.getHourReport(21, 2, 10));
+
+		} catch (FileNotFoundException e) {
+			fail("File was not found or could not be read.");
+		}
+	}
+
+	/**
+	 * Test the report cache, including invalidation when the log changes.
+	 */
+	@Test
+	public void testReportCache() {
+		// The UserActivityLogManager Used for Tests
+		ReportManager reportManager;
+
+		try {
+			reportManager = new ReportManager("input/records.txt");
+			assertNull(reportManager.getReportCache());
+			reportManager.enableReportCache(100000);
+			ReportCache cache = reportManager.getReportCache();
+
+			// First report misses, repeated report hits.
+			String topReport = reportManager.getTopUserActivitiesReport(15);
+			String report = reportManager.getDateReport("02/27/2020");
+			assertEquals(report, reportManager.getDateReport("02/27/2020"));
+			assertEquals(1, cache.getHits());
+			assertEquals(2, cache.getMisses());
+
+			// Adding an entry on the same date clears the cached report.
+			UserActivityLogManager logManager = new UserActivityLogManager("input/records.txt");
+			LogEntry entry = logManager.getEntriesByDate().get("02/27/2020").get(0);
+			reportManager.addLogEntry(entry);
+			assertEquals(4, reportManager.getDateReportSize("02/27/2020"));
+			assertEquals(0, cache.size());
+			assertNotEquals(report, reportManager.getDateReport("02/27/2020"));
+			assertEquals(3, cache.getMisses());
+
+			// Top activities reflect the added entry as well.
+			assertNotEquals(topReport, reportManager.getTopUserActivitiesReport(15));
+
+			reportManager.disableReportCache();
+			assertNull(reportManager.getReportCache());
+
+		} catch (FileNotFoundException e) {
+			fail("File was not found or could not be read.");
+		}
+	}
+
+	/**
+	 * Test that date and hour reports match when sorted with COUNTING_SORT or
+	 * MERGESORT, with heap and off-heap storage.
+	 */
+	@Test
+	public void testSetEntrySorterType() {
+		// The UserActivityLogManager Used for Tests
+		ReportManager countingManager;
+		ReportManager mergeManager;
+
+		try {
+			countingManager = new ReportManager("input/records.txt");
+			mergeManager = new ReportManager("input/records.txt");
+			mergeManager.setEntrySorterType(Algorithm.MERGESORT);
+
+			// Invalid sorter type.
+			assertThrows(IllegalArgumentException.class, () -> mergeManager.setEntrySorterType(null));
+
+			// Same reports from both sorters.
+			assertEquals(mergeManager.getDateReport("02/27/2020"), countingManager.getDateReport("02/27/2020"));
+			for (int hour = 0; hour < 24; hour++) {
+				assertEquals(mergeManager.getHourReport(hour), countingManager.getHourReport(hour));
+			}
+
+			// Off-heap reports are formatted from the rows and match the heap reports.
+			ReportManager offHeapCounting = new ReportManager("input/records.txt", DataStructure.SKIPLIST,
+					StorageType.OFF_HEAP);
+			ReportManager offHeapMerge = new ReportManager("input/records.txt", DataStructure.SKIPLIST,
+					StorageType.OFF_HEAP);
+			offHeapMerge.setEntrySorterType(Algorithm.MERGESORT);
+			assertEquals(countingManager.getDateReport("02/27/2020"), offHeapCounting.getDateReport("02/27/2020"));
+			assertEquals(countingManager.getDateReport("02/27/2020"), offHeapMerge.getDateReport("02/27/2020"));
+			assertEquals(3, offHeapCounting.getDateReportSize("02/27/2020"));
+			for (int hour = 0; hour < 24; hour++) {
+				assertEquals(countingManager.getHourReport(hour), offHeapCounting.getHourReport(hour));
+				assertEquals(countingManager.getHourReport(hour), offHeapMerge.getHourReport(hour));
+			}
+
+			// A day past the end of the month has no entries.
+			assertEquals("No activities were recorded on 02/30/2020", offHeapCounting.getDateReport("02/30/2020"));
+			assertEquals(0, offHeapCounting.getDateReportSize("02/30/2020"));
+
+		} catch (FileNotFoundException e) {
+			fail("File was not found or could not be read.");
+		}
+	}
+
+	/**
+	 * Test the filtered getTopUserActivitiesReport, getDateReport, and
+	 * getHourReport methods.
+	 */
+	@Test
+	public void testFilteredReports() {
+		// The UserActivityLogManager Used for Tests
+		ReportManager reportManager;
+
+		try {
+			reportManager = new ReportManager("input/records.txt");
+			reportManager.enableReportCache(100000);
+
+			LogFilter noRegister = new LogFilter().exclude(LogFilter.Field.ACTION, LogFilter.MatchType.EXACT,
+					"register");
+			assertEquals(
+					"Top User Activities Report [\n   2: call office OV04392\n   2: notify HL6 Code 783\n]\n",
+					reportManager.getTopUserActivitiesReport(2, noRegister));
+
+			// Filtered and unfiltered reports are cached separately.
+			LogFilter noLabyrum = new LogFilter().exclude(LogFilter.Field.USERNAME, LogFilter.MatchType.EXACT,
+					"labyrum");
+			assertEquals(
+					"Activities recorded on 02/27/2020 [\n   mwwarstl, 02/27/2020 07:18:42AM, notify, HL6 Code 783\n   mwwarstl, 02/27/2020 05:30:50PM, register, HL3 Code 691\n]\n",
+					reportManager.getDateReport("02/27/2020", noLabyrum));
+			assertEquals(
+					"Activities recorded on 02/27/2020 [\n   mwwarstl, 02/27/2020 07:18:42AM, notify, HL6 Code 783\n   labyrum, 02/27/2020 05:30:50PM, call, office OV04392\n   mwwarstl, 02/27/2020 05:30:50PM, register, HL3 Code 691\n]\n",
+					reportManager.getDateReport("02/27/2020"));
+
+			// Offset counts only passing entries.
+			assertEquals(
+					"Activities recorded on 02/27/2020 [\n   mwwarstl, 02/27/2020 05:30:50PM, register, HL3 Code 691\n]\n",
+					reportManager.getDateReport("02/27/2020", 1, 5, noLabyrum));
+
+			// Regular expression on resource.
+			LogFilter code691 = new LogFilter().include(LogFilter.Field.RESOURCE, LogFilter.MatchType.REGEX,
+					"HL\\d Code 691");
+			assertEquals(
+					"Activities recorded during hour 21 [\n   labyrum, 09/11/2016 09:14:44PM, register, HL3 Code 691\n   mwwarstl, 12/13/2019 09:40:48PM, register, HL3 Code 691\n]\n",
+					reportManager.getHourReport(21, code691));
+
+			// No passing entries gives an empty report.
+			assertEquals("Activities recorded during hour 16 [\n]\n", reportManager.getHourReport(16, noRegister));
+
+			// Off-heap storage filters rows by dictionary id with the same results.
+			ReportManager offHeapManager = new ReportManager("input/records.txt", DataStructure.SKIPLIST,
+					StorageType.OFF_HEAP);
+			assertEquals(reportManager.getDateReport("02/27/2020", 1, 5, noLabyrum),
+					offHeapManager.getDateReport("02/27/2020", 1, 5, noLabyrum));
+			for (int hour = 0; hour < 24; hour++) {
+				assertEquals(reportManager.getHourReport(hour, code691), offHeapManager.getHourReport(hour, code691));
+				assertEquals(reportManager.getHourReport(hour, noRegister),
+						offHeapManager.getHourReport(hour, noRegister));
+			}
+
+		} catch (FileNotFoundException e) {
+			fail("File was not found or could not be read.");
+		}
+	}
+
+	/**
+	 * Test the getDistinctUsersReport method.
+	 */
+	@Test
+	public void testGetDistinctUsersReport() {
+		// The UserActivityLogManager Used for Tests
+		ReportManager reportManager;
+
+		try {
+			reportManager = new ReportManager("input/records.txt");
+			assertEquals("Distinct user counting is off\n", reportManager.getDistinctUsersReport(2));
+
+			reportManager.setDistinctUserMode(DistinctCountMode.EXACT);
+			assertEquals("Please enter a number > 0\n", reportManager.getDistinctUsersReport(0));
+			assertEquals(
+					"Distinct Users Report [\n   11: register HL3 Code 691 (2 users)\n   2: call office OV04392 (1 users)\n]\n",
+					reportManager.getDistinctUsersReport(2));
+
+		} catch (FileNotFoundException e) {
+			fail("File was not found or could not be read.");
+		}
+	}
+
+	/**
+	 * Test the getSessionReport method.
+	 */
+	@Test
+	public void testGetSessionReport() {
+		// The UserActivityLogManager Used for Tests
+		ReportManager reportManager;
+
+		try {
+			reportManager = new ReportManager("input/records.txt");
+
+			// Invalid parameters.
+			assertEquals("Please enter a gap >= 0 minutes\n", reportManager.getSessionReport(-1, 2, 3));
+			assertEquals("Please enter a sequence length between 1 and 3\n", reportManager.getSessionReport(60, 4, 3));
+			assertEquals("Please enter a number > 0\n", reportManager.getSessionReport(60, 2, 0));
+
+			// One day gap only joins mwwarstl's two entries on 02/27/2020.
+			assertEquals(
+					"Session Report [\n   Users: 2\n   Sessions: 16\n   Session Lengths [\n      1 entries: 15\n      2 entries: 1\n   ]\n   Top Action Sequences [\n      1: notify > register\n   ]\n]\n",
+					reportManager.getSessionReport(24 * 60, 2, 3));
+
+			// A gap longer than the log gives one session per user.
+			assertEquals(
+					"Session Report [\n   Users: 2\n   Sessions: 2\n   Session Lengths [\n      6 entries: 1\n      11 entries: 1\n   ]\n   Top Action Sequences [\n      7: register > register\n      2: notify > register\n      2: register > notify\n   ]\n]\n",
+					reportManager.getSessionReport(Integer.MAX_VALUE / 60, 2, 3));
+
+		} catch (FileNotFoundException e) {
+			fail("File was not found or could not be read.");
+		}
+	}
+
+	/**
+	 * Test the getAnomalyReport method.
+	 */
+	@Test
+	public void testGetAnomalyReport() {
+		// The UserActivityLogManager Used for Tests
+		ReportManager reportManager;
+
+		try {
+			reportManager = new ReportManager("input/records.txt");
+
+			// Invalid parameters.
+			assertEquals("Please enter a bucket size of HOUR or DATE\n", reportManager.getAnomalyReport(null, 3, 5));
+			assertEquals("Please enter a threshold >= 0\n", reportManager.getAnomalyReport(BucketSize.DATE, -1, 5));
+			assertEquals("Please enter a number > 0\n", reportManager.getAnomalyReport(BucketSize.DATE, 3, 0));
+
+			// Entries are years apart, so every repeat scores 1 against a decayed baseline.
+			assertEquals("Anomaly Report [\n]\n", reportManager.getAnomalyReport(BucketSize.DATE, 1.5, 5));
+			assertEquals(
+					"Anomaly Report [\n   1.00: call office OV04392 at 02/27/2020 (1 entries, baseline 0.00)\n   1.00: notify HL6 Code 783 at 02/27/2020 (1 entries, baseline 0.00)\n]\n",
+					reportManager.getAnomalyReport(BucketSize.DATE, 1, 2));
+			assertEquals(
+					"Anomaly Report [\n   1.00: call office OV04392 at 02/27/2020 05:00PM (1 entries, baseline 0.00)\n]\n",
+					reportManager.getAnomalyReport(BucketSize.HOUR, 1, 1));
+
+			// A burst of calls on one date is the top spike.
+			for (int i = 0; i < 8; i++) {
+				reportManager.addLogEntry(new LogEntry("labyrum", "02/27/2020 05:3" + i + ":00PM", "call",
+						"office OV04392"));
+			}
+			assertEquals(
+					"Anomaly Report [\n   9.00: call office OV04392 at 02/27/2020 (9 entries, baseline 0.00)\n]\n",
+					reportManager.getAnomalyReport(BucketSize.DATE, 1, 1));
+
+		} catch (FileNotFoundException e) {
+			fail("File was not found or could not be read.");
+		}
+	}
+
+	/**
+	 * Test loading with a ParallelLogLoader and getting its statistics.
+	 */
+	@Test
+	public void testParallelLoad() {
+		// The UserActivityLogManager Used for Tests
+		ReportManager reportManager;
+
+		try {
+			reportManager = new ReportManager("input/records.txt");
+			assertNull(reportManager.getLoadStatistics());
+
+			reportManager = new ReportManager("input/records.txt", DataStructure.SEARCHTABLE, StorageType.HEAP,
+					new ParallelLogLoader(2, 10));
+			assertEquals(17, reportManager.getLoadStatistics().getRowsAccepted());
+			assertEquals(0, reportManager.getLoadStatistics().getRowsRejected());
+			assertEquals(new ReportManager("input/records.txt").getTopUserActivitiesReport(3),
+					reportManager.getTopUserActivitiesReport(3));
+
+		} catch (IOException e) {
+			fail("File was not found or could not be read.");
+		}
+	}
+
+	/**
+	 * Test the date range getTopUserActivitiesReport method.
+	 */
+	@Test
+	public void testGetTopUserActivitiesReportInRange() {
+		// The UserActivityLogManager Used for Tests
+		ReportManager reportManager;
+
+		try {
+			reportManager = new ReportManager("input/records.txt");
+
+			// Invalid parameters.
+			assertEquals("Please enter a valid date in the format MM/DD/YYYY",
+					reportManager.getTopUserActivitiesReport("2016-01-01", "12/31/2016", 3));
+			assertEquals("Please enter a start date on or before the end date\n",
+					reportManager.getTopUserActivitiesReport("12/31/2016", "01/01/2016", 3));
+			assertEquals("Please enter a number > 0\n",
+					reportManager.getTopUserActivitiesReport("01/01/2016", "12/31/2016", 0));
+
+			assertEquals("Top User Activities from 01/01/2016 to 12/31/2016 Report [\n   5: register HL3 Code 691\n]\n",
+					reportManager.getTopUserActivitiesReport("01/01/2016", "12/31/2016", 3));
+			assertEquals(
+					"Top User Activities from 02/27/2020 to 01/24/2024 Report [\n   1: call office OV04392\n   1: notify HL6 Code 783\n]\n",
+					reportManager.getTopUserActivitiesReport("02/27/2020", "01/24/2024", 2));
+
+			// Cached reports are rebuilt after an append.
+			reportManager.enableReportCache(10000);
+			reportManager.getTopUserActivitiesReport("01/01/2016", "12/31/2016", 3);
+			reportManager.addLogEntry(new LogEntry("labyrum", "06/01/2016 10:00:00AM", "call", "office OV04392"));
+			assertEquals(
+					"Top User Activities from 01/01/2016 to 12/31/2016 Report [\n   5: register HL3 Code 691\n   1: call office OV04392\n]\n",
+					reportManager.getTopUserActivitiesReport("01/01/2016", "12/31/2016", 3));
+
+		} catch (FileNotFoundException e) {
+			fail("File was not found or could not be read.");
+		}
+	}
+
+	/**
+	 * Test that the interactive constructor reads gzip compressed files.
+	 */
+	@Test
+	public void testCompressedFile() {
+		try {
+			Path gz = Files.createTempFile("records", ".txt.gz");
+			try {
+				try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(gz))) {
+					out.write(Files.readAllBytes(Paths.get("input/records.txt")));
+				}
+				ReportManager expected = new ReportManager("input/records.txt");
+				ReportManager compressed = new ReportManager(gz.toString());
+				assertEquals(expected.getTopUserActivitiesReport(10), compressed.getTopUserActivitiesReport(10));
+				assertEquals(expected.getDateReport("02/27/2020"), compressed.getDateReport("02/27/2020"));
+				assertEquals(expected.getHourReport(17), compressed.getHourReport(17));
+			} finally {
+				Files.delete(gz);
+			}
+		} catch (IOException e) {
+			fail("File was not found or could not be read.");
+		}
+	}
+}
@@ -0,0 +1,149 @@
+package edu.ncsu.csc316.activity.manager;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import edu.ncsu.csc316.activity.data.LogEntry;
+import edu.ncsu.csc316.activity.dsa.DSAFactory;
+import edu.ncsu.csc316.dsa.list.List;
+
+/**
+ * Tests the SessionAnalyzer and SessionStatistics Classes.
+ * 
+ * @author Michael Warstler (mwwarstl)
+ */
+public class SessionAnalyzerTest {
+
+	/**
+	 * Creates a store of entries for two users, added out of time order.
+	 * 
+	 * @return store of test entries.
+	 */
+	private LogStore createStore() {
+		List<LogEntry> entries = DSAFactory.getIndexedList();
+		entries.addLast(new LogEntry("alice", "01/01/2020 10:20:00AM", "edit", "doc"));
+		entries.addLast(new LogEntry("bob", "01/01/2020 09:00:00AM", "view", "doc"));
+		entries.addLast(new LogEntry("alice", "01/01/2020 10:00:00AM", "view", "doc"));
+		entries.addLast(new LogEntry("alice", "01/01/2020 10:05:00AM", "edit", "doc"));
+		entries.addLast(new LogEntry("bob", "01/01/2020 09:10:00AM", "edit", "doc"));
+		entries.addLast(new LogEntry("alice", "01/01/2020 02:00:00PM", "view", "doc"));
+		entries.addLast(new LogEntry("alice", "01/01/2020 02:01:00PM", "edit", "doc"));
+		return new HeapLogStore(entries);
+	}
+
+	/**
+	 * Test splitting sessions on the inactivity gap.
+	 */
+	@Test
+	public void testSessions() {
+		// 30 minute gap: alice has 10:00-10:20 and 2:00-2:01, bob has 9:00-9:10.
+		SessionStatistics stats = new SessionAnalyzer(createStore(), 30 * 60, 2).analyze(2);
+		assertEquals(2, stats.getUserCount());
+		assertEquals(3, stats.getSessionCount());
+		assertEquals(0, stats.getSessionLengthCount(1));
+		assertEquals(2, stats.getSessionLengthCount(2));
+		assertEquals(1, stats.getSessionLengthCount(3));
+		assertEquals(0, stats.getSessionLengthCount(0));
+		assertEquals((20 * 60 + 60 + 10 * 60) / 3.0, stats.getAverageSessionSeconds(), 0.001);
+
+		// 10 minute gap splits alice's 10:05 and 10:20 entries.
+		stats = new SessionAnalyzer(createStore(), 10 * 60, 2).analyze(1);
+		assertEquals(4, stats.getSessionCount());
+		assertEquals(1, stats.getSessionLengthCount(1));
+
+		// Zero gap only groups entries with the same time.
+		stats = new SessionAnalyzer(createStore(), 0, 1).analyze(4);
+		assertEquals(7, stats.getSessionCount());
+	}
+
+	/**
+	 * Test counting action sequences within sessions.
+	 */
+	@Test
+	public void testSequences() {
+		SessionStatistics stats = new SessionAnalyzer(createStore(), 30 * 60, 2).analyze(3);
+		assertEquals(3, stats.getSequenceCount("view > edit"));
+		assertEquals(1, stats.getSequenceCount("edit > edit"));
+		assertEquals(0, stats.getSequenceCount("edit > view"));
+
+		List<String> top = stats.getTopSequences(5);
+		assertEquals(2, top.size());
+		assertEquals("3: view > edit", top.get(0));
+		assertEquals("1: edit > edit", top.get(1));
+
+		// Sequences of 3 do not cross sessions.
+		stats = new SessionAnalyzer(createStore(), 30 * 60, 3).analyze(2);
+		assertEquals(1, stats.getSequenceCount("view > edit > edit"));
+		assertEquals(1, stats.getTopSequences(10).size());
+
+		// Single actions.
+		stats = new SessionAnalyzer(createStore(), 30 * 60, 1).analyze(2);
+		assertEquals("4: edit", stats.getTopSequences(1).get(0));
+	}
+
+	/**
+	 * Test that results are the same for any number of threads and invalid
+	 * parameters.
+	 */
+	@Test
+	public void testThreadsAndInvalid() {
+		for (int threads = 1; threads <= 8; threads++) {
+			SessionStatistics stats = new SessionAnalyzer(createStore(), 30 * 60, 2).analyze(threads);
+			assertEquals(3, stats.getSessionCount());
+			assertEquals(3, stats.getSequenceCount("view > edit"));
+		}
+
+		// Empty store.
+		SessionStatistics empty = new SessionAnalyzer(new HeapLogStore(DSAFactory.getIndexedList()), 60, 2)
+				.analyze(2);
+		assertEquals(0, empty.getSessionCount());
+		assertEquals(0, empty.getAverageSessionSeconds(), 0.001);
+		assertEquals(0, empty.getTopSequences(3).size());
+
+		assertThrows(IllegalArgumentException.class, () -> new SessionAnalyzer(createStore(), -1, 2));
+		assertThrows(IllegalArgumentException.class, () -> new SessionAnalyzer(createStore(), 60, 0));
+		assertThrows(IllegalArgumentException.class, () -> new SessionAnalyzer(createStore(), 60, 4));
+		assertThrows(IllegalArgumentException.class, () -> new SessionAnalyzer(createStore(), 60, 2).analyze(0));
+	}
+
+	/**
+	 * Test that an off-heap store, grouped by dictionary ids, gives the same
+	 * statistics as a heap store.
+	 */
+	@Test
+	public void testOffHeapStore() {
+		LogStore heap = createStore();
+		OffHeapLogStore offHeap = new OffHeapLogStore();
+		for (int i = 0; i < heap.size(); i++) {
+			offHeap.add(heap.getEntry(i));
+		}
+		SessionStatistics stats = new SessionAnalyzer(offHeap, 30 * 60, 2).analyze(2);
+		assertEquals(2, stats.getUserCount());
+		assertEquals(3, stats.getSessionCount());
+		assertEquals(3, stats.getSequenceCount("view > edit"));
+		assertEquals("3: view > edit", stats.getTopSequences(1).get(0));
+
+		// Keys are counted from 0 as values are first seen.
+		assertEquals(0, offHeap.getUserKey(0));
+		assertEquals(1, offHeap.getUserKey(1));
+		assertEquals(0, offHeap.getUserKey(2));
+		assertEquals(1, offHeap.getActionKey(1));
+		assertEquals(offHeap.getActionKey(0), offHeap.getActionKey(3));
+	}
+
+	/**
+	 * Test that a sequence count too large for an Activity is rejected instead of
+	 * clamped.
+	 */
+	@Test
+	public void testSequenceCountOverflow() {
+		SessionStatistics stats = new SessionStatistics();
+		stats.addSequence("view > edit", Integer.MAX_VALUE);
+		assertEquals("2147483647: view > edit", stats.getTopSequences(1).get(0));
+
+		stats.addSequence("view > edit", 1);
+		assertEquals(Integer.MAX_VALUE + 1L, stats.getSequenceCount("view > edit"));
+		assertThrows(IllegalStateException.class, () -> stats.getTopSequences(1));
+	}
+}
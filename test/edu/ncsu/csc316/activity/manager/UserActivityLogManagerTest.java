@@ -3,10 +3,14 @@ package edu.ncsu.csc316.activity.manager;
 import static org.junit.jupiter.api.Assertions.*;
 
 import java.io.FileNotFoundException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import org.junit.jupiter.api.Test;
 import edu.ncsu.csc316.activity.data.LogEntry;
 import edu.ncsu.csc316.activity.dsa.DSAFactory;
 import edu.ncsu.csc316.activity.dsa.DataStructure;
+import edu.ncsu.csc316.dsa.data.DistinctCounter;
+import edu.ncsu.csc316.dsa.data.TimeBucketCounter;
 import edu.ncsu.csc316.dsa.list.List;
 import edu.ncsu.csc316.dsa.map.Map;
 
@@ -158,4 +162,326 @@ public class UserActivityLogManagerTest {
 			fail("File was not found or could not be read.");
 		}
 	}
-}
\ No newline at end of file
+
+	/**
+	 * Test the paged getTopActivities method.
+	 */
+	@Test
+	public void testGetTopActivitiesPage() {
+		// The UserActivityLogManager Used for Tests
+		UserActivityLogManager logManager;
+
+		try {
+			logManager = new UserActivityLogManager("input/records.txt");
+
+			// Middle page of the sorted activities.
+			List<String> page = logManager.getTopActivities(1, 2);
+			assertEquals(2, page.size());
+			assertEquals("2: call office OV04392", page.get(0));
+			assertEquals("2: notify HL6 Code 783", page.get(1));
+
+			// Last page is cut short at the number of unique activities.
+			page = logManager.getTopActivities(4, 10);
+			assertEquals(1, page.size());
+			assertEquals("1: view HL7 Code 422", page.get(0));
+
+			// Offset past the last activity gives an empty page.
+			assertTrue(logManager.getTopActivities(5, 10).isEmpty());
+
+		} catch (FileNotFoundException e) {
+			fail("File was not found or could not be read.");
+		}
+	}
+
+	/**
+	 * Test that off-heap storage gives the same results as heap storage.
+	 */
+	@Test
+	public void testOffHeapStorage() {
+		// The UserActivityLogManagers Used for Tests
+		UserActivityLogManager heapManager;
+		UserActivityLogManager offHeapManager;
+
+		try {
+			heapManager = new UserActivityLogManager("input/records.txt", DataStructure.LINEARPROBINGHASHMAP,
+					StorageType.HEAP);
+			offHeapManager = new UserActivityLogManager("input/records.txt", DataStructure.LINEARPROBINGHASHMAP,
+					StorageType.OFF_HEAP);
+
+			// Same top activities.
+			List<String> heapList = heapManager.getTopActivities(15);
+			List<String> offHeapList = offHeapManager.getTopActivities(15);
+			assertEquals(heapList.size(), offHeapList.size());
+			for (int i = 0; i < heapList.size(); i++) {
+				assertEquals(heapList.get(i), offHeapList.get(i));
+			}
+
+			// Same date and hour groups.
+			assertEquals(15, offHeapManager.getEntriesByDate().size());
+			assertEquals(3, offHeapManager.getEntriesByDate().get("02/27/2020").size());
+			assertEquals(14, offHeapManager.getEntriesByHour().size());
+			assertEquals(3, offHeapManager.getEntriesByHour().get(21).size());
+
+		} catch (FileNotFoundException e) {
+			fail("File was not found or could not be read.");
+		}
+	}
+
+	/**
+	 * Test the filtered getTopActivities method and the RowFilter of the log store
+	 * with heap and off-heap storage.
+	 */
+	@Test
+	public void testFilters() {
+		LogFilter noRegister = new LogFilter().exclude(LogFilter.Field.ACTION, LogFilter.MatchType.EXACT, "register");
+		LogFilter mwwarstlOnly = new LogFilter().include(LogFilter.Field.USERNAME, LogFilter.MatchType.PREFIX, "mw");
+		StorageType[] types = { StorageType.HEAP, StorageType.OFF_HEAP };
+
+		try {
+			for (int t = 0; t < types.length; t++) {
+				UserActivityLogManager logManager = new UserActivityLogManager("input/records.txt",
+						DataStructure.LINEARPROBINGHASHMAP, types[t]);
+
+				// Excluded activity is never counted.
+				List<String> top = logManager.getTopActivities(15, noRegister);
+				assertEquals(4, top.size());
+				assertEquals("2: call office OV04392", top.get(0));
+				assertEquals("2: notify HL6 Code 783", top.get(1));
+
+				// Included user only.
+				top = logManager.getTopActivities(15, mwwarstlOnly);
+				assertEquals(2, top.size());
+				assertEquals("5: register HL3 Code 691", top.get(0));
+				assertEquals("1: notify HL6 Code 783", top.get(1));
+
+				// Unfiltered results are unchanged.
+				assertEquals("11: register HL3 Code 691", logManager.getTopActivities(1).get(0));
+
+				// Row filters of the store agree with the filter on every row.
+				LogStore store = logManager.getLogStore();
+				RowFilter mwwarstlRows = store.getRowFilter(mwwarstlOnly);
+				RowFilter noRegisterRows = store.getRowFilter(noRegister);
+				for (int i = 0; i < store.size(); i++) {
+					assertEquals(mwwarstlOnly.matches(store.getUsername(i), store.getAction(i), store.getResource(i)),
+							mwwarstlRows.accept(i));
+					assertEquals(!"register".equals(store.getAction(i)), noRegisterRows.accept(i));
+				}
+			}
+		} catch (FileNotFoundException e) {
+			fail("File was not found or could not be read.");
+		}
+	}
+
+	/**
+	 * Test that rows grouped by day and hour match the entries grouped by date and
+	 * hour, with heap and off-heap storage.
+	 */
+	@Test
+	public void testGetRowsByDayAndHour() {
+		StorageType[] types = { StorageType.HEAP, StorageType.OFF_HEAP };
+
+		try {
+			for (int t = 0; t < types.length; t++) {
+				UserActivityLogManager logManager = new UserActivityLogManager("input/records.txt",
+						DataStructure.LINEARPROBINGHASHMAP, types[t]);
+				LogStore store = logManager.getLogStore();
+
+				// Rows of a day are in the order they were added.
+				int[] dayRows = logManager.getRowsByDay().get(LocalDate.of(2020, 2, 27).toEpochDay());
+				List<LogEntry> dateEntries = logManager.getEntriesByDate().get("02/27/2020");
+				assertEquals(dateEntries.size(), dayRows.length);
+				for (int i = 0; i < dayRows.length; i++) {
+					assertEquals(dateEntries.get(i).getTimestamp(), store.getTimestamp(dayRows[i]));
+					assertEquals(dateEntries.get(i).getUsername(), store.getUsername(dayRows[i]));
+				}
+				assertNull(logManager.getRowsByDay().get(LocalDate.of(2020, 2, 28).toEpochDay()));
+
+				// Every hour holds the same number of rows as entries.
+				Map<Integer, int[]> hourRows = logManager.getRowsByHour();
+				Map<Integer, List<LogEntry>> hourEntries = logManager.getEntriesByHour();
+				int total = 0;
+				for (int hour = 0; hour < 24; hour++) {
+					if (hourEntries.get(hour) == null) {
+						assertNull(hourRows.get(hour));
+					} else {
+						assertEquals(hourEntries.get(hour).size(), hourRows.get(hour).length);
+						for (int i = 0; i < hourRows.get(hour).length; i++) {
+							assertEquals(hour, store.getTimestamp(hourRows.get(hour)[i]).getHour());
+						}
+						total += hourRows.get(hour).length;
+					}
+				}
+				assertEquals(store.size(), total);
+			}
+		} catch (FileNotFoundException e) {
+			fail("File was not found or could not be read.");
+		}
+	}
+
+	/**
+	 * Test counting distinct users per activity, date, and hour in exact and
+	 * HyperLogLog modes.
+	 */
+	@Test
+	public void testDistinctUsers() {
+		// The UserActivityLogManager Used for Tests
+		UserActivityLogManager logManager;
+
+		try {
+			logManager = new UserActivityLogManager("input/records.txt");
+			assertEquals(DistinctCountMode.OFF, logManager.getDistinctUserMode());
+			assertThrows(IllegalStateException.class, () -> logManager.getDistinctUsersByActivity());
+			assertThrows(IllegalArgumentException.class, () -> logManager.setDistinctUserMode(null));
+
+			DistinctCountMode[] modes = { DistinctCountMode.EXACT, DistinctCountMode.HYPERLOGLOG };
+			for (int m = 0; m < modes.length; m++) {
+				logManager.setDistinctUserMode(modes[m]);
+
+				// Both users registered, only labyrum called.
+				Map<String, DistinctCounter> activityUsers = logManager.getDistinctUsersByActivity();
+				assertEquals(5, activityUsers.size());
+				assertEquals(2, activityUsers.get("register HL3 Code 691").count());
+				assertEquals(1, activityUsers.get("call office OV04392").count());
+				assertEquals(2, activityUsers.get("notify HL6 Code 783").count());
+
+				// Returned counters are copies, so merging into them changes nothing.
+				activityUsers.get("call office OV04392").merge(activityUsers.get("register HL3 Code 691"));
+				assertEquals(2, activityUsers.get("call office OV04392").count());
+				assertEquals(1, logManager.getDistinctUsersByActivity().get("call office OV04392").count());
+
+				assertEquals(2, logManager.getDistinctUsersByDate().get("02/27/2020").count());
+				assertEquals(1, logManager.getDistinctUsersByDate().get("04/06/2013").count());
+				assertEquals(2, logManager.getDistinctUsersByHour().get(21).count());
+				assertNull(logManager.getDistinctUsersByHour().get(8));
+
+				List<String> top = logManager.getTopActivitiesWithDistinctUsers(2);
+				assertEquals("11: register HL3 Code 691 (2 users)", top.get(0));
+				assertEquals("2: call office OV04392 (1 users)", top.get(1));
+			}
+
+			// Frequencies are unchanged by counting users.
+			assertEquals("11: register HL3 Code 691", logManager.getTopActivities(1).get(0));
+
+		} catch (FileNotFoundException e) {
+			fail("File was not found or could not be read.");
+		}
+	}
+
+	/**
+	 * Test the getSessionStatistics method with heap and off-heap storage.
+	 */
+	@Test
+	public void testGetSessionStatistics() {
+		try {
+			StorageType[] storageTypes = { StorageType.HEAP, StorageType.OFF_HEAP };
+			for (int t = 0; t < storageTypes.length; t++) {
+				UserActivityLogManager logManager = new UserActivityLogManager("input/records.txt",
+						DataStructure.SEARCHTABLE, storageTypes[t]);
+
+				// One day gap only joins mwwarstl's two entries on 02/27/2020.
+				SessionStatistics stats = logManager.getSessionStatistics(24 * 60 * 60, 2);
+				assertEquals(2, stats.getUserCount());
+				assertEquals(16, stats.getSessionCount());
+				assertEquals(1, stats.getSessionLengthCount(2));
+				assertEquals(1, stats.getSequenceCount("notify > register"));
+
+				// Sessions include added entries.
+				logManager.addLogEntry(new LogEntry("mwwarstl", "02/27/2020 06:00:00PM", "view", "HL7 Code 422"));
+				stats = logManager.getSessionStatistics(24 * 60 * 60, 3);
+				assertEquals(16, stats.getSessionCount());
+				assertEquals(1, stats.getSequenceCount("notify > register > view"));
+			}
+
+		} catch (FileNotFoundException e) {
+			fail("File was not found or could not be read.");
+		}
+	}
+
+	/**
+	 * Test the getActivityHourCounts and getActivityAnomalies methods.
+	 */
+	@Test
+	public void testGetActivityAnomalies() {
+		try {
+			UserActivityLogManager logManager = new UserActivityLogManager("input/records.txt");
+
+			// Hourly counts add up to each activity's frequency.
+			Map<String, TimeBucketCounter> hourCounts = logManager.getActivityHourCounts();
+			assertEquals(5, hourCounts.size());
+			TimeBucketCounter register = hourCounts.get("register HL3 Code 691");
+			long[] buckets = register.getSortedBuckets();
+			int total = 0;
+			for (int i = 0; i < buckets.length; i++) {
+				total += register.get(buckets[i]);
+			}
+			assertEquals(11, total);
+			assertEquals("11: register HL3 Code 691", logManager.getTopActivities(1).get(0));
+
+			// Returned counts are copies.
+			register.add(buckets[0], 100);
+			hourCounts.put("view HL3 Code 691", new TimeBucketCounter());
+			assertEquals(1, logManager.getActivityHourCounts().get("register HL3 Code 691").get(buckets[0]));
+			assertEquals(5, logManager.getActivityHourCounts().size());
+
+			// Counts are rebuilt with added entries.
+			logManager.addLogEntry(new LogEntry("mwwarstl", "07/06/2015 04:30:00PM", "register", "HL3 Code 691"));
+			assertEquals(2, logManager.getActivityHourCounts().get("register HL3 Code 691").get(buckets[0]));
+
+			List<String> anomalies = logManager.getActivityAnomalies(BucketSize.DATE, 1, 1);
+			assertEquals(1, anomalies.size());
+			assertEquals("1.00: call office OV04392 at 02/27/2020 (1 entries, baseline 0.00)", anomalies.get(0));
+			assertEquals(0, logManager.getActivityAnomalies(BucketSize.HOUR, 3, 5).size());
+
+		} catch (FileNotFoundException e) {
+			fail("File was not found or could not be read.");
+		}
+	}
+
+	/**
+	 * Test the date and time range getTopActivities methods against scans of the
+	 * same entries.
+	 */
+	@Test
+	public void testGetTopActivitiesInRange() {
+		try {
+			StorageType[] storageTypes = { StorageType.HEAP, StorageType.OFF_HEAP };
+			for (int t = 0; t < storageTypes.length; t++) {
+				UserActivityLogManager logManager = new UserActivityLogManager("input/records.txt",
+						DataStructure.SEARCHTABLE, storageTypes[t]);
+
+				// A range covering the whole log matches the full scan.
+				List<String> all = logManager.getTopActivities(LocalDate.of(2000, 1, 1), LocalDate.of(2030, 1, 1), 15);
+				List<String> scan = logManager.getTopActivities(15);
+				assertEquals(scan.size(), all.size());
+				for (int i = 0; i < scan.size(); i++) {
+					assertEquals(scan.get(i), all.get(i));
+				}
+
+				// Only registers were recorded in 2016.
+				List<String> year = logManager.getTopActivities(LocalDate.of(2016, 1, 1), LocalDate.of(2016, 12, 31), 5);
+				assertEquals(1, year.size());
+				assertEquals("5: register HL3 Code 691", year.get(0));
+
+				// Single date and partial days.
+				List<String> date = logManager.getTopActivities(LocalDate.of(2020, 2, 27), LocalDate.of(2020, 2, 27), 5);
+				assertEquals(3, date.size());
+				assertEquals("1: call office OV04392", date.get(0));
+				List<String> hours = logManager.getTopActivities(LocalDateTime.of(2020, 2, 26, 20, 0),
+						LocalDateTime.of(2020, 2, 27, 17, 0), 5);
+				assertEquals(1, hours.size());
+				assertEquals("1: notify HL6 Code 783", hours.get(0));
+				assertEquals(0, logManager.getTopActivities(LocalDate.of(2010, 1, 1), LocalDate.of(2012, 1, 1), 5)
+						.size());
+
+				// Appended entries are added to the rollups.
+				logManager.addLogEntry(new LogEntry("mwwarstl", "02/27/2020 07:20:00AM", "notify", "HL6 Code 783"));
+				hours = logManager.getTopActivities(LocalDateTime.of(2020, 2, 26, 20, 0),
+						LocalDateTime.of(2020, 2, 27, 17, 0), 5);
+				assertEquals("2: notify HL6 Code 783", hours.get(0));
+			}
+
+		} catch (FileNotFoundException e) {
+			fail("File was not found or could not be read.");
+		}
+	}
+}
@@ -0,0 +1,109 @@
+package edu.ncsu.csc316.activity.sorter;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Random;
+
+import edu.ncsu.csc316.activity.data.LogEntry;
+import edu.ncsu.csc316.activity.dsa.Algorithm;
+import edu.ncsu.csc316.activity.dsa.DSAFactory;
+import edu.ncsu.csc316.dsa.sorter.Sorter;
+
+/**
+ * Compares the TimestampRadixSorter with the MERGESORT comparison sorter on
+ * large buckets of generated entries. Each bucket is sorted by both sorters,
+ * the orders are checked to match, and the best time of several rounds is
+ * printed. Not run as a unit test; run main with an optional number of entries
+ * per bucket.
+ * 
+ * @author Michael Warstler (mwwarstl)
+ */
+public class TimestampRadixSorterBenchmark {
+
+	/** Default number of entries in each bucket */
+	private static final int DEFAULT_ENTRIES = 200000;
+	/** Number of timed rounds of each sorter, after one warm up round */
+	private static final int ROUNDS = 5;
+	/** Actions used for generated entries */
+	private static final String[] ACTIONS = { "call", "notify", "register", "view", "unmerge" };
+
+	/**
+	 * Runs the comparison on a bucket of one date and a bucket of one hour over
+	 * many dates.
+	 * 
+	 * @param args is optional number of entries in each bucket.
+	 */
+	public static void main(String[] args) {
+		int n = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_ENTRIES;
+		DSAFactory.setComparisonSorterType(Algorithm.MERGESORT);
+		Random random = new Random(316);
+
+		// A busy date: seconds of a single day.
+		LogEntry[] date = new LogEntry[n];
+		for (int i = 0; i < n; i++) {
+			String time = String.format(Locale.US, "02/27/2020 %02d:%02d:%02d%s", random.nextInt(12) + 1,
+					random.nextInt(60), random.nextInt(60), random.nextBoolean() ? "AM" : "PM");
+			date[i] = generateEntry(random, time);
+		}
+		compare("date", date);
+
+		// An hour report: one hour of the day over many years.
+		LogEntry[] hour = new LogEntry[n];
+		for (int i = 0; i < n; i++) {
+			String time = String.format(Locale.US, "%02d/%02d/%04d 03:%02d:%02dPM", random.nextInt(12) + 1,
+					random.nextInt(28) + 1, 2000 + random.nextInt(25), random.nextInt(60), random.nextInt(60));
+			hour[i] = generateEntry(random, time);
+		}
+		compare("hour", hour);
+	}
+
+	/**
+	 * Generates an entry with a random user and activity.
+	 * 
+	 * @param random is source of random values.
+	 * @param time   is timestamp of the entry.
+	 * @return the generated entry.
+	 */
+	private static LogEntry generateEntry(Random random, String time) {
+		return new LogEntry("user" + random.nextInt(100), time, ACTIONS[random.nextInt(ACTIONS.length)],
+				"HL" + random.nextInt(20) + " Code 691");
+	}
+
+	/**
+	 * Sorts copies of the bucket with each sorter, checks that the orders match,
+	 * and prints the best time of each sorter.
+	 * 
+	 * @param name   is name of the bucket.
+	 * @param bucket is entries to sort.
+	 */
+	private static void compare(String name, LogEntry[] bucket) {
+		Sorter<LogEntry> mergeSorter = DSAFactory.getComparisonSorter(null);
+		Sorter<LogEntry> radixSorter = new TimestampRadixSorter();
+		long mergeNanos = Long.MAX_VALUE;
+		long radixNanos = Long.MAX_VALUE;
+		for (int round = 0; round <= ROUNDS; round++) {
+			LogEntry[] merged = Arrays.copyOf(bucket, bucket.length);
+			long start = System.nanoTime();
+			mergeSorter.sort(merged);
+			long mergeTime = System.nanoTime() - start;
+
+			LogEntry[] radixed = Arrays.copyOf(bucket, bucket.length);
+			start = System.nanoTime();
+			radixSorter.sort(radixed);
+			long radixTime = System.nanoTime() - start;
+
+			for (int i = 0; i < bucket.length; i++) {
+				if (merged[i].compareTo(radixed[i]) != 0) {
+					throw new IllegalStateException("Sorters disagree at index " + i + " of the " + name + " bucket");
+				}
+			}
+			// The first round only warms up both sorters.
+			if (round > 0) {
+				mergeNanos = Math.min(mergeNanos, mergeTime);
+				radixNanos = Math.min(radixNanos, radixTime);
+			}
+		}
+		System.out.println(String.format(Locale.US, "%s bucket of %d entries: MERGESORT %.1f ms, COUNTING_SORT %.1f ms",
+				name, bucket.length, mergeNanos / 1e6, radixNanos / 1e6));
+	}
+}
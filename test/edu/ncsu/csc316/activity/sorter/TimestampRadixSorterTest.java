@@ -0,0 +1,165 @@
+package edu.ncsu.csc316.activity.sorter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import edu.ncsu.csc316.activity.data.LogEntry;
+
+/**
+ * Tests the TimestampRadixSorter class.
+ * 
+ * @author Michael Warstler (mwwarstl)
+ */
+public class TimestampRadixSorterTest {
+
+	/** Actions used for generated entries */
+	private static final String[] ACTIONS = { "call", "notify", "register", "view", "unmerge" };
+
+	/**
+	 * Test sorting entries that are all on one date (counting sort path).
+	 */
+	@Test
+	public void testSortOneDate() {
+		LogEntry[] entries = new LogEntry[2000];
+		Random random = new Random(316);
+		for (int i = 0; i < entries.length; i++) {
+			// Few distinct times so many entries share a timestamp.
+			String time = String.format("02/27/2020 %02d:%02d:%02dPM", random.nextInt(12) + 1, random.nextInt(3),
+					random.nextInt(60));
+			entries[i] = new LogEntry("user" + random.nextInt(5), time, ACTIONS[random.nextInt(ACTIONS.length)],
+					"HL" + random.nextInt(4) + " Code 691");
+		}
+		assertSameOrderAsCompareTo(entries);
+	}
+
+	/**
+	 * Test sorting entries spread over many years (radix sort path).
+	 */
+	@Test
+	public void testSortManyYears() {
+		LogEntry[] entries = new LogEntry[2000];
+		Random random = new Random(216);
+		for (int i = 0; i < entries.length; i++) {
+			String time = String.format("%02d/%02d/%04d %02d:%02d:%02dAM", random.nextInt(12) + 1,
+					random.nextInt(28) + 1, 2000 + random.nextInt(25), random.nextInt(12) + 1, random.nextInt(60),
+					random.nextInt(60));
+			entries[i] = new LogEntry("user" + random.nextInt(5), time, ACTIONS[random.nextInt(ACTIONS.length)],
+					"HL" + random.nextInt(4) + " Code 691");
+		}
+		assertSameOrderAsCompareTo(entries);
+	}
+
+	/**
+	 * Test sorting empty and single entry arrays.
+	 */
+	@Test
+	public void testSortSmall() {
+		TimestampRadixSorter sorter = new TimestampRadixSorter();
+		LogEntry[] empty = new LogEntry[0];
+		sorter.sort(empty);
+		assertEquals(0, empty.length);
+
+		LogEntry one = new LogEntry("labyrum", "02/27/2020 05:30:50PM", "call", "office OV04392");
+		LogEntry[] single = { one };
+		sorter.sort(single);
+		assertSame(one, single[0]);
+	}
+
+	/**
+	 * Test sorting a few entries spread over many days (comparison sort path).
+	 */
+	@Test
+	public void testSortFewSpreadOut() {
+		LogEntry[] entries = new LogEntry[TimestampRadixSorter.MIN_KEY_SORT_SIZE - 1];
+		for (int i = 0; i < entries.length; i++) {
+			String time = String.format("02/%02d/2020 0%d:00:00AM", 28 - i % 12, i % 3 + 1);
+			entries[i] = new LogEntry("user" + i % 4, time, ACTIONS[i % ACTIONS.length], "HL3 Code 691");
+		}
+		assertSameOrderAsCompareTo(entries);
+	}
+
+	/**
+	 * Test that the sort path is chosen from both the number of keys and their
+	 * range.
+	 */
+	@Test
+	public void testUsesCountingSort() {
+		// A busy date: many keys in a small range.
+		assertTrue(TimestampRadixSorter.usesCountingSort(100000, 86399));
+		// A handful of keys over 12 days would need a million buckets.
+		assertFalse(TimestampRadixSorter.usesCountingSort(40, 12 * 86400));
+		// Buckets are limited to COUNTING_RANGE_FACTOR per key.
+		assertTrue(TimestampRadixSorter.usesCountingSort(1000, 1000 * TimestampRadixSorter.COUNTING_RANGE_FACTOR - 1));
+		assertFalse(TimestampRadixSorter.usesCountingSort(1000, 1000 * TimestampRadixSorter.COUNTING_RANGE_FACTOR));
+		// Ranges too large for a long are never counted.
+		assertFalse(TimestampRadixSorter.usesCountingSort(1000, -1));
+	}
+
+	/**
+	 * Test the sortKeys method on each path, with values moved with their keys.
+	 */
+	@Test
+	public void testSortKeys() {
+		Random random = new Random(116);
+		int[] sizes = { 0, 1, 10, 500, 70000 };
+		long[] ranges = { 50, 100000000L };
+		for (int s = 0; s < sizes.length; s++) {
+			for (int r = 0; r < ranges.length; r++) {
+				int n = sizes[s];
+				long[] keys = new long[n];
+				int[] values = new int[n];
+				for (int i = 0; i < n; i++) {
+					keys[i] = 1600000000L + (long) (random.nextDouble() * ranges[r]);
+					values[i] = i;
+				}
+				long[] original = Arrays.copyOf(keys, n);
+				TimestampRadixSorter.sortKeys(keys, values);
+				for (int i = 0; i < n; i++) {
+					assertEquals(original[values[i]], keys[i]);
+					if (i > 0) {
+						assertTrue(keys[i - 1] <= keys[i]);
+						// Stable for equal keys.
+						if (keys[i - 1] == keys[i]) {
+							assertTrue(values[i - 1] < values[i]);
+						}
+					}
+				}
+			}
+		}
+		assertThrows(IllegalArgumentException.class, () -> TimestampRadixSorter.sortKeys(new long[2], new int[1]));
+	}
+
+	/**
+	 * Test that sortRuns calls the run sorter only for runs of equal keys.
+	 */
+	@Test
+	public void testSortRuns() {
+		long[] keys = { 1, 2, 2, 2, 3, 4, 4 };
+		StringBuilder runs = new StringBuilder();
+		TimestampRadixSorter.sortRuns(keys, (start, end) -> runs.append(start + "-" + end + " "));
+		assertEquals("1-4 5-7 ", runs.toString());
+
+		// No runs in empty or distinct keys.
+		TimestampRadixSorter.sortRuns(new long[0], (start, end) -> fail("No runs expected"));
+		TimestampRadixSorter.sortRuns(new long[] { 1, 2, 3 }, (start, end) -> fail("No runs expected"));
+	}
+
+	/**
+	 * Sorts a copy of the entries with the TimestampRadixSorter and with
+	 * LogEntry's compareTo, and checks that both orders match.
+	 * 
+	 * @param entries is array of entries to sort.
+	 */
+	private void assertSameOrderAsCompareTo(LogEntry[] entries) {
+		LogEntry[] expected = Arrays.copyOf(entries, entries.length);
+		Arrays.sort(expected);
+		new TimestampRadixSorter().sort(entries);
+		for (int i = 0; i < entries.length; i++) {
+			assertEquals(0, expected[i].compareTo(entries[i]));
+		}
+	}
+}
@@ -0,0 +1,287 @@
+package edu.ncsu.csc316.activity.stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+import org.junit.jupiter.api.Test;
+
+import edu.ncsu.csc316.activity.data.LogEntry;
+import edu.ncsu.csc316.dsa.list.List;
+
+/**
+ * Tests the CompressedLogInput and BlockGzipInputStream classes.
+ * 
+ * @author Michael Warstler (mwwarstl)
+ */
+public class CompressedLogInputTest {
+
+	/**
+	 * Compresses bytes as one gzip member.
+	 * 
+	 * @param data is bytes to compress.
+	 * @return gzip member.
+	 * @throws IOException if the bytes cannot be compressed.
+	 */
+	private byte[] gzip(byte[] data) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+			gzip.write(data);
+		}
+		return out.toByteArray();
+	}
+
+	/**
+	 * Compresses bytes as BGZF blocks of at most blockSize input bytes each,
+	 * followed by the empty end of file block.
+	 * 
+	 * @param data      is bytes to compress.
+	 * @param blockSize is largest number of input bytes per block.
+	 * @return BGZF stream.
+	 */
+	private byte[] bgzf(byte[] data, int blockSize) {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		for (int start = 0; start < data.length; start += blockSize) {
+			writeBlock(out, data, start, Math.min(blockSize, data.length - start));
+		}
+		writeBlock(out, data, 0, 0);
+		return out.toByteArray();
+	}
+
+	/**
+	 * Writes one BGZF block.
+	 * 
+	 * @param out    is stream to write to.
+	 * @param data   is bytes to compress.
+	 * @param start  is index of the first byte of the block.
+	 * @param length is number of bytes of the block.
+	 */
+	private void writeBlock(ByteArrayOutputStream out, byte[] data, int start, int length) {
+		Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+		deflater.setInput(data, start, length);
+		deflater.finish();
+		byte[] compressed = new byte[length * 2 + 64];
+		int size = deflater.deflate(compressed);
+		deflater.end();
+
+		CRC32 crc = new CRC32();
+		crc.update(data, start, length);
+		int blockSize = 18 + size + 8;
+		byte[] header = { 0x1f, (byte) 0x8b, 8, 4, 0, 0, 0, 0, 0, (byte) 0xff, 6, 0, 'B', 'C', 2, 0,
+				(byte) (blockSize - 1), (byte) ((blockSize - 1) >> 8) };
+		out.write(header, 0, header.length);
+		out.write(compressed, 0, size);
+		writeInt(out, crc.getValue());
+		writeInt(out, length);
+	}
+
+	/**
+	 * Writes a little-endian 32 bit value.
+	 * 
+	 * @param out   is stream to write to.
+	 * @param value is value to write.
+	 */
+	private void writeInt(ByteArrayOutputStream out, long value) {
+		for (int i = 0; i < 4; i++) {
+			out.write((int) (value >> (8 * i)) & 0xff);
+		}
+	}
+
+	/**
+	 * Reads all text from a reader and closes it.
+	 * 
+	 * @param reader is reader to read.
+	 * @return text of the reader.
+	 * @throws IOException if the reader cannot be read.
+	 */
+	private String readAll(Reader reader) throws IOException {
+		StringBuilder builder = new StringBuilder();
+		try (BufferedReader buffered = new BufferedReader(reader)) {
+			char[] buffer = new char[100];
+			int n = buffered.read(buffer);
+			while (n != -1) {
+				builder.append(buffer, 0, n);
+				n = buffered.read(buffer);
+			}
+		}
+		return builder.toString();
+	}
+
+	/**
+	 * Test detecting formats.
+	 */
+	@Test
+	public void testDetect() {
+		try {
+			byte[] text = "USERNAME, TIMESTAMP, ACTION, RESOURCE\n".getBytes(StandardCharsets.UTF_8);
+			assertEquals(CompressionFormat.NONE, detect(text));
+			assertEquals(CompressionFormat.NONE, detect(new byte[0]));
+			assertEquals(CompressionFormat.GZIP, detect(gzip(text)));
+			assertEquals(CompressionFormat.BGZF, detect(bgzf(text, 10)));
+			assertEquals(CompressionFormat.ZSTD, detect(new byte[] { 0x28, (byte) 0xb5, 0x2f, (byte) 0xfd, 0 }));
+		} catch (IOException e) {
+			fail("Could not detect format.");
+		}
+	}
+
+	/**
+	 * Detects the format of bytes and checks the stream is reset.
+	 * 
+	 * @param data is bytes to detect.
+	 * @return format of the bytes.
+	 * @throws IOException if the bytes cannot be read.
+	 */
+	private CompressionFormat detect(byte[] data) throws IOException {
+		BufferedInputStream input = new BufferedInputStream(new ByteArrayInputStream(data));
+		CompressionFormat format = CompressedLogInput.detect(input);
+		assertEquals(data.length, input.available());
+		return format;
+	}
+
+	/**
+	 * Test reading each format gives the same text.
+	 */
+	@Test
+	public void testOpen() {
+		try {
+			byte[] text = Files.readAllBytes(Paths.get("input/records.txt"));
+			String expected = new String(text);
+			byte[] half = new byte[text.length / 2];
+			System.arraycopy(text, 0, half, 0, half.length);
+			byte[] rest = new byte[text.length - half.length];
+			System.arraycopy(text, half.length, rest, 0, rest.length);
+
+			// Plain text and gzip.
+			assertEquals(expected, readAll(CompressedLogInput.open(new ByteArrayInputStream(text), 2)));
+			assertEquals(expected, readAll(CompressedLogInput.open(new ByteArrayInputStream(gzip(text)), 2)));
+
+			// Two concatenated gzip members.
+			ByteArrayOutputStream members = new ByteArrayOutputStream();
+			members.write(gzip(half));
+			members.write(gzip(rest));
+			assertEquals(expected, readAll(CompressedLogInput.open(new ByteArrayInputStream(members.toByteArray()), 2)));
+
+			// BGZF blocks that split lines, with any number of threads.
+			for (int threads = 1; threads <= 4; threads++) {
+				byte[] blocks = bgzf(text, 37);
+				assertEquals(expected, readAll(CompressedLogInput.open(new ByteArrayInputStream(blocks), threads)));
+			}
+
+			// Zstandard is rejected.
+			byte[] zstd = { 0x28, (byte) 0xb5, 0x2f, (byte) 0xfd, 0, 0, 0, 0 };
+			IOException e = assertThrows(IOException.class,
+					() -> CompressedLogInput.open(new ByteArrayInputStream(zstd), 1));
+			assertTrue(e.getMessage().contains("Zstandard"));
+		} catch (IOException e) {
+			fail("File was not found or could not be read.");
+		}
+	}
+
+	/**
+	 * Test corrupt BGZF blocks are errors.
+	 */
+	@Test
+	public void testCorruptBlock() {
+		try {
+			byte[] blocks = bgzf("labyrum, 04/06/2013 07:30:42PM, call, office OV04392\n".getBytes(), 20);
+			// Change a byte of the first block's CRC.
+			int crcIndex = ((blocks[16] & 0xff) | (blocks[17] & 0xff) << 8) + 1 - 8;
+			blocks[crcIndex] ^= 1;
+			Reader reader = CompressedLogInput.open(new ByteArrayInputStream(blocks), 2);
+			assertThrows(IOException.class, () -> readAll(reader));
+
+			// Gzip member without a block size in a BGZF stream.
+			ByteArrayOutputStream mixed = new ByteArrayOutputStream();
+			mixed.write(bgzf("abc\n".getBytes(), 10));
+			mixed.write(gzip("def\n".getBytes()));
+			Reader mixedReader = CompressedLogInput.open(new ByteArrayInputStream(mixed.toByteArray()), 2);
+			assertThrows(IOException.class, () -> readAll(mixedReader));
+		} catch (IOException e) {
+			fail("Could not open stream.");
+		}
+		assertThrows(IllegalArgumentException.class,
+				() -> new BlockGzipInputStream(new ByteArrayInputStream(new byte[0]), 0));
+	}
+
+	/**
+	 * Test that a BGZF inflated size that is too large or does not match the
+	 * inflated block is an error.
+	 */
+	@Test
+	public void testInvalidInflatedSize() {
+		byte[] text = "labyrum, 04/06/2013 07:30:42PM, call, office OV04392\n".getBytes(StandardCharsets.UTF_8);
+		long[] sizes = { 0xFFFFFFFFL, 65537, text.length - 1, text.length + 1 };
+		for (int i = 0; i < sizes.length; i++) {
+			byte[] blocks = bgzf(text, text.length);
+			// The inflated size is the last 4 bytes of the first block.
+			int sizeIndex = ((blocks[16] & 0xff) | (blocks[17] & 0xff) << 8) + 1 - 4;
+			for (int b = 0; b < 4; b++) {
+				blocks[sizeIndex + b] = (byte) (sizes[i] >> (8 * b));
+			}
+			try {
+				Reader reader = CompressedLogInput.open(new ByteArrayInputStream(blocks), 2);
+				assertThrows(IOException.class, () -> readAll(reader));
+			} catch (IOException e) {
+				fail("Could not open stream.");
+			}
+		}
+	}
+
+	/**
+	 * Test that text is decoded as UTF-8.
+	 */
+	@Test
+	public void testUtf8() {
+		String text = "jos\u00e9, 04/06/2013 07:30:42PM, call, caf\u00e9 \u2603\n";
+		byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+		try {
+			assertEquals(text, readAll(CompressedLogInput.open(new ByteArrayInputStream(bytes), 2)));
+			assertEquals(text, readAll(CompressedLogInput.open(new ByteArrayInputStream(gzip(bytes)), 2)));
+			assertEquals(text, readAll(CompressedLogInput.open(new ByteArrayInputStream(bgzf(bytes, 7)), 2)));
+		} catch (IOException e) {
+			fail("Could not read stream.");
+		}
+	}
+
+	/**
+	 * Test loading compressed files with ParallelLogLoader.
+	 */
+	@Test
+	public void testLoadCompressedFile() {
+		try {
+			byte[] text = Files.readAllBytes(Paths.get("input/records.txt"));
+			Path gz = Files.createTempFile("records", ".txt.gz");
+			Path bgz = Files.createTempFile("records", ".txt.bgz");
+			try {
+				Files.write(gz, gzip(text));
+				Files.write(bgz, bgzf(text, 100));
+				List<LogEntry> expected = new ParallelLogLoader(2, 0).load("input/records.txt");
+				List<LogEntry> fromGzip = new ParallelLogLoader(2, 0).load(gz.toString());
+				List<LogEntry> fromBgzf = new ParallelLogLoader(3, 0, 4).load(bgz.toString());
+				assertEquals(expected.size(), fromGzip.size());
+				assertEquals(expected.size(), fromBgzf.size());
+				for (int i = 0; i < expected.size(); i++) {
+					assertEquals(0, expected.get(i).compareTo(fromGzip.get(i)));
+					assertEquals(0, expected.get(i).compareTo(fromBgzf.get(i)));
+				}
+			} finally {
+				Files.delete(gz);
+				Files.delete(bgz);
+			}
+		} catch (IOException e) {
+			fail("File was not found or could not be read.");
+		}
+	}
+}
@@ -0,0 +1,47 @@
+package edu.ncsu.csc316.activity.stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import edu.ncsu.csc316.activity.data.LogEntry;
+
+/**
+ * Tests the LogLineParser class.
+ * 
+ * @author Michael Warstler (mwwarstl)
+ */
+public class LogLineParserTest {
+
+	/**
+	 * Test the isHeader method.
+	 */
+	@Test
+	public void testIsHeader() {
+		LogLineParser parser = new LogLineParser();
+		assertTrue(parser.isHeader("USERNAME, TIMESTAMP, ACTION, RESOURCE"));
+		assertFalse(parser.isHeader("labyrum, 04/06/2013 07:30:42PM, call, office OV04392"));
+	}
+
+	/**
+	 * Test the parse method with valid and invalid lines.
+	 */
+	@Test
+	public void testParse() {
+		LogLineParser parser = new LogLineParser();
+
+		// Extra spaces are trimmed.
+		LogEntry entry = parser.parse("mwwarstl, 01/04/2016 12:44:52PM,  register, HL3 Code 691");
+		assertEquals("mwwarstl", entry.getUsername());
+		assertEquals("register", entry.getAction());
+		assertEquals("HL3 Code 691", entry.getResource());
+		assertEquals(12, entry.getTimestamp().getHour());
+
+		// Missing field, empty field, and bad timestamp.
+		assertThrows(IllegalArgumentException.class, () -> parser.parse("labyrum, 04/06/2013 07:30:42PM, call"));
+		assertThrows(IllegalArgumentException.class, () -> parser.parse("labyrum, 04/06/2013 07:30:42PM, , office"));
+		Exception e = assertThrows(IllegalArgumentException.class,
+				() -> parser.parse("labyrum, 2013-04-06, call, office OV04392"));
+		assertEquals("Invalid timestamp: 2013-04-06", e.getMessage());
+	}
+}
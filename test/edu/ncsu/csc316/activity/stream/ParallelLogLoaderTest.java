@@ -0,0 +1,185 @@
+package edu.ncsu.csc316.activity.stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.StringReader;
+
+import org.junit.jupiter.api.Test;
+
+import edu.ncsu.csc316.activity.data.LogEntry;
+import edu.ncsu.csc316.dsa.list.List;
+
+/**
+ * Tests the ParallelLogLoader, LoadStatistics and LineError classes.
+ * 
+ * @author Michael Warstler (mwwarstl)
+ */
+public class ParallelLogLoaderTest {
+
+	/** Log with bad lines, a blank line and an out of order line */
+	private static final String LOG = "USERNAME, TIMESTAMP, ACTION, RESOURCE\n"
+			+ "labyrum, 04/06/2013 07:30:42PM, call, office OV04392\n"
+			+ "labyrum, 02/27/2020 05:30:50PM, call\n"
+			+ "\n"
+			+ "mwwarstl, 12/13/2019 09:40:48PM, register, HL3 Code 691\n"
+			+ "mwwarstl, 13/45/2019 09:40:48PM, register, HL3 Code 691\n"
+			+ "mwwarstl, 02/27/2018 07:18:42AM, notify, HL6 Code 783\n"
+			+ "labyrum, 01/24/2024 12:16:27AM, ,HL7 Code 422\n"
+			+ "labyrum, 01/24/2024 12:16:27AM, view, HL7 Code 422\n";
+
+	/**
+	 * Test loading a file matches the entries and order of the file.
+	 */
+	@Test
+	public void testLoadFile() {
+		try {
+			// Small chunks so the file is split across workers.
+			ParallelLogLoader loader = new ParallelLogLoader(3, 0, 2);
+			assertNull(loader.getStatistics());
+			List<LogEntry> entries = loader.load("input/records.txt");
+			assertEquals(17, entries.size());
+			assertEquals("labyrum", entries.get(0).getUsername());
+			assertEquals("view", entries.get(16).getAction());
+
+			LoadStatistics stats = loader.getStatistics();
+			assertEquals(17, stats.getRowsAccepted());
+			assertEquals(0, stats.getRowsRejected());
+			assertEquals(7, stats.getRowsOutOfOrder());
+			assertTrue(stats.getElapsedNanos() > 0);
+			assertTrue(stats.getRowsPerSecond() > 0);
+			assertTrue(stats.toString().startsWith("17 rows accepted, 0 rejected, 7 out of order, "));
+		} catch (IOException e) {
+			fail("File was not found or could not be read.");
+		}
+
+		assertThrows(FileNotFoundException.class, () -> new ParallelLogLoader(2, 0).load("input/missing.txt"));
+	}
+
+	/**
+	 * Test loading entries into a consumer in file order.
+	 */
+	@Test
+	public void testLoadConsumer() {
+		try {
+			ParallelLogLoader loader = new ParallelLogLoader(2, 3, 2);
+			StringBuilder actions = new StringBuilder();
+			loader.load(new StringReader(LOG), entry -> actions.append(entry.getAction() + " "));
+			assertEquals("call register notify view ", actions.toString());
+			assertEquals(4, loader.getStatistics().getRowsAccepted());
+			assertEquals(3, loader.getStatistics().getRowsRejected());
+		} catch (IOException e) {
+			fail("Log could not be read.");
+		}
+	}
+
+	/**
+	 * Test that bad lines are collected within the error budget.
+	 */
+	@Test
+	public void testErrorBudget() {
+		for (int chunk = 1; chunk <= 4; chunk++) {
+			try {
+				ParallelLogLoader loader = new ParallelLogLoader(2, 3, chunk);
+				List<LogEntry> entries = loader.load(new StringReader(LOG));
+				assertEquals(4, entries.size());
+				assertEquals("notify", entries.get(2).getAction());
+
+				LoadStatistics stats = loader.getStatistics();
+				assertEquals(4, stats.getRowsAccepted());
+				assertEquals(3, stats.getRowsRejected());
+				assertEquals(1, stats.getRowsOutOfOrder());
+
+				// Errors are in line order with the header as line 1.
+				List<LineError> errors = stats.getErrors();
+				assertEquals(3, errors.size());
+				assertEquals(3, errors.get(0).getLineNumber());
+				assertEquals("Expected 4 fields but found 3", errors.get(0).getMessage());
+				assertEquals("labyrum, 02/27/2020 05:30:50PM, call", errors.get(0).getLine());
+				assertEquals(6, errors.get(1).getLineNumber());
+				assertEquals("line 8: Field 3 is empty", errors.get(2).toString());
+			} catch (IOException e) {
+				fail("Log could not be read.");
+			}
+		}
+
+		// One more error than the budget stops the load.
+		ParallelLogLoader loader = new ParallelLogLoader(2, 2, 2);
+		LogLoadException e = assertThrows(LogLoadException.class, () -> loader.load(new StringReader(LOG)));
+		assertEquals(3, e.getStatistics().getRowsRejected());
+		assertEquals(3, e.getStatistics().getErrors().size());
+		assertSame(loader.getStatistics(), e.getStatistics());
+
+		// Long lines are cut in errors.
+		StringBuilder longLine = new StringBuilder();
+		for (int i = 0; i < 300; i++) {
+			longLine.append("x");
+		}
+		assertEquals(200, new LineError(2, "bad", longLine.toString()).getLine().length());
+
+		assertThrows(IllegalArgumentException.class, () -> new ParallelLogLoader(0, 1));
+		assertThrows(IllegalArgumentException.class, () -> new ParallelLogLoader(1, -1));
+		assertThrows(IllegalArgumentException.class, () -> new ParallelLogLoader(1, 1, 0));
+	}
+
+	/**
+	 * Test that the load stops at the same row no matter which worker goes over
+	 * the error budget first.
+	 */
+	@Test
+	public void testStopsInLineOrder() {
+		// Every third line is bad.
+		StringBuilder log = new StringBuilder(LogLineParser.HEADER + "\n");
+		for (int i = 0; i < 3000; i++) {
+			log.append(i % 3 == 2 ? "bad line\n" : "labyrum, 04/06/2013 07:30:42PM, call, office OV04392\n");
+		}
+		for (int round = 0; round < 10; round++) {
+			ParallelLogLoader loader = new ParallelLogLoader(4, 5, 3);
+			LogLoadException e = assertThrows(LogLoadException.class,
+					() -> loader.load(new StringReader(log.toString()), entry -> { }));
+			LoadStatistics stats = e.getStatistics();
+			assertEquals(6, stats.getRowsRejected());
+			assertEquals(12, stats.getRowsAccepted());
+			// Line 1 is the header, so the sixth bad line is line 19.
+			assertEquals(19, stats.getErrors().get(5).getLineNumber());
+		}
+	}
+
+	/**
+	 * Test that loads running at once on the same loader keep separate
+	 * statistics.
+	 */
+	@Test
+	public void testConcurrentLoads() {
+		ParallelLogLoader loader = new ParallelLogLoader(2, 10, 1);
+		LoadStatistics[] results = new LoadStatistics[8];
+		Thread[] loads = new Thread[results.length];
+		for (int i = 0; i < loads.length; i++) {
+			final int index = i;
+			loads[i] = new Thread(() -> {
+				try {
+					// Even loads have the bad lines of LOG, odd loads only the good ones.
+					String log = index % 2 == 0 ? LOG
+							: LOG.replace("labyrum, 02/27/2020 05:30:50PM, call\n", "")
+									.replace("mwwarstl, 13/45/2019 09:40:48PM, register, HL3 Code 691\n", "")
+									.replace("labyrum, 01/24/2024 12:16:27AM, ,HL7 Code 422\n", "");
+					results[index] = loader.load(new StringReader(log), entry -> { });
+				} catch (IOException e) {
+					results[index] = null;
+				}
+			});
+			loads[i].start();
+		}
+		for (int i = 0; i < loads.length; i++) {
+			try {
+				loads[i].join();
+			} catch (InterruptedException e) {
+				fail("Interrupted while waiting for loads.");
+			}
+			assertEquals(4, results[i].getRowsAccepted());
+			assertEquals(i % 2 == 0 ? 3 : 0, results[i].getRowsRejected());
+			assertEquals(1, results[i].getRowsOutOfOrder());
+		}
+	}
+}
@@ -0,0 +1,95 @@
+package edu.ncsu.csc316.activity.stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import org.junit.jupiter.api.Test;
+
+import edu.ncsu.csc316.activity.manager.UserActivityLogManager;
+import edu.ncsu.csc316.dsa.list.List;
+
+/**
+ * Tests the StreamingLogPipeline class and its stages.
+ * 
+ * @author Michael Warstler (mwwarstl)
+ */
+public class StreamingLogPipelineTest {
+
+	/**
+	 * Test that the streaming stages match the results of UserActivityLogManager.
+	 */
+	@Test
+	public void testRunMatchesManager() {
+		try {
+			StreamingLogPipeline pipeline = new StreamingLogPipeline();
+			FrequencyCounterStage frequency = pipeline.addStage(new FrequencyCounterStage());
+			DateCounterStage dates = pipeline.addStage(new DateCounterStage());
+			HourCounterStage hours = pipeline.addStage(new HourCounterStage());
+			pipeline.run("input/records.txt");
+
+			UserActivityLogManager logManager = new UserActivityLogManager("input/records.txt");
+			List<String> expected = logManager.getTopActivities(15);
+			List<String> actual = frequency.getTopActivities(15);
+			assertEquals(expected.size(), actual.size());
+			for (int i = 0; i < expected.size(); i++) {
+				assertEquals(expected.get(i), actual.get(i));
+			}
+
+			assertEquals(17, pipeline.getAcceptedLines());
+			assertEquals(0, pipeline.getRejectedLines());
+			assertEquals(15, dates.getDateCounts().size());
+			assertEquals(3, (int) dates.getDateCounts().get("02/27/2020"));
+			assertEquals(3, hours.getHourCount(21));
+			assertEquals(2, hours.getHourCount(17));
+			assertEquals(0, hours.getHourCount(8));
+		} catch (IOException e) {
+			fail("File was not found or could not be read.");
+		}
+	}
+
+	/**
+	 * Test filters and skipping of lines that cannot be parsed.
+	 */
+	@Test
+	public void testFilter() {
+		String log = "USERNAME, TIMESTAMP, ACTION, RESOURCE\n"
+				+ "labyrum, 04/06/2013 07:30:42PM, call, office OV04392\n"
+				+ "labyrum, 04/15/2017 09:14:59PM, view, HL7 Code 422\n"
+				+ "not a log line\n"
+				+ "\n"
+				+ "mwwarstl, 02/27/2020 05:30:50PM, view, HL7 Code 422\n"
+				+ "mwwarstl, 02/27/2020 05:30:51PM, register, HL3 Code 691\n";
+		try {
+			StreamingLogPipeline pipeline = new StreamingLogPipeline();
+			HourCounterStage allHours = pipeline.addStage(new HourCounterStage());
+			FilterStage noViews = pipeline.addFilter(e -> !"view".equals(e.getAction()));
+			FrequencyCounterStage frequency = noViews.addStage(new FrequencyCounterStage());
+			HourCounterStage mwwarstlHours = noViews.addFilter(e -> "mwwarstl".equals(e.getUsername()))
+					.addStage(new HourCounterStage());
+			pipeline.run(new StringReader(log));
+
+			assertEquals(4, pipeline.getAcceptedLines());
+			assertEquals(1, pipeline.getRejectedLines());
+			assertEquals(2, allHours.getHourCount(17));
+
+			// Views never reach the frequency counter.
+			List<String> top = frequency.getTopActivities(10);
+			assertEquals(2, top.size());
+			assertEquals("1: call office OV04392", top.get(0));
+			assertEquals("1: register HL3 Code 691", top.get(1));
+
+			// Both filters apply to the nested stage.
+			assertEquals(1, mwwarstlHours.getHourCount(17));
+			assertEquals(0, mwwarstlHours.getHourCount(19));
+
+			// The stages completed, so the pipeline cannot be run again.
+			assertThrows(IllegalStateException.class, () -> pipeline.run(new StringReader(log)));
+			assertThrows(IllegalStateException.class, () -> pipeline.run("input/records.txt"));
+			assertEquals(4, pipeline.getAcceptedLines());
+		} catch (IOException e) {
+			fail("Log could not be read.");
+		}
+	}
+}
@@ -0,0 +1,228 @@
+package edu.ncsu.csc316.activity.ui;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+
+import edu.ncsu.csc316.activity.dsa.DSAFactory;
+import edu.ncsu.csc316.activity.manager.InvalidReportException;
+import edu.ncsu.csc316.activity.manager.ReportManager;
+import edu.ncsu.csc316.dsa.list.List;
+
+/**
+ * Tests the BatchReportRunner Class.
+ * 
+ * @author Michael Warstler (mwwarstl)
+ */
+public class BatchReportRunnerTest {
+
+	/**
+	 * Test that report commands run the matching reports.
+	 */
+	@Test
+	public void testRunReport() {
+		try {
+			ReportManager reportManager = new ReportManager("input/records.txt");
+			BatchReportRunner runner = new BatchReportRunner(reportManager, 2);
+
+			assertEquals(reportManager.getTopUserActivitiesReport(2), runner.runReport("top:2"));
+			assertEquals(reportManager.getTopUserActivitiesReport(1, 2), runner.runReport("TOP:1:2"));
+			assertEquals(reportManager.getDateReport("02/27/2020"), runner.runReport("date:02/27/2020"));
+			assertEquals(reportManager.getTopUserActivitiesReport("01/01/2016", "12/31/2016", 3),
+					runner.runReport("range:01/01/2016:12/31/2016:3"));
+			assertEquals(reportManager.getHourReport(21), runner.runReport(" hour:21 "));
+			assertEquals(reportManager.getSessionReport(60, 2, 3), runner.runReport("sessions:60:2:3"));
+			assertEquals(reportManager.getAnomalyReport(edu.ncsu.csc316.activity.manager.BucketSize.DATE, 1, 2),
+					runner.runReport("anomalies:date:1:2"));
+
+			assertThrows(IllegalArgumentException.class, () -> runner.runReport("weekly:2"));
+			assertThrows(IllegalArgumentException.class, () -> runner.runReport("top:ten"));
+			assertThrows(IllegalArgumentException.class, () -> runner.runReport("hour"));
+			assertThrows(IllegalArgumentException.class, () -> new BatchReportRunner(reportManager, 0));
+
+			// Error messages of reports are failures, not reports.
+			Exception e = assertThrows(InvalidReportException.class, () -> runner.runReport("top:0"));
+			assertEquals("Please enter a number > 0", e.getMessage());
+			assertThrows(IllegalArgumentException.class, () -> runner.runReport("hour:24"));
+			assertThrows(IllegalArgumentException.class, () -> runner.runReport("date:2020-02-27"));
+			assertThrows(InvalidReportException.class, () -> runner.runReport("distinct:2"));
+			assertThrows(IllegalArgumentException.class,
+					() -> runner.setDistinctUserMode(edu.ncsu.csc316.activity.manager.DistinctCountMode.OFF));
+
+			assertEquals("01-top_10.txt", BatchReportRunner.getFileName(1, "top:10"));
+			assertEquals("12-date_02_27_2020.txt", BatchReportRunner.getFileName(12, "date:02/27/2020"));
+		} catch (FileNotFoundException e) {
+			fail("File was not found or could not be read.");
+		}
+	}
+
+	/**
+	 * Test running a batch from arguments and a script, writing each report to a
+	 * file.
+	 */
+	@Test
+	public void testRun() {
+		try {
+			Path directory = Files.createTempDirectory("reports");
+			Path script = directory.resolve("reports.script");
+			Files.write(script, "# nightly reports\n\nhour:21\ndistinct:1\n".getBytes(StandardCharsets.UTF_8));
+			String outputDirectory = directory.resolve("out").toString();
+
+			ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+			PrintStream out = new PrintStream(bytes, true);
+			String[] args = { "input/records.txt", "--out", outputDirectory, "--threads", "3", "top:2",
+					"--script", script.toString(), "weekly:1" };
+			assertEquals(1, BatchReportRunner.run(args, out));
+
+			// Summary has the load then one line per report in command order.
+			String[] lines = bytes.toString().split("\\R");
+			assertEquals(5, lines.length);
+			assertTrue(lines[0].contains("load input/records.txt (17 rows accepted, 0 rejected"));
+			assertTrue(lines[1].contains("top:2 -> "));
+			assertTrue(lines[2].contains("hour:21 -> "));
+			assertTrue(lines[3].contains("distinct:1 -> "));
+			assertTrue(lines[4].contains("weekly:1 FAILED: Unknown report command: weekly:1"));
+
+			// Each report has its own file.
+			ReportManager reportManager = new ReportManager("input/records.txt");
+			assertEquals(reportManager.getTopUserActivitiesReport(2),
+					new String(Files.readAllBytes(directory.resolve("out").resolve("01-top_2.txt")),
+							StandardCharsets.UTF_8));
+			assertEquals(reportManager.getHourReport(21),
+					new String(Files.readAllBytes(directory.resolve("out").resolve("02-hour_21.txt")),
+							StandardCharsets.UTF_8));
+			assertTrue(new String(Files.readAllBytes(directory.resolve("out").resolve("03-distinct_1.txt")),
+					StandardCharsets.UTF_8).contains("(2 users)"));
+			assertFalse(Files.exists(directory.resolve("out").resolve("04-weekly_1.txt")));
+
+			// Every report ran.
+			bytes.reset();
+			String[] good = { "input/records.txt", "--out", outputDirectory, "top:1" };
+			assertEquals(0, BatchReportRunner.run(good, out));
+
+			// A report returning an error message fails the run.
+			bytes.reset();
+			String[] invalid = { "input/records.txt", "--out", outputDirectory, "top:1", "hour:24" };
+			assertEquals(1, BatchReportRunner.run(invalid, out));
+			assertTrue(bytes.toString().contains("hour:24 FAILED: Please enter a valid hour"));
+
+			// Exact distinct counting only when asked for.
+			bytes.reset();
+			String[] exact = { "input/records.txt", "--out", outputDirectory, "--exact-distinct", "distinct:1" };
+			assertEquals(0, BatchReportRunner.run(exact, out));
+			assertTrue(new String(Files.readAllBytes(directory.resolve("out").resolve("01-distinct_1.txt")),
+					StandardCharsets.UTF_8).contains("(2 users)"));
+
+			// The default error budget loads a log with a bad line.
+			Path log = directory.resolve("bad.txt");
+			Files.write(log, ("USERNAME, TIMESTAMP, ACTION, RESOURCE\n"
+					+ "labyrum, 04/06/2013 07:30:42PM, call, office OV04392\n" + "not a log line\n")
+					.getBytes(StandardCharsets.UTF_8));
+			bytes.reset();
+			assertEquals(0, BatchReportRunner.run(new String[] { log.toString(), "--out", outputDirectory, "top:1" },
+					out));
+			assertTrue(bytes.toString().contains("1 rows accepted, 1 rejected"));
+			bytes.reset();
+			assertEquals(2, BatchReportRunner.run(
+					new String[] { log.toString(), "--out", outputDirectory, "--error-budget", "0", "top:1" }, out));
+
+			// Remove the reports and script.
+			try (Stream<Path> paths = Files.walk(directory)) {
+				paths.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+			}
+		} catch (IOException e) {
+			fail("Reports could not be written.");
+		}
+	}
+
+	/**
+	 * Test that an exception thrown by one report fails only that report.
+	 */
+	@Test
+	public void testRunAllReportException() {
+		try {
+			ReportManager reportManager = new ReportManager("input/records.txt") {
+				@Override
+				public String getHourReport(int hour) {
+					throw new IllegalStateException("Hour index is broken");
+				}
+
+				@Override
+				public String getDateReport(String date) {
+					throw new NullPointerException();
+				}
+			};
+			BatchReportRunner runner = new BatchReportRunner(reportManager, 2);
+			Path directory = Files.createTempDirectory("reports");
+			List<String> commands = DSAFactory.getIndexedList();
+			commands.addLast("hour:21");
+			commands.addLast("top:1");
+			commands.addLast("date:02/27/2020");
+
+			ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+			PrintStream out = new PrintStream(bytes, true);
+			assertEquals(2, runner.runAll(commands, directory.toString(), out));
+			String[] lines = bytes.toString().split("\\R");
+			assertEquals(3, lines.length);
+			assertTrue(lines[0].contains("hour:21 FAILED: Hour index is broken"));
+			assertTrue(lines[1].contains("top:1 -> "));
+			assertTrue(lines[2].contains("date:02/27/2020 FAILED: NullPointerException"));
+			assertTrue(Files.exists(directory.resolve("02-top_1.txt")));
+
+			// Remove the reports.
+			try (Stream<Path> paths = Files.walk(directory)) {
+				paths.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+			}
+		} catch (IOException e) {
+			fail("Reports could not be written.");
+		}
+	}
+
+	/**
+	 * Test invalid arguments and files.
+	 */
+	@Test
+	public void testRunInvalid() {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		PrintStream out = new PrintStream(bytes, true);
+
+		assertEquals(2, BatchReportRunner.run(new String[] { "input/records.txt" }, out));
+		assertTrue(bytes.toString().contains(BatchReportRunner.USAGE));
+		assertTrue(BatchReportRunner.USAGE.contains("default 1000"));
+		assertEquals(2, BatchReportRunner.run(new String[] { "input/records.txt", "--verbose", "top:1" }, out));
+		assertEquals(2, BatchReportRunner.run(new String[] { "input/records.txt", "--threads", "x", "top:1" }, out));
+
+		bytes.reset();
+		assertEquals(2, BatchReportRunner.run(new String[] { "input/missing.txt", "top:1" }, out));
+		assertTrue(bytes.toString().startsWith("File does not exist or cannot be read"));
+	}
+
+	/**
+	 * Test reading report commands from a script.
+	 */
+	@Test
+	public void testReadScript() {
+		try {
+			Path script = Files.createTempFile("reports", ".script");
+			Files.write(script, "top:5\n  # comment\n\n  date:01/01/2020  \n".getBytes(StandardCharsets.UTF_8));
+			List<String> commands = DSAFactory.getIndexedList();
+			BatchReportRunner.readScript(script.toString(), commands);
+			assertEquals(2, commands.size());
+			assertEquals("top:5", commands.get(0));
+			assertEquals("date:01/01/2020", commands.get(1));
+			Files.delete(script);
+		} catch (IOException e) {
+			fail("Script could not be read.");
+		}
+	}
+}
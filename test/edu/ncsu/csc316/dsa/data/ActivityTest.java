@@ -36,4 +36,29 @@ public class ActivityTest {
 		Activity sameFrequency = new Activity(10, "Same frequency"); // goes after one.
 		assertTrue(one.compareTo(sameFrequency) < 0);
 	}
+
+	/**
+	 * Test that Activities with the same frequency are ordered ignoring case, the
+	 * same as comparing their descriptions with compareToIgnoreCase.
+	 */
+	@Test
+	public void testCompareToIgnoresCase() {
+		Activity lower = new Activity(2, "call office OV04392");
+		Activity upper = new Activity(2, "CALL Office OV04392");
+		assertEquals(0, lower.compareTo(upper));
+		assertEquals("call office OV04392", lower.getName());
+		assertEquals("call office ov04392", upper.getSortKey());
+
+		// Compare the same way as the full descriptions did.
+		String[] names = { "notify HL6 Code 783", "Notify hl6", "register HL3 Code 691", "_view", "View HL7 Code 422",
+				"unmerge notification NX1115" };
+		for (int i = 0; i < names.length; i++) {
+			for (int j = 0; j < names.length; j++) {
+				Activity a = new Activity(5, names[i]);
+				Activity b = new Activity(5, names[j]);
+				assertEquals(Integer.signum(a.getDescription().compareToIgnoreCase(b.getDescription())),
+						Integer.signum(a.compareTo(b)));
+			}
+		}
+	}
 }
@@ -0,0 +1,41 @@
+package edu.ncsu.csc316.dsa.data;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the ExactDistinctCounter class.
+ * 
+ * @author Michael Warstler (mwwarstl)
+ */
+public class ExactDistinctCounterTest {
+
+	/**
+	 * Test the add, count, and merge methods.
+	 */
+	@Test
+	public void testAddAndMerge() {
+		ExactDistinctCounter first = new ExactDistinctCounter();
+		assertEquals(0, first.count());
+		first.add("labyrum");
+		first.add("labyrum");
+		first.add("mwwarstl");
+		assertEquals(2, first.count());
+
+		ExactDistinctCounter second = new ExactDistinctCounter();
+		second.add("mwwarstl");
+		second.add("svc-backup");
+		first.merge(second);
+		assertEquals(3, first.count());
+		assertEquals(2, second.count());
+
+		assertThrows(IllegalArgumentException.class, () -> first.merge(new HyperLogLog()));
+
+		// A copy can be changed without changing the original.
+		ExactDistinctCounter copy = first.copy();
+		copy.add("svc-report");
+		assertEquals(4, copy.count());
+		assertEquals(3, first.count());
+	}
+}
@@ -0,0 +1,117 @@
+package edu.ncsu.csc316.dsa.data;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the HyperLogLog class.
+ * 
+ * @author Michael Warstler (mwwarstl)
+ */
+public class HyperLogLogTest {
+
+	/**
+	 * Test that small counts are exact and repeated values are not counted twice.
+	 */
+	@Test
+	public void testSmallCount() {
+		HyperLogLog sketch = new HyperLogLog();
+		assertEquals(0, sketch.count());
+		sketch.add("labyrum");
+		sketch.add("mwwarstl");
+		sketch.add("labyrum");
+		assertEquals(2, sketch.count());
+		assertEquals(HyperLogLog.DEFAULT_PRECISION, sketch.getPrecision());
+
+		assertThrows(IllegalArgumentException.class, () -> new HyperLogLog(3));
+		assertThrows(IllegalArgumentException.class, () -> new HyperLogLog(17));
+	}
+
+	/**
+	 * Test the accuracy of the estimate against an ExactDistinctCounter.
+	 */
+	@Test
+	public void testAccuracy() {
+		HyperLogLog sketch = new HyperLogLog(14);
+		ExactDistinctCounter exact = new ExactDistinctCounter();
+		for (int i = 0; i < 200000; i++) {
+			// Every user appears twice.
+			String user = "user" + (i % 100000);
+			sketch.add(user);
+			exact.add(user);
+		}
+		assertEquals(100000, exact.count());
+		// Expected error is about 0.8%, allow 3%.
+		assertEquals(exact.count(), sketch.count(), exact.count() * 0.03);
+	}
+
+	/**
+	 * Test merging two sketches.
+	 */
+	@Test
+	public void testMerge() {
+		HyperLogLog first = new HyperLogLog();
+		HyperLogLog second = new HyperLogLog();
+		for (int i = 0; i < 30000; i++) {
+			first.add("user" + i);
+			// Overlaps first for users 20000-29999.
+			second.add("user" + (i + 20000));
+		}
+		first.merge(second);
+		assertEquals(50000, first.count(), 50000 * 0.06);
+
+		assertThrows(IllegalArgumentException.class, () -> first.merge(new HyperLogLog(10)));
+		assertThrows(IllegalArgumentException.class, () -> first.merge(new ExactDistinctCounter()));
+	}
+
+	/**
+	 * Test that a sketch stays sparse for few values, switches to dense registers
+	 * past the threshold, and merges and copies in either form.
+	 */
+	@Test
+	public void testSparse() {
+		HyperLogLog sparse = new HyperLogLog();
+		for (int i = 0; i < 100; i++) {
+			sparse.add("user" + i);
+		}
+		assertTrue(sparse.isSparse());
+		assertEquals(100, sparse.count(), 100 * 0.03);
+
+		// 4096 registers switch to dense before 1024 pairs (4096 bytes) are kept.
+		HyperLogLog dense = new HyperLogLog();
+		for (int i = 0; i < 5000; i++) {
+			dense.add("user" + i);
+		}
+		assertFalse(dense.isSparse());
+		assertEquals(5000, dense.count(), 5000 * 0.06);
+
+		// Merging values already in the dense sketch does not change it.
+		long denseCount = dense.count();
+		dense.merge(sparse);
+		assertEquals(denseCount, dense.count());
+
+		// Merging a dense sketch into a sparse copy makes the copy dense, but not
+		// the original.
+		HyperLogLog copy = sparse.copy();
+		copy.merge(dense);
+		assertFalse(copy.isSparse());
+		assertEquals(denseCount, copy.count());
+		assertTrue(sparse.isSparse());
+		assertEquals(100, sparse.count(), 100 * 0.03);
+
+		// Sparse and dense forms give the same estimate for the same values.
+		HyperLogLog small = new HyperLogLog(4);
+		HyperLogLog smallDense = new HyperLogLog(4);
+		for (int i = 0; i < 200; i++) {
+			smallDense.add("user" + i);
+		}
+		assertFalse(smallDense.isSparse());
+		small.add("user1");
+		small.add("user2");
+		assertTrue(small.isSparse());
+		HyperLogLog merged = smallDense.copy();
+		merged.merge(small);
+		assertEquals(smallDense.count(), merged.count());
+	}
+}
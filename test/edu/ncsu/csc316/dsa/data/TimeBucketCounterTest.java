@@ -0,0 +1,87 @@
+package edu.ncsu.csc316.dsa.data;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the TimeBucketCounter Class.
+ * 
+ * @author Michael Warstler (mwwarstl)
+ */
+public class TimeBucketCounterTest {
+
+	/**
+	 * Test the add and get methods, including growing the table.
+	 */
+	@Test
+	public void testAddAndGet() {
+		TimeBucketCounter counter = new TimeBucketCounter();
+		assertEquals(0, counter.size());
+		assertEquals(0, counter.get(5));
+
+		counter.add(5);
+		counter.add(5);
+		counter.add(-3, 4);
+		assertEquals(2, counter.size());
+		assertEquals(2, counter.get(5));
+		assertEquals(4, counter.get(-3));
+
+		// Many buckets grow the table without losing counts.
+		for (long b = 100; b < 1100; b++) {
+			counter.add(b, (int) (b % 7) + 1);
+		}
+		assertEquals(1002, counter.size());
+		for (long b = 100; b < 1100; b++) {
+			assertEquals((int) (b % 7) + 1, counter.get(b));
+		}
+
+		long[] sorted = counter.getSortedBuckets();
+		assertEquals(1002, sorted.length);
+		assertEquals(-3, sorted[0]);
+		assertEquals(5, sorted[1]);
+		assertEquals(1099, sorted[1001]);
+	}
+
+	/**
+	 * Test that a copy is independent of the original.
+	 */
+	@Test
+	public void testCopy() {
+		TimeBucketCounter counter = new TimeBucketCounter();
+		for (int i = 0; i < 20; i++) {
+			counter.add(i, i + 1);
+		}
+		TimeBucketCounter copy = counter.copy();
+		assertEquals(20, copy.size());
+		assertEquals(20, copy.get(19));
+
+		// Changing the copy does not change the original.
+		copy.add(19);
+		copy.add(100);
+		assertEquals(21, copy.get(19));
+		assertEquals(20, counter.get(19));
+		assertEquals(0, counter.get(100));
+		assertEquals(20, counter.size());
+	}
+
+	/**
+	 * Test the rollUp method.
+	 */
+	@Test
+	public void testRollUp() {
+		TimeBucketCounter hours = new TimeBucketCounter();
+		hours.add(0);
+		hours.add(23, 2);
+		hours.add(24, 3);
+		hours.add(-1, 5);
+
+		TimeBucketCounter days = hours.rollUp(24);
+		assertEquals(3, days.size());
+		assertEquals(3, days.get(0));
+		assertEquals(3, days.get(1));
+		assertEquals(5, days.get(-1));
+
+		assertThrows(IllegalArgumentException.class, () -> hours.rollUp(0));
+	}
+}